@@ -0,0 +1,46 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.BestPositionsResponse;
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.service.PositionSkillIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Reverse matching: the positions a candidate fits best (same score as the candidate card for a position).
+ */
+@RestController
+@RequestMapping("/api/hr/candidates")
+public class BestPositionsController {
+
+    private final CandidateRepository candidateRepository;
+    private final PositionSkillIndex positionSkillIndex;
+
+    public BestPositionsController(CandidateRepository candidateRepository, PositionSkillIndex positionSkillIndex) {
+        this.candidateRepository = candidateRepository;
+        this.positionSkillIndex = positionSkillIndex;
+    }
+
+    /**
+     * Top k (1..100, default 10) positions by score; positions without a common skill are not listed.
+     */
+    @GetMapping("/{id}/best-positions")
+    public BestPositionsResponse bestPositions(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "k", required = false, defaultValue = "10") Integer k
+    ) {
+        Candidate c = candidateRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Candidate not found"));
+
+        int topK = Math.max(1, Math.min(100, k == null ? 10 : k));
+        return new BestPositionsResponse(
+                c.getId(),
+                topK,
+                positionSkillIndex.bestPositions(c.getSkills(), topK).stream()
+                        .map(m -> new BestPositionsResponse.Item(m.positionId(), m.name(), m.score()))
+                        .toList()
+        );
+    }
+}
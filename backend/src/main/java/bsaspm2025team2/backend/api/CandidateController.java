@@ -1,11 +1,15 @@
 package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.api.dto.CandidateCardResponse;
+import bsaspm2025team2.backend.api.dto.CandidateCardsRequest;
+import bsaspm2025team2.backend.api.dto.CandidateCardsResponse;
 import bsaspm2025team2.backend.api.dto.UpdateCandidateRequest;
 import bsaspm2025team2.backend.domain.Candidate;
 import bsaspm2025team2.backend.domain.Position;
 import bsaspm2025team2.backend.repository.CandidateRepository;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.CandidateService;
+import bsaspm2025team2.backend.service.ResumeReextractionService;
 import bsaspm2025team2.backend.service.ResumeUploadService;
 import bsaspm2025team2.backend.service.ScoreService;
 import bsaspm2025team2.backend.validation.ValidationException;
@@ -13,26 +17,40 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/hr/candidates")
 public class CandidateController {
 
+    // comparison views show a handful of candidates; keeps one request bounded
+    private static final int MAX_CARDS = 100;
+    private static final int MAX_CARD_POSITIONS = 20;
+
     private final CandidateRepository candidateRepository;
     private final PositionRepository positionRepository;
     private final ScoreService scoreService;
     private final ResumeUploadService resumeUploadService;
+    private final ResumeReextractionService resumeReextractionService;
+    private final CandidateService candidateService;
 
     public CandidateController(CandidateRepository candidateRepository,
                                ResumeUploadService resumeUploadService,
                                PositionRepository positionRepository,
-                               ScoreService scoreService) {
+                               ScoreService scoreService,
+                               ResumeReextractionService resumeReextractionService,
+                               CandidateService candidateService) {
         this.candidateRepository = candidateRepository;
         this.resumeUploadService = resumeUploadService;
         this.positionRepository = positionRepository;
         this.scoreService = scoreService;
+        this.resumeReextractionService = resumeReextractionService;
+        this.candidateService = candidateService;
     }
 
     @GetMapping("/{id}")
@@ -46,44 +64,79 @@ public class CandidateController {
         return toCardResponse(c, positionId);
     }
 
-    @PutMapping("/{id}")
-    public CandidateCardResponse updateCandidate(
-            @PathVariable("id") Long id,
-            @RequestBody UpdateCandidateRequest req,
-            @RequestParam(value = "position_id", required = false) Long positionId
-    ) {
-        Candidate c = candidateRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Candidate not found"));
+    /**
+     * Several cards at once (comparison views): one query per entity type, every skills text
+     * tokenized once. Ids that do not exist are listed in missing_ids, unknown positions are left out.
+     */
+    @PostMapping("/cards")
+    public CandidateCardsResponse getCandidateCards(@RequestBody CandidateCardsRequest req) {
+        List<Long> candidateIds = req == null || req.candidate_ids() == null ? List.of() : req.candidate_ids();
+        List<Long> positionIds = req == null || req.position_ids() == null ? List.of() : req.position_ids();
 
-        // Server-side validation: Status + Email + Phone required
         Map<String, String> errors = new LinkedHashMap<>();
-        if (req.status() == null) errors.put("status", "Status is required");
-        if (req.email() == null || req.email().isBlank()) errors.put("email", "Email is required");
-        if (req.phone() == null || req.phone().isBlank()) errors.put("phone", "Phone is required");
+        if (candidateIds.isEmpty()) errors.put("candidate_ids", "At least one candidate id is required");
+        else if (candidateIds.stream().anyMatch(Objects::isNull)) errors.put("candidate_ids", "Candidate ids must not be null");
+        else if (candidateIds.size() > MAX_CARDS) errors.put("candidate_ids", "At most " + MAX_CARDS + " candidates per request");
+        if (positionIds.stream().anyMatch(Objects::isNull)) errors.put("position_ids", "Position ids must not be null");
+        else if (positionIds.size() > MAX_CARD_POSITIONS) errors.put("position_ids", "At most " + MAX_CARD_POSITIONS + " positions per request");
 
         if (!errors.isEmpty()) {
             throw new ValidationException(errors);
         }
 
-        // Apply updates
-        c.setFullName(req.fullName());
-        c.setEmail(req.email());
-        c.setPhone(req.phone());
-        c.setSkills(req.skills());
-        c.setYearsOfExperience(req.yearsOfExperience());
-        c.setStatus(req.status());
+        List<Long> ids = candidateIds.stream().distinct().toList();
+        Map<Long, Candidate> found = new HashMap<>();
+        for (Candidate c : candidateRepository.findAllById(ids)) found.put(c.getId(), c);
+
+        List<Candidate> candidates = ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+
+        Map<Long, Position> positionsById = new HashMap<>();
+        for (Position p : positionRepository.findAllById(positionIds.stream().distinct().toList())) positionsById.put(p.getId(), p);
+        List<Position> positions = positionIds.stream().distinct().map(positionsById::get).filter(Objects::nonNull).toList();
+
+        int[][] matrix = scoreService.scoreMatrix(
+                candidates.stream().map(Candidate::getSkills).toList(),
+                positions.stream().map(Position::getRequiredSkills).toList());
+
+        List<CandidateCardResponse> cards = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            cards.add(toCardResponse(candidates.get(i), positions.isEmpty() ? 0 : matrix[0][i]));
+        }
+
+        List<CandidateCardsResponse.PositionScores> scores = new ArrayList<>(positions.size());
+        for (int p = 0; p < positions.size(); p++) {
+            Map<Long, Integer> byCandidate = new LinkedHashMap<>();
+            for (int i = 0; i < candidates.size(); i++) byCandidate.put(candidates.get(i).getId(), matrix[p][i]);
+            scores.add(new CandidateCardsResponse.PositionScores(positions.get(p).getId(), byCandidate));
+        }
+
+        return new CandidateCardsResponse(cards, missing, scores);
+    }
 
-        // Important: after "Save" data becomes final
-        c.setDraft(false);
+    @PutMapping("/{id}")
+    public CandidateCardResponse updateCandidate(
+            @PathVariable("id") Long id,
+            @RequestBody UpdateCandidateRequest req,
+            @RequestParam(value = "position_id", required = false) Long positionId
+    ) {
+        Candidate saved = candidateService.updateCandidate(id, req, positionId);
+        return toCardResponse(saved, positionId);
+    }
 
-        Candidate saved = candidateRepository.save(c);
+    /**
+     * Re-runs the extraction rules on the stored resume text (no PDF parsing if the text is stored).
+     */
+    @PostMapping("/{id}/reextract")
+    public CandidateCardResponse reextract(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "position_id", required = false) Long positionId
+    ) {
+        Candidate saved = resumeReextractionService.reextract(id);
         return toCardResponse(saved, positionId);
     }
 
     private CandidateCardResponse toCardResponse(Candidate c, Long positionId) {
-        boolean emailMissing = (c.getEmail() == null || c.getEmail().isBlank());
-        boolean phoneMissing = (c.getPhone() == null || c.getPhone().isBlank());
-
         int score = 0;
         if (positionId != null) {
             Position position = positionRepository.findById(positionId).orElse(null);
@@ -91,6 +144,12 @@ public class CandidateController {
                 score = scoreService.score(c.getSkills(), position.getRequiredSkills());
             }
         }
+        return toCardResponse(c, score);
+    }
+
+    private CandidateCardResponse toCardResponse(Candidate c, int score) {
+        boolean emailMissing = (c.getEmail() == null || c.getEmail().isBlank());
+        boolean phoneMissing = (c.getPhone() == null || c.getPhone().isBlank());
 
         return new CandidateCardResponse(
                 c.getId(),
@@ -2,13 +2,18 @@ package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.api.dto.CandidateListItemResponse;
 import bsaspm2025team2.backend.api.dto.CandidateListResponse;
-import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.config.ReplicaReads;
 import bsaspm2025team2.backend.domain.CandidateStatus;
 import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.metrics.CandidateQueryMetrics;
 import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSummary;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.CandidateCountService;
 import bsaspm2025team2.backend.service.ScoreService;
+import bsaspm2025team2.backend.util.OffsetBasedPageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -16,19 +21,26 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @RestController
+@ReplicaReads
 @RequestMapping("/api/hr/candidates")
 public class CandidateListController {
 
     private final CandidateRepository candidateRepository;
     private final PositionRepository positionRepository;
     private final ScoreService scoreService;
+    private final CandidateQueryMetrics queryMetrics;
+    private final CandidateCountService candidateCounts;
 
     public CandidateListController(CandidateRepository candidateRepository,
                                    PositionRepository positionRepository,
-                                   ScoreService scoreService) {
+                                   ScoreService scoreService,
+                                   CandidateQueryMetrics queryMetrics,
+                                   CandidateCountService candidateCounts) {
         this.candidateRepository = candidateRepository;
         this.positionRepository = positionRepository;
         this.scoreService = scoreService;
+        this.queryMetrics = queryMetrics;
+        this.candidateCounts = candidateCounts;
     }
 
     /**
@@ -39,8 +51,12 @@ public class CandidateListController {
      *  position_id (optional)
      *  min_score (optional)
      *  sort=score_desc|score_asc|upload_date_desc
+     *
+     * Without filters other than status only the requested page is read and the total comes from
+     * CandidateCountService (total_exact=false when it is an estimate).
      */
     @GetMapping
+    @Transactional(readOnly = true)
     public CandidateListResponse listCandidates(
             @RequestParam(value = "q", required = false) String q,
             @RequestParam(value = "status", required = false) CandidateStatus status,
@@ -54,24 +70,29 @@ public class CandidateListController {
         int safeLimit = normalizeLimit(limit);
         int safeOffset = Math.max(0, offset);
 
+        if ((q == null || q.isBlank()) && minYears == null && positionId == null && minScore == null) {
+            return unfilteredPage(status, safeLimit, safeOffset);
+        }
+
         final Position position =
                 positionId == null
                         ? null
                         : positionRepository.findById(positionId).orElse(null);
 
-        // 1) Fetch ALL candidates (MVP). For small datasets OK.
-        List<Candidate> all = candidateRepository.findAll();
+        // 1) Fetch ALL candidates (MVP). For small datasets OK. List columns only (no skills text, no entities).
+        List<CandidateSummary> all = candidateRepository.findAllSummaries();
 
         // 2) Apply US5 filters in-memory (MVP).
-        List<Candidate> filtered = all.stream()
+        List<CandidateSummary> filtered = all.stream()
                 .filter(c -> status == null || c.getStatus() == status)
                 .filter(c -> minYears == null || (c.getYearsOfExperience() != null && c.getYearsOfExperience() >= minYears))
                 .filter(c -> matchesQ(c, q))
                 .collect(Collectors.toList());
 
         // 3) Map to list items with score (relative to selected position)
+        Map<Long, Integer> scores = scoresFor(position);
         List<CandidateWithScore> scored = filtered.stream()
-                .map(c -> new CandidateWithScore(c, computeScore(c, position)))
+                .map(c -> new CandidateWithScore(c, scores.getOrDefault(c.getId(), 0)))
                 .collect(Collectors.toList());
 
         // 4) min_score filter
@@ -81,9 +102,12 @@ public class CandidateListController {
                     .filter(cs -> cs.score >= ms)
                     .collect(Collectors.toList());
         }
+        queryMetrics.recordFilter("list", all.size(), scored.size(), position == null ? 0 : filtered.size());
 
         // 5) sort
+        long sortStarted = System.nanoTime();
         scored.sort(comparator(sort));
+        queryMetrics.recordSort("list", System.nanoTime() - sortStarted);
 
         // 6) paginate AFTER sort/filter
         long total = scored.size();
@@ -94,8 +118,24 @@ public class CandidateListController {
         List<CandidateListItemResponse> items = page.stream()
                 .map(cs -> toItem(cs.candidate, cs.score))
                 .collect(Collectors.toList());
+        queryMetrics.recordResponseItems("list", items.size());
 
-        return new CandidateListResponse(items, safeLimit, safeOffset, total);
+        return new CandidateListResponse(items, safeLimit, safeOffset, total, true);
+    }
+
+    // no position -> every score is 0, so all sorts are upload_date_desc
+    private CandidateListResponse unfilteredPage(CandidateStatus status, int limit, int offset) {
+        OffsetBasedPageRequest page = new OffsetBasedPageRequest(offset, limit, null);
+        List<CandidateSummary> rows = status == null
+                ? candidateRepository.findSummaryPage(page)
+                : candidateRepository.findSummaryPageByStatus(status, page);
+        CandidateCountService.Count total = candidateCounts.count(status);
+
+        List<CandidateListItemResponse> items = rows.stream()
+                .map(c -> toItem(c, 0))
+                .collect(Collectors.toList());
+        queryMetrics.recordResponseItems("list", items.size());
+        return new CandidateListResponse(items, limit, offset, total.value(), total.exact());
     }
 
     private static int normalizeLimit(Integer limit) {
@@ -105,7 +145,7 @@ public class CandidateListController {
         return l;
     }
 
-    private boolean matchesQ(Candidate c, String q) {
+    private boolean matchesQ(CandidateSummary c, String q) {
         if (q == null || q.isBlank()) return true;
         String needle = q.toLowerCase();
 
@@ -120,9 +160,10 @@ public class CandidateListController {
         return (s == null) ? "" : s.toLowerCase();
     }
 
-    private int computeScore(Candidate c, Position position) {
-        if (position == null) return 0;
-        return scoreService.score(c.getSkills(), position.getRequiredSkills());
+    // candidate id -> score for the position, counted in SQL (candidate_skills); absent = 0
+    private Map<Long, Integer> scoresFor(Position position) {
+        if (position == null) return Map.of();
+        return scoreService.scoresByCandidate(position.getRequiredSkills());
     }
 
     private Comparator<CandidateWithScore> comparator(String sort) {
@@ -139,7 +180,7 @@ public class CandidateListController {
                 Comparator.nullsLast(Comparator.reverseOrder()));
     }
 
-    private CandidateListItemResponse toItem(Candidate c, int score) {
+    private CandidateListItemResponse toItem(CandidateSummary c, int score) {
         return new CandidateListItemResponse(
                 c.getId(),
                 c.getFullName(),
@@ -153,10 +194,10 @@ public class CandidateListController {
     }
 
     private static class CandidateWithScore {
-        final Candidate candidate;
+        final CandidateSummary candidate;
         final int score;
 
-        CandidateWithScore(Candidate candidate, int score) {
+        CandidateWithScore(CandidateSummary candidate, int score) {
             this.candidate = candidate;
             this.score = score;
         }
@@ -0,0 +1,65 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.CandidateChangeItem;
+import bsaspm2025team2.backend.api.dto.CandidateChangesResponse;
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.service.CandidateSyncService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * Delta sync for downstream tools: instead of re-downloading the list, a client keeps next_cursor
+ * and asks only for what changed after it.
+ *
+ *  GET /api/hr/candidates/changes?since=2026-01-01T00:00:00Z   first sync (omit since for everything)
+ *  GET /api/hr/candidates/changes?cursor=...                   next page / next sync
+ */
+@RestController
+@RequestMapping("/api/hr/candidates/changes")
+public class CandidateSyncController {
+
+    private final CandidateSyncService syncService;
+
+    public CandidateSyncController(CandidateSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public CandidateChangesResponse changes(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false, defaultValue = "500") Integer limit
+    ) {
+        int safeLimit = Math.max(1, Math.min(1000, limit == null ? 500 : limit));
+        CandidateSyncService.Page page = syncService.changes(since, cursor, safeLimit);
+
+        return new CandidateChangesResponse(
+                page.changes().stream().map(this::toItem).toList(),
+                page.next().encode(),
+                page.hasMore()
+        );
+    }
+
+    private CandidateChangeItem toItem(CandidateSyncService.Change change) {
+        Candidate c = change.candidate();
+        if (c == null) {
+            return new CandidateChangeItem("delete", change.candidateId(), change.changedAt(),
+                    null, null, null, null, null, null, null, null);
+        }
+        return new CandidateChangeItem(
+                "upsert",
+                c.getId(),
+                change.changedAt(),
+                c.getFullName(),
+                c.getEmail(),
+                c.getPhone(),
+                c.getStatus() == null ? null : c.getStatus().name(),
+                c.getSkills(),
+                c.getYearsOfExperience(),
+                c.getUploadDate(),
+                c.isDraft()
+        );
+    }
+}
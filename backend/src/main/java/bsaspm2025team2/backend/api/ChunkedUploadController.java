@@ -0,0 +1,78 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.ChunkedUploadRequest;
+import bsaspm2025team2.backend.api.dto.ChunkedUploadResponse;
+import bsaspm2025team2.backend.api.dto.UploadResumeResponse;
+import bsaspm2025team2.backend.service.ChunkedUploadService;
+import bsaspm2025team2.backend.service.UploadIdempotencyService;
+import bsaspm2025team2.backend.validation.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Resumable resume upload for unreliable connections:
+ * 1. POST {filename, size} -> upload_id
+ * 2. PUT the file in chunks (raw bytes) with offset = bytes received so far;
+ *    after an interruption GET the upload for the offset to continue from
+ * 3. POST .../complete -> same response as /api/hr/candidates/upload-resume
+ */
+@RestController
+@RequestMapping("/api/hr/candidates/uploads")
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public ChunkedUploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    /**
+     * With an Idempotency-Key of an upload in progress, returns that upload.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ChunkedUploadResponse start(
+            @RequestBody ChunkedUploadRequest request,
+            @RequestHeader(value = UploadIdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (request == null || request.size() == null) {
+            throw new ValidationException(Map.of("size", "File size is required"));
+        }
+        return toResponse(chunkedUploadService.start(request.filename(), request.size(), idempotencyKey));
+    }
+
+    @GetMapping("/{id}")
+    public ChunkedUploadResponse status(@PathVariable("id") String id) {
+        return toResponse(chunkedUploadService.status(id));
+    }
+
+    /**
+     * 409 when offset is not the number of bytes received so far (nothing is written then).
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ChunkedUploadResponse append(@PathVariable("id") String id,
+                                        @RequestParam("offset") long offset,
+                                        HttpServletRequest request) throws IOException {
+        return toResponse(chunkedUploadService.append(id, offset, request.getInputStream()));
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<UploadResumeResponse> complete(@PathVariable("id") String id) {
+        return ResumeUploadController.created(chunkedUploadService.complete(id));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancel(@PathVariable("id") String id) {
+        chunkedUploadService.cancel(id);
+    }
+
+    private static ChunkedUploadResponse toResponse(ChunkedUploadService.Status s) {
+        return new ChunkedUploadResponse(s.id(), s.filename(), s.size(), s.offset(), s.candidateId());
+    }
+}
@@ -0,0 +1,45 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.validation.ValidationException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * from/to request params of the rollup reports: YYYY-MM-DD, UTC days, both inclusive.
+ */
+record DateRange(LocalDate from, LocalDate to) {
+
+    /**
+     * @param defaultDays length of the range when from is absent (ending at to, default today)
+     * @param maxDays     longest range accepted, 400 beyond that
+     */
+    static DateRange parse(String from, String to, int defaultDays, int maxDays) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        LocalDate toDate = parseDate("to", to, LocalDate.now(ZoneOffset.UTC), errors);
+        LocalDate fromDate = parseDate("from", from, toDate == null ? null : toDate.minusDays(defaultDays - 1L), errors);
+        if (errors.isEmpty()) {
+            if (fromDate.isAfter(toDate)) {
+                errors.put("from", "from must not be after to");
+            } else if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxDays) {
+                errors.put("from", "Range must not exceed " + maxDays + " days");
+            }
+        }
+        if (!errors.isEmpty()) throw new ValidationException(errors);
+        return new DateRange(fromDate, toDate);
+    }
+
+    private static LocalDate parseDate(String field, String value, LocalDate fallback, Map<String, String> errors) {
+        if (value == null || value.isBlank()) return fallback;
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            errors.put(field, "Date must be YYYY-MM-DD");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.FunnelReportResponse;
+import bsaspm2025team2.backend.config.ReplicaReads;
+import bsaspm2025team2.backend.service.CandidateFunnelService;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ReplicaReads
+@RequestMapping("/api/manager/reports/funnel")
+public class FunnelReportController {
+
+    private final CandidateFunnelService funnelService;
+
+    public FunnelReportController(CandidateFunnelService funnelService) {
+        this.funnelService = funnelService;
+    }
+
+    /**
+     * Status funnel per position from the daily rollups.
+     * Params: from, to (YYYY-MM-DD, UTC, inclusive; default the last 30 days, at most 366), position_id (optional)
+     */
+    @GetMapping
+    @Transactional(readOnly = true)
+    public FunnelReportResponse funnel(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "position_id", required = false) Long positionId
+    ) {
+        DateRange range = DateRange.parse(from, to, 30, 366);
+        return funnelService.report(range.from(), range.to(), positionId);
+    }
+}
@@ -0,0 +1,28 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.service.PipelineStatsStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live version of report 1 (pipeline stats, whole pipeline without filters) as Server-Sent Events:
+ * an event "pipeline-stats" with the same body as GET /pipeline-stats on connect and after every change.
+ */
+@RestController
+@RequestMapping("/api/manager/reports")
+public class PipelineStatsStreamController {
+
+    private final PipelineStatsStream pipelineStatsStream;
+
+    public PipelineStatsStreamController(PipelineStatsStream pipelineStatsStream) {
+        this.pipelineStatsStream = pipelineStatsStream;
+    }
+
+    @GetMapping(value = "/pipeline-stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return pipelineStatsStream.subscribe();
+    }
+}
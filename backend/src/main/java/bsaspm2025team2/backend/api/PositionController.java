@@ -4,7 +4,10 @@ import bsaspm2025team2.backend.api.dto.PositionRequest;
 import bsaspm2025team2.backend.api.dto.PositionResponse;
 import bsaspm2025team2.backend.domain.Position;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.PositionSkillIndex;
+import bsaspm2025team2.backend.service.ReportDataChangedEvent;
 import bsaspm2025team2.backend.validation.ValidationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -18,9 +21,15 @@ import java.util.List;
 public class PositionController {
 
     private final PositionRepository positionRepository;
+    private final PositionSkillIndex positionSkillIndex;
+    private final ApplicationEventPublisher events;
 
-    public PositionController(PositionRepository positionRepository) {
+    public PositionController(PositionRepository positionRepository,
+                              PositionSkillIndex positionSkillIndex,
+                              ApplicationEventPublisher events) {
         this.positionRepository = positionRepository;
+        this.positionSkillIndex = positionSkillIndex;
+        this.events = events;
     }
 
     @PostMapping
@@ -35,6 +44,8 @@ public class PositionController {
         );
 
         Position saved = positionRepository.save(position);
+        positionSkillIndex.put(saved);
+        events.publishEvent(new ReportDataChangedEvent("positions"));
         return toResponse(saved);
     }
 
@@ -65,6 +76,8 @@ public class PositionController {
         position.setExperienceWeight(request.experienceWeight());
 
         Position saved = positionRepository.save(position);
+        positionSkillIndex.put(saved);
+        events.publishEvent(new ReportDataChangedEvent("positions"));
         return toResponse(saved);
     }
 
@@ -75,6 +88,8 @@ public class PositionController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Position not found");
         }
         positionRepository.deleteById(id);
+        positionSkillIndex.remove(id);
+        events.publishEvent(new ReportDataChangedEvent("positions"));
     }
 
     private PositionResponse toResponse(Position p) {
@@ -1,15 +1,18 @@
 package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.api.dto.PositionResponse;
+import bsaspm2025team2.backend.config.ReplicaReads;
 import bsaspm2025team2.backend.domain.Position;
 import bsaspm2025team2.backend.repository.PositionRepository;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
 @RestController
+@ReplicaReads
 @RequestMapping("/api/positions")
 public class PositionsController {
 
@@ -20,6 +23,7 @@ public class PositionsController {
     }
 
     @GetMapping
+    @Transactional(readOnly = true)
     public List<PositionResponse> list() {
         return positionRepository.findAll().stream()
                 .map(this::toResponse)
@@ -27,6 +31,7 @@ public class PositionsController {
     }
 
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public PositionResponse get(@PathVariable Long id) {
         Position position = positionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Position not found"));
@@ -0,0 +1,61 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.ReextractionJobResponse;
+import bsaspm2025team2.backend.service.BulkReextractionJob;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Manager-only control of the bulk re-extraction job (re-run field rules over all stored resumes).
+ */
+@RestController
+@RequestMapping("/api/manager/reextraction")
+public class ReextractionJobController {
+
+    private final BulkReextractionJob job;
+
+    public ReextractionJobController(BulkReextractionJob job) {
+        this.job = job;
+    }
+
+    /**
+     * Starts the job; continues from the checkpoint of an interrupted run (retrying documents that failed
+     * before) unless restart=true.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReextractionJobResponse start(
+            @RequestParam(value = "restart", defaultValue = "false") boolean restart
+    ) {
+        return toResponse(job.start(restart));
+    }
+
+    @GetMapping
+    public ReextractionJobResponse progress() {
+        return toResponse(job.progress());
+    }
+
+    /**
+     * Stops after the batch in progress.
+     */
+    @DeleteMapping
+    public ReextractionJobResponse cancel() {
+        return toResponse(job.cancel());
+    }
+
+    private ReextractionJobResponse toResponse(BulkReextractionJob.Progress p) {
+        return new ReextractionJobResponse(
+                p.state().name(),
+                p.total(),
+                p.processed(),
+                p.updated(),
+                p.failed(),
+                p.failedDocumentIds(),
+                p.lastDocumentId(),
+                p.startedAt(),
+                p.finishedAt(),
+                p.documentsPerSecond(),
+                p.error()
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.ReportJobRequest;
+import bsaspm2025team2.backend.api.dto.ReportJobResponse;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.service.CandidateExportService;
+import bsaspm2025team2.backend.service.ReportJobService;
+import bsaspm2025team2.backend.validation.ValidationException;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Large reports generated in the background: submit, poll the job, download the file once COMPLETED.
+ * Ranked candidates per position, same columns as /api/manager/reports/export plus position_id and rank.
+ */
+@RestController
+@RequestMapping("/api/manager/reports/jobs")
+public class ReportJobController {
+
+    // keeps a single job from ranking the whole position table
+    private static final int MAX_POSITIONS = 50;
+
+    private final ReportJobService reportJobService;
+
+    public ReportJobController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    /**
+     * Returns the new job, or the queued/running job with the same parameters.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReportJobResponse submit(@RequestBody ReportJobRequest request) {
+        return toResponse(reportJobService.submit(validate(request)));
+    }
+
+    @GetMapping("/{id}")
+    public ReportJobResponse status(@PathVariable("id") String id) {
+        return toResponse(reportJobService.status(id));
+    }
+
+    /**
+     * 409 until the job is COMPLETED.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable("id") String id) {
+        ReportJobService.Result result = reportJobService.result(id);
+        MediaType contentType = result.format() == CandidateExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.filename() + "\"")
+                .contentType(contentType)
+                .body(new FileSystemResource(result.file()));
+    }
+
+    private ReportJobService.Params validate(ReportJobRequest request) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (request == null) {
+            throw new ValidationException(Map.of("body", "Request body is required"));
+        }
+
+        List<Long> positionIds = request.position_ids();
+        if (positionIds == null || positionIds.isEmpty()) {
+            errors.put("position_ids", "At least one position id is required");
+        } else if (positionIds.contains(null)) {
+            errors.put("position_ids", "Position ids must not be null");
+        } else if (positionIds.size() > MAX_POSITIONS) {
+            errors.put("position_ids", "At most " + MAX_POSITIONS + " positions per report");
+        }
+
+        CandidateExportService.Format format = null;
+        String f = request.format() == null ? "csv" : request.format().toLowerCase(Locale.ROOT);
+        if (f.equals("csv")) {
+            format = CandidateExportService.Format.CSV;
+        } else if (f.equals("ndjson")) {
+            format = CandidateExportService.Format.NDJSON;
+        } else {
+            errors.put("format", "Format must be csv or ndjson");
+        }
+
+        CandidateStatus status = null;
+        if (request.status() != null) {
+            try {
+                status = CandidateStatus.valueOf(request.status().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                errors.put("status", "Unknown status");
+            }
+        }
+        if (request.min_years() != null && request.min_years() < 0) {
+            errors.put("min_years", "Must be >= 0");
+        }
+        if (request.min_score() != null && (request.min_score() < 0 || request.min_score() > 100)) {
+            errors.put("min_score", "Must be between 0 and 100");
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return new ReportJobService.Params(positionIds, format, request.q(), status,
+                request.min_years(), request.min_score());
+    }
+
+    private ReportJobResponse toResponse(ReportJobService.Status s) {
+        return new ReportJobResponse(
+                s.id(),
+                s.state().name(),
+                s.params().positionIds(),
+                s.params().format().name().toLowerCase(Locale.ROOT),
+                s.createdAt(),
+                s.startedAt(),
+                s.finishedAt(),
+                s.rows(),
+                s.error(),
+                s.state() == ReportJobService.State.COMPLETED
+                        ? "/api/manager/reports/jobs/" + s.id() + "/download"
+                        : null
+        );
+    }
+}
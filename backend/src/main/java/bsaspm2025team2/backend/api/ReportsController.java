@@ -2,36 +2,69 @@ package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.api.dto.CandidateListItemResponse;
 import bsaspm2025team2.backend.api.dto.PipelineStatsResponse;
+import bsaspm2025team2.backend.api.dto.ScoreHistogramResponse;
 import bsaspm2025team2.backend.api.dto.TopCandidatesResponse;
-import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.config.ReplicaReads;
+import bsaspm2025team2.backend.config.ReplicaRouting;
 import bsaspm2025team2.backend.domain.CandidateStatus;
 import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.metrics.CandidateQueryMetrics;
 import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSummary;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.CandidateExportService;
+import bsaspm2025team2.backend.service.ReportCache;
+import bsaspm2025team2.backend.service.ScoreHistogramService;
 import bsaspm2025team2.backend.service.ScoreService;
+import bsaspm2025team2.backend.util.Csv;
+import bsaspm2025team2.backend.validation.ValidationException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
+@ReplicaReads
 @RequestMapping("/api/manager/reports")
 public class ReportsController {
 
     private final CandidateRepository candidateRepository;
     private final PositionRepository positionRepository;
     private final ScoreService scoreService;
+    private final CandidateQueryMetrics queryMetrics;
+    private final CandidateExportService exportService;
+    private final ReportCache reportCache;
+    private final ScoreHistogramService scoreHistogramService;
+    // inside the cached computation, so callers waiting on it do not hold a connection
+    private final TransactionTemplate readOnlyTx;
 
     public ReportsController(CandidateRepository candidateRepository,
                              PositionRepository positionRepository,
-                             ScoreService scoreService) {
+                             ScoreService scoreService,
+                             CandidateQueryMetrics queryMetrics,
+                             CandidateExportService exportService,
+                             ReportCache reportCache,
+                             ScoreHistogramService scoreHistogramService,
+                             PlatformTransactionManager transactionManager) {
         this.candidateRepository = candidateRepository;
         this.positionRepository = positionRepository;
         this.scoreService = scoreService;
+        this.queryMetrics = queryMetrics;
+        this.exportService = exportService;
+        this.reportCache = reportCache;
+        this.scoreHistogramService = scoreHistogramService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
     /**
@@ -46,9 +79,116 @@ public class ReportsController {
             @RequestParam(value = "position_id", required = false) Long positionId,
             @RequestParam(value = "min_score", required = false) Integer minScore
     ) {
+        ReportParams params = ReportParams.of(q, status, minYears, positionId, minScore, null);
+        return reportCache.get("pipeline-stats", params,
+                () -> fill(() -> computePipelineStats(params.q(), status, minYears, positionId, params.minScore())));
+    }
+
+    /**
+     * Report 2: top-N candidates by score (under current filters).
+     * Supports CSV export: ?download=csv
+     */
+    @GetMapping("/top-candidates")
+    public ResponseEntity<?> topCandidates(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "status", required = false) CandidateStatus status,
+            @RequestParam(value = "min_years", required = false) Integer minYears,
+            @RequestParam(value = "position_id", required = false) Long positionId,
+            @RequestParam(value = "min_score", required = false) Integer minScore,
+            @RequestParam(value = "n", required = false, defaultValue = "10") Integer n,
+            @RequestParam(value = "download", required = false) String download
+    ) {
+        int topN = normalizeTopN(n);
+        ReportParams params = ReportParams.of(q, status, minYears, positionId, minScore, topN);
+        TopCandidatesResponse top = reportCache.get("top-candidates", params,
+                () -> fill(() -> computeTopCandidates(params.q(), status, minYears, positionId, params.minScore(), topN)));
+
+        if ("csv".equalsIgnoreCase(download)) {
+            String csv = toCsv(top.items());
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"top-candidates.csv\"")
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(csv);
+        }
+        return ResponseEntity.ok(top);
+    }
+
+    /**
+     * Report 4: number of candidates per 10-point score bucket for a position (under current filters),
+     * counted in the database without loading candidates.
+     */
+    @GetMapping("/score-histogram")
+    public ScoreHistogramResponse scoreHistogram(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "status", required = false) CandidateStatus status,
+            @RequestParam(value = "min_years", required = false) Integer minYears,
+            @RequestParam(value = "position_id", required = false) Long positionId,
+            @RequestParam(value = "min_score", required = false) Integer minScore
+    ) {
+        if (positionId == null) {
+            throw new ValidationException(Map.of("position_id", "position_id is required"));
+        }
+        ReportParams params = ReportParams.of(q, status, minYears, positionId, minScore, null);
+        return reportCache.get("score-histogram", params,
+                () -> fill(() -> computeScoreHistogram(params.q(), status, minYears, positionId, params.minScore())));
+    }
+
+    /**
+     * Computes a report for the cache in a read-only transaction; right after a write (invalidation) on the primary,
+     * since the replica may still miss the write and the result would be cached for the whole ttl.
+     */
+    private <T> T fill(Supplier<T> compute) {
+        Supplier<T> inTx = () -> readOnlyTx.execute(tx -> compute.get());
+        return reportCache.recentlyInvalidated() ? ReplicaRouting.onPrimary(inTx) : inTx.get();
+    }
+
+    /**
+     * Report 3: every candidate matching the filters (no top-N cut), streamed as it is read.
+     * format=csv (default) or ndjson (one JSON object per line, same fields as the list items).
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "status", required = false) CandidateStatus status,
+            @RequestParam(value = "min_years", required = false) Integer minYears,
+            @RequestParam(value = "position_id", required = false) Long positionId,
+            @RequestParam(value = "min_score", required = false) Integer minScore,
+            @RequestParam(value = "format", required = false, defaultValue = "csv") String format
+    ) {
+        CandidateExportService.Format exportFormat;
+        MediaType contentType;
+        if ("csv".equalsIgnoreCase(format)) {
+            exportFormat = CandidateExportService.Format.CSV;
+            contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            exportFormat = CandidateExportService.Format.NDJSON;
+            contentType = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        } else {
+            throw new ValidationException(Map.of("format", "Format must be csv or ndjson"));
+        }
+
+        final Position position = positionId == null ? null : positionRepository.findById(positionId).orElse(null);
+        CandidateExportService.Filter filter = new CandidateExportService.Filter(
+                q, status, minYears, position == null ? null : position.getRequiredSkills(), minScore);
+
+        StreamingResponseBody body = out -> {
+            long rows = exportService.export(filter, exportFormat, out);
+            queryMetrics.recordResponseItems("export", (int) Math.min(rows, Integer.MAX_VALUE));
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"candidates." + exportFormat.name().toLowerCase() + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
+    // ----------------- helpers -----------------
+
+    private PipelineStatsResponse computePipelineStats(String q, CandidateStatus status, Integer minYears,
+                                                       Long positionId, Integer minScore) {
         final Position position = positionId == null ? null : positionRepository.findById(positionId).orElse(null);
 
-        List<CandidateWithScore> filtered = filterAndScoreCandidates(q, status, minYears, minScore, position);
+        List<CandidateWithScore> filtered = filterAndScoreCandidates("pipeline-stats", q, status, minYears, minScore, position);
 
         // Initialize all statuses with 0
         Map<String, Long> counts = new LinkedHashMap<>();
@@ -61,79 +201,84 @@ public class ReportsController {
                 .collect(Collectors.groupingBy(cs -> cs.candidate.getStatus().name(), Collectors.counting()));
 
         actual.forEach(counts::put);
+        queryMetrics.recordResponseItems("pipeline-stats", counts.size());
 
         return new PipelineStatsResponse(counts);
     }
 
-    /**
-     * Report 2: top-N candidates by score (under current filters).
-     * Supports CSV export: ?download=csv
-     */
-    @GetMapping("/top-candidates")
-    public ResponseEntity<?> topCandidates(
-            @RequestParam(value = "q", required = false) String q,
-            @RequestParam(value = "status", required = false) CandidateStatus status,
-            @RequestParam(value = "min_years", required = false) Integer minYears,
-            @RequestParam(value = "position_id", required = false) Long positionId,
-            @RequestParam(value = "min_score", required = false) Integer minScore,
-            @RequestParam(value = "n", required = false, defaultValue = "10") Integer n,
-            @RequestParam(value = "download", required = false) String download
-    ) {
-        int topN = normalizeTopN(n);
+    private TopCandidatesResponse computeTopCandidates(String q, CandidateStatus status, Integer minYears,
+                                                       Long positionId, Integer minScore, int topN) {
         final Position position = positionId == null ? null : positionRepository.findById(positionId).orElse(null);
 
-        List<CandidateWithScore> filtered = filterAndScoreCandidates(q, status, minYears, minScore, position);
+        List<CandidateWithScore> filtered = new ArrayList<>(
+                filterAndScoreCandidates("top-candidates", q, status, minYears, minScore, position));
 
         // sort by score desc, tie-breaker upload_date desc
+        long sortStarted = System.nanoTime();
         filtered.sort(Comparator.<CandidateWithScore>comparingInt(cs -> cs.score).reversed()
                 .thenComparing(cs -> cs.candidate.getUploadDate(), Comparator.nullsLast(Comparator.reverseOrder())));
+        long sortNanos = System.nanoTime() - sortStarted;
 
         long totalMatched = filtered.size();
-        List<CandidateWithScore> top = filtered.stream().limit(topN).toList();
-
-        if ("csv".equalsIgnoreCase(download)) {
-            String csv = toCsv(top);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"top-candidates.csv\"")
-                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
-                    .body(csv);
-        }
-
-        List<CandidateListItemResponse> items = top.stream()
+        List<CandidateListItemResponse> items = filtered.stream()
+                .limit(topN)
                 .map(cs -> toListItem(cs.candidate, cs.score))
                 .toList();
+        queryMetrics.recordSort("top-candidates", sortNanos);
+        queryMetrics.recordResponseItems("top-candidates", items.size());
 
-        return ResponseEntity.ok(new TopCandidatesResponse(items, topN, totalMatched));
+        return new TopCandidatesResponse(items, topN, totalMatched);
     }
 
-    // ----------------- helpers -----------------
+    private ScoreHistogramResponse computeScoreHistogram(String q, CandidateStatus status, Integer minYears,
+                                                         Long positionId, Integer minScore) {
+        Position position = positionRepository.findById(positionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Position not found"));
+
+        long[] counts = scoreHistogramService.histogram(new CandidateExportService.Filter(
+                q, status, minYears, position.getRequiredSkills(), minScore));
+
+        List<ScoreHistogramResponse.Bucket> buckets = new ArrayList<>(counts.length);
+        long total = 0;
+        for (int b = 0; b < counts.length; b++) {
+            int min = b * ScoreHistogramService.BUCKET_WIDTH;
+            int max = b == counts.length - 1 ? 100 : min + ScoreHistogramService.BUCKET_WIDTH - 1;
+            buckets.add(new ScoreHistogramResponse.Bucket(min, max, counts[b]));
+            total += counts[b];
+        }
+        queryMetrics.recordResponseItems("score-histogram", buckets.size());
+        return new ScoreHistogramResponse(positionId, total, buckets);
+    }
 
-    private List<CandidateWithScore> filterAndScoreCandidates(String q,
+    private List<CandidateWithScore> filterAndScoreCandidates(String endpoint,
+                                                              String q,
                                                               CandidateStatus status,
                                                               Integer minYears,
                                                               Integer minScore,
                                                               Position position) {
-        List<Candidate> all = candidateRepository.findAll();
+        List<CandidateSummary> all = candidateRepository.findAllSummaries();
 
-        List<Candidate> filtered = all.stream()
+        List<CandidateSummary> filtered = all.stream()
                 .filter(c -> status == null || c.getStatus() == status)
                 .filter(c -> minYears == null || (c.getYearsOfExperience() != null && c.getYearsOfExperience() >= minYears))
                 .filter(c -> matchesQ(c, q))
                 .toList();
 
+        Map<Long, Integer> scores = scoresFor(position);
         List<CandidateWithScore> scored = filtered.stream()
-                .map(c -> new CandidateWithScore(c, computeScore(c, position)))
+                .map(c -> new CandidateWithScore(c, scores.getOrDefault(c.getId(), 0)))
                 .collect(Collectors.toList());
 
         if (minScore != null) {
             int ms = Math.max(0, Math.min(100, minScore));
             scored = scored.stream().filter(cs -> cs.score >= ms).toList();
         }
+        queryMetrics.recordFilter(endpoint, all.size(), scored.size(), position == null ? 0 : filtered.size());
 
         return scored;
     }
 
-    private boolean matchesQ(Candidate c, String q) {
+    private boolean matchesQ(CandidateSummary c, String q) {
         if (q == null || q.isBlank()) return true;
         String needle = q.toLowerCase();
 
@@ -148,12 +293,13 @@ public class ReportsController {
         return (s == null) ? "" : s.toLowerCase();
     }
 
-    private int computeScore(Candidate c, Position position) {
-        if (position == null) return 0;
-        return scoreService.score(c.getSkills(), position.getRequiredSkills());
+    // candidate id -> score for the position, counted in SQL (candidate_skills); absent = 0
+    private Map<Long, Integer> scoresFor(Position position) {
+        if (position == null) return Map.of();
+        return scoreService.scoresByCandidate(position.getRequiredSkills());
     }
 
-    private CandidateListItemResponse toListItem(Candidate c, int score) {
+    private CandidateListItemResponse toListItem(CandidateSummary c, int score) {
         return new CandidateListItemResponse(
                 c.getId(),
                 c.getFullName(),
@@ -173,36 +319,48 @@ public class ReportsController {
         return v;
     }
 
-    private String toCsv(List<CandidateWithScore> top) {
+    private String toCsv(List<CandidateListItemResponse> top) {
         StringBuilder sb = new StringBuilder();
         // header
         sb.append("full_name,email,phone,status,score\n");
 
-        for (CandidateWithScore cs : top) {
-            Candidate c = cs.candidate;
-            sb.append(csv(c.getFullName())).append(',')
-                    .append(csv(c.getEmail())).append(',')
-                    .append(csv(c.getPhone())).append(',')
-                    .append(csv(c.getStatus() == null ? "" : c.getStatus().name())).append(',')
-                    .append(cs.score)
+        for (CandidateListItemResponse item : top) {
+            sb.append(csv(item.full_name())).append(',')
+                    .append(csv(item.email())).append(',')
+                    .append(csv(item.phone())).append(',')
+                    .append(csv(item.status() == null ? "" : item.status())).append(',')
+                    .append(item.score())
                     .append('\n');
         }
         return sb.toString();
     }
 
     private String csv(String value) {
-        if (value == null) return "";
-        String v = value;
-        boolean needsQuotes = v.contains(",") || v.contains("\"") || v.contains("\n") || v.contains("\r");
-        v = v.replace("\"", "\"\"");
-        return needsQuotes ? "\"" + v + "\"" : v;
+        return Csv.field(value);
+    }
+
+    /**
+     * Cache key: the filters as they affect the result (q is matched case-insensitively, min_score clamped).
+     */
+    private record ReportParams(String q, CandidateStatus status, Integer minYears, Long positionId,
+                                Integer minScore, Integer n) {
+        static ReportParams of(String q, CandidateStatus status, Integer minYears, Long positionId,
+                               Integer minScore, Integer n) {
+            return new ReportParams(
+                    q == null || q.isBlank() ? null : q.toLowerCase(),
+                    status,
+                    minYears,
+                    positionId,
+                    minScore == null ? null : Math.max(0, Math.min(100, minScore)),
+                    n);
+        }
     }
 
     private static class CandidateWithScore {
-        final Candidate candidate;
+        final CandidateSummary candidate;
         final int score;
 
-        CandidateWithScore(Candidate candidate, int score) {
+        CandidateWithScore(CandidateSummary candidate, int score) {
             this.candidate = candidate;
             this.score = score;
         }
@@ -2,8 +2,10 @@ package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.api.dto.UploadResumeResponse;
 import bsaspm2025team2.backend.service.ResumeUploadService;
+import bsaspm2025team2.backend.service.UploadIdempotencyService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -11,16 +13,27 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/hr/candidates")
 public class ResumeUploadController {
 
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final ResumeUploadService resumeUploadService;
 
     public ResumeUploadController(ResumeUploadService resumeUploadService) {
         this.resumeUploadService = resumeUploadService;
     }
 
+    /**
+     * A retry with the same Idempotency-Key returns the candidate of the first upload (Idempotent-Replayed: true).
+     */
     @PostMapping(value = "/upload-resume", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @ResponseStatus(HttpStatus.CREATED)
-    public UploadResumeResponse uploadResume(@RequestPart("file") MultipartFile file) {
-        Long candidateId = resumeUploadService.uploadResume(file);
-        return new UploadResumeResponse(candidateId, "Resume uploaded successfully");
+    public ResponseEntity<UploadResumeResponse> uploadResume(
+            @RequestPart("file") MultipartFile file,
+            @RequestHeader(value = UploadIdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return created(resumeUploadService.uploadResume(file, idempotencyKey));
+    }
+
+    static ResponseEntity<UploadResumeResponse> created(ResumeUploadService.Upload upload) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (upload.replayed()) response.header(REPLAYED_HEADER, "true");
+        return response.body(new UploadResumeResponse(upload.candidateId(), "Resume uploaded successfully"));
     }
 }
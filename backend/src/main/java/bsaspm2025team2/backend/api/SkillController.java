@@ -0,0 +1,119 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.SkillRequest;
+import bsaspm2025team2.backend.api.dto.SkillResponse;
+import bsaspm2025team2.backend.domain.Skill;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.service.SkillService;
+import bsaspm2025team2.backend.validation.ValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Skill dictionary management. Every change recompiles the dictionary used by extraction and scoring
+ * and updates candidate_skills of the affected candidates (see SkillService).
+ * Already extracted skills texts are not touched (use the re-extraction job for that).
+ */
+@RestController
+@RequestMapping("/api/manager/skills")
+public class SkillController {
+
+    private final SkillService skillService;
+    private final SkillDictionary skillDictionary;
+
+    public SkillController(SkillService skillService, SkillDictionary skillDictionary) {
+        this.skillService = skillService;
+        this.skillDictionary = skillDictionary;
+    }
+
+    @GetMapping
+    public List<SkillResponse> list() {
+        return skillService.list().stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SkillResponse create(@RequestBody SkillRequest request) {
+        List<String> aliases = validate(request, null);
+        Skill saved = skillService.create(request.name().trim(), aliases);
+        skillDictionary.reload();
+        return toResponse(saved);
+    }
+
+    @PutMapping("/{id}")
+    public SkillResponse update(@PathVariable Long id, @RequestBody SkillRequest request) {
+        List<String> aliases = validate(request, id);
+        Skill saved = skillService.update(id, request.name().trim(), aliases);
+        skillDictionary.reload();
+        return toResponse(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long id) {
+        skillService.delete(id);
+        skillDictionary.reload();
+    }
+
+    /**
+     * @return cleaned aliases
+     */
+    private List<String> validate(SkillRequest request, Long currentId) {
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        String name = request.name() == null ? "" : request.name().trim();
+        if (name.isEmpty()) {
+            errors.put("name", "Name is required");
+        } else if (name.length() > 100) {
+            errors.put("name", "Name must be at most 100 characters");
+        }
+
+        List<String> aliases = new ArrayList<>();
+        if (request.aliases() != null) {
+            for (String alias : request.aliases()) {
+                if (alias == null || alias.isBlank()) continue;
+                if (alias.contains(",")) {
+                    errors.put("aliases", "Aliases must not contain commas");
+                    continue;
+                }
+                aliases.add(alias.trim());
+            }
+        }
+
+        // a spelling may belong to one skill only
+        Map<String, Skill> taken = new LinkedHashMap<>();
+        for (Skill other : skillService.list()) {
+            if (other.getId().equals(currentId)) continue;
+            taken.put(other.getName().toLowerCase(Locale.ROOT), other);
+            for (String a : SkillDictionary.parseAliases(other.getAliases())) {
+                taken.put(a.toLowerCase(Locale.ROOT), other);
+            }
+        }
+        if (!name.isEmpty() && taken.containsKey(name.toLowerCase(Locale.ROOT))) {
+            errors.put("name", "Already used by skill '" + taken.get(name.toLowerCase(Locale.ROOT)).getName() + "'");
+        }
+        for (String alias : aliases) {
+            Skill owner = taken.get(alias.toLowerCase(Locale.ROOT));
+            if (owner != null) {
+                errors.put("aliases", "'" + alias + "' is already used by skill '" + owner.getName() + "'");
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return aliases;
+    }
+
+    private SkillResponse toResponse(Skill s) {
+        return new SkillResponse(s.getId(), s.getName(), SkillDictionary.parseAliases(s.getAliases()));
+    }
+}
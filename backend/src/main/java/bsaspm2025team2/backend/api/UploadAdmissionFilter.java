@@ -0,0 +1,124 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.ApiErrorResponse;
+import bsaspm2025team2.backend.util.AdmissionLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for requests that buffer and parse a resume (upload-resume, complete of a chunked upload),
+ * applied before the multipart body is read:
+ * - at most max-concurrent run at once and their declared sizes (Content-Length; unknown or empty bodies count
+ *   as max-file-size) stay within max-in-flight-bytes
+ * - others wait up to max-wait (at most max-waiting of them), then get 429 with Retry-After
+ *
+ * Metrics:
+ * uploads.admission.in_flight / .in_flight.bytes / .waiting   gauges
+ * uploads.admission.wait                                      time until admitted
+ * uploads.admission.rejected                                  tag reason (queue_full, concurrency, memory)
+ */
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionLimiter limiter;
+    private final long unknownSizeBytes;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry registry;
+    private final Timer waitTimer;
+
+    public UploadAdmissionFilter(AdmissionLimiter limiter,
+                                 long unknownSizeBytes,
+                                 Duration maxWait,
+                                 Duration retryAfter,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry registry) {
+        this.limiter = limiter;
+        this.unknownSizeBytes = unknownSizeBytes;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+
+        Gauge.builder("uploads.admission.in_flight", limiter, AdmissionLimiter::inFlight)
+                .description("Admitted resume uploads in progress")
+                .register(registry);
+        Gauge.builder("uploads.admission.in_flight.bytes", limiter, AdmissionLimiter::inFlightBytes)
+                .description("Declared bytes of admitted resume uploads")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("uploads.admission.waiting", limiter, AdmissionLimiter::waiting)
+                .description("Resume uploads waiting for admission")
+                .register(registry);
+        this.waitTimer = Timer.builder("uploads.admission.wait")
+                .description("Time resume uploads waited for admission")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) return true;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/api/hr/candidates/upload-resume")
+                && !(path.startsWith("/api/hr/candidates/uploads/") && path.endsWith("/complete"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        long bytes = length > 0 ? length : unknownSizeBytes;
+
+        long started = System.nanoTime();
+        AdmissionLimiter.Permit permit;
+        try {
+            permit = limiter.acquire(bytes, maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for upload admission", e);
+        }
+
+        if (!permit.admitted()) {
+            reject(response, permit.rejection());
+            return;
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(permit);
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionLimiter.Rejection reason) throws IOException {
+        Counter.builder("uploads.admission.rejected")
+                .description("Resume uploads rejected with 429")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiErrorResponse("TOO_MANY_REQUESTS", "Too many uploads in progress, retry later"));
+    }
+}
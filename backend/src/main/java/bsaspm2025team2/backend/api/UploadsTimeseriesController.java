@@ -0,0 +1,76 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.api.dto.UploadsTimeseriesResponse;
+import bsaspm2025team2.backend.config.ReplicaReads;
+import bsaspm2025team2.backend.repository.UploadRollupRepository;
+import bsaspm2025team2.backend.validation.ValidationException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@ReplicaReads
+@RequestMapping("/api/manager/reports/uploads-timeseries")
+public class UploadsTimeseriesController {
+
+    // one rollup row per day at most, so the cost depends on the range, not on the number of uploads
+    private static final int MAX_DAYS = 3660;
+
+    private final UploadRollupRepository uploadRollups;
+
+    public UploadsTimeseriesController(UploadRollupRepository uploadRollups) {
+        this.uploadRollups = uploadRollups;
+    }
+
+    /**
+     * Uploads per day or week from upload_counts_daily.
+     * Params: granularity=day|week (default day), from, to (YYYY-MM-DD, UTC, inclusive; default the last 365 days)
+     * Weeks start on Monday; the first and last week only count the days inside the range.
+     */
+    @GetMapping
+    @Transactional(readOnly = true)
+    public UploadsTimeseriesResponse uploads(
+            @RequestParam(value = "granularity", required = false, defaultValue = "day") String granularity,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to
+    ) {
+        boolean weekly;
+        if ("day".equalsIgnoreCase(granularity)) {
+            weekly = false;
+        } else if ("week".equalsIgnoreCase(granularity)) {
+            weekly = true;
+        } else {
+            throw new ValidationException(Map.of("granularity", "Granularity must be day or week"));
+        }
+        DateRange range = DateRange.parse(from, to, 365, MAX_DAYS);
+
+        Map<LocalDate, long[]> byPeriod = new HashMap<>();
+        long total = 0;
+        for (UploadRollupRepository.DayCount day : uploadRollups.findBetween(range.from(), range.to())) {
+            long[] sums = byPeriod.computeIfAbsent(periodStart(day.day(), weekly), d -> new long[2]);
+            sums[0] += day.uploads();
+            sums[1] += day.bytes();
+            total += day.uploads();
+        }
+
+        List<UploadsTimeseriesResponse.Point> points = new ArrayList<>();
+        for (LocalDate period = periodStart(range.from(), weekly);
+             !period.isAfter(range.to());
+             period = weekly ? period.plusWeeks(1) : period.plusDays(1)) {
+            long[] sums = byPeriod.getOrDefault(period, new long[2]);
+            points.add(new UploadsTimeseriesResponse.Point(period, sums[0], sums[1]));
+        }
+        return new UploadsTimeseriesResponse(weekly ? "week" : "day", range.from(), range.to(), total, points);
+    }
+
+    private static LocalDate periodStart(LocalDate day, boolean weekly) {
+        return weekly ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+}
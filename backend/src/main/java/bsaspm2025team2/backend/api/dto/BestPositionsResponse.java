@@ -0,0 +1,15 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+public record BestPositionsResponse(
+        Long candidate_id,
+        int k,
+        List<Item> items
+) {
+    public record Item(
+            Long position_id,
+            String name,
+            int score
+    ) {}
+}
@@ -0,0 +1,8 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+public record CandidateCardsRequest(
+        List<Long> candidate_ids,
+        List<Long> position_ids
+) {}
@@ -0,0 +1,22 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cards in request order (card.score = score for the first position), ids that do not exist,
+ * and the score of every card for every requested position.
+ */
+public record CandidateCardsResponse(
+        List<CandidateCardResponse> cards,
+        List<Long> missing_ids,
+        List<PositionScores> scores
+) {
+    /**
+     * @param scores candidate id -> score
+     */
+    public record PositionScores(
+            Long position_id,
+            Map<Long, Integer> scores
+    ) {}
+}
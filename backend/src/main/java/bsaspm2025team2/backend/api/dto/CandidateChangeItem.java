@@ -0,0 +1,20 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.time.Instant;
+
+/**
+ * op = "upsert" (current state of the candidate) or "delete" (only candidate_id and changed_at).
+ */
+public record CandidateChangeItem(
+        String op,
+        Long candidate_id,
+        Instant changed_at,
+        String full_name,
+        String email,
+        String phone,
+        String status,
+        String skills,
+        Integer years_of_experience,
+        Instant upload_date,
+        Boolean is_draft
+) {}
@@ -0,0 +1,9 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+public record CandidateChangesResponse(
+        List<CandidateChangeItem> items,
+        String next_cursor,
+        boolean has_more
+) {}
@@ -2,9 +2,13 @@ package bsaspm2025team2.backend.api.dto;
 
 import java.util.List;
 
+/**
+ * total_exact = false: total is an estimate (very large unfiltered/status-only lists), show it as "~1.2M".
+ */
 public record CandidateListResponse(
         List<CandidateListItemResponse> items,
         int limit,
         int offset,
-        long total
+        long total,
+        boolean total_exact
 ) {}
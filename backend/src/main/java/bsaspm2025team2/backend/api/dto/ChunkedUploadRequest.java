@@ -0,0 +1,6 @@
+package bsaspm2025team2.backend.api.dto;
+
+/**
+ * size = total file size in bytes.
+ */
+public record ChunkedUploadRequest(String filename, Long size) { }
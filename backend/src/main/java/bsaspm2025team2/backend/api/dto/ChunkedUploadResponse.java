@@ -0,0 +1,6 @@
+package bsaspm2025team2.backend.api.dto;
+
+/**
+ * offset = bytes received so far (where the next chunk starts); candidate_id is set once completed.
+ */
+public record ChunkedUploadResponse(String upload_id, String filename, long size, long offset, Long candidate_id) { }
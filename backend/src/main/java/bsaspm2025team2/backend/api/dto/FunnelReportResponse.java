@@ -0,0 +1,27 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Funnel over [from, to] (UTC days), one entry per position (position_id null = changes made without a position).
+ *
+ * Per stage left: how many candidates left it, where they went (transitions, conversion = share of left)
+ * and the median time they had spent in it (hours, estimated from a histogram).
+ */
+public record FunnelReportResponse(
+        LocalDate from,
+        LocalDate to,
+        List<PositionFunnel> positions
+) {
+    public record PositionFunnel(Long position_id, List<Stage> stages) {}
+
+    public record Stage(
+            String stage,
+            long left,
+            Map<String, Long> transitions,
+            Map<String, Double> conversion,
+            Double median_hours_in_stage
+    ) {}
+}
@@ -0,0 +1,19 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.time.Instant;
+
+/**
+ * Row of a ranked export: a candidate list item with its position and rank (1 = best score).
+ */
+public record RankedCandidateItem(
+        Long position_id,
+        long rank,
+        Long candidate_id,
+        String full_name,
+        String email,
+        String phone,
+        String status,
+        Integer years_of_experience,
+        Instant upload_date,
+        int score
+) {}
@@ -0,0 +1,18 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ReextractionJobResponse(
+        String state,
+        long total,
+        long processed,
+        long updated,
+        long failed,
+        List<Long> failed_document_ids,
+        long last_document_id,
+        Instant started_at,
+        Instant finished_at,
+        double documents_per_second,
+        String error
+) {}
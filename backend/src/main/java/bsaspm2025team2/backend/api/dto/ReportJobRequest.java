@@ -0,0 +1,12 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+public record ReportJobRequest(
+        List<Long> position_ids,
+        String format,
+        String q,
+        String status,
+        Integer min_years,
+        Integer min_score
+) {}
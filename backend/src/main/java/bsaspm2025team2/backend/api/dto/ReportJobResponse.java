@@ -0,0 +1,17 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ReportJobResponse(
+        String job_id,
+        String state,
+        List<Long> position_ids,
+        String format,
+        Instant created_at,
+        Instant started_at,
+        Instant finished_at,
+        long rows,
+        String error,
+        String download_url
+) {}
@@ -0,0 +1,14 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+/**
+ * Candidates per score bucket: [min_score, max_score], 10 points wide, the last one 90-100.
+ */
+public record ScoreHistogramResponse(
+        Long position_id,
+        long total,
+        List<Bucket> buckets
+) {
+    public record Bucket(int min_score, int max_score, long candidates) {}
+}
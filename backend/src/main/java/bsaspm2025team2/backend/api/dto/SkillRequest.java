@@ -0,0 +1,8 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+public record SkillRequest(
+        String name,
+        List<String> aliases
+) {}
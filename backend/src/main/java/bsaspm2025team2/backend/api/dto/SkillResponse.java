@@ -0,0 +1,9 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.util.List;
+
+public record SkillResponse(
+        Long id,
+        String name,
+        List<String> aliases
+) {}
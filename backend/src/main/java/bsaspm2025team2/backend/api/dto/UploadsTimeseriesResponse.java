@@ -0,0 +1,17 @@
+package bsaspm2025team2.backend.api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One point per day or week (ISO, starting Monday) of [from, to], days without uploads included as 0.
+ */
+public record UploadsTimeseriesResponse(
+        String granularity,
+        LocalDate from,
+        LocalDate to,
+        long total_uploads,
+        List<Point> points
+) {
+    public record Point(LocalDate period_start, long uploads, long bytes) {}
+}
@@ -0,0 +1,51 @@
+package bsaspm2025team2.backend.config;
+
+import bsaspm2025team2.backend.metrics.HibernateRequestStatsInterceptor;
+import bsaspm2025team2.backend.metrics.RequestMetricsFilter;
+import bsaspm2025team2.backend.metrics.StatementCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateRequestStats() {
+        HibernateRequestStatsInterceptor interceptor = new HibernateRequestStatsInterceptor();
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+    }
+
+    // the application DataSource only (Spring Boot's, or the routing one with a replica): the pools behind it
+    // and the replica lag checks are not request work
+    @Bean
+    public static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                        ? new StatementCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(
+            MeterRegistry registry,
+            @Value("${app.metrics.slow-request-threshold:500ms}") Duration slowThreshold
+    ) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(registry, slowThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,52 @@
+package bsaspm2025team2.backend.config;
+
+import bsaspm2025team2.backend.extraction.PdfParsingExecutor;
+import bsaspm2025team2.backend.extraction.PdfTextExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Parser pools: one for uploads (app.extraction.*), one for re-extraction (app.reextraction.*),
+ * each with its own threads, queue and circuit breaker.
+ */
+@Configuration
+public class PdfParsingConfig {
+
+    @Bean
+    @Primary
+    public PdfParsingExecutor pdfParsingExecutor(
+            PdfTextExtractor pdfTextExtractor,
+            MeterRegistry registry,
+            @Value("${app.extraction.pool.threads:2}") int threads,
+            @Value("${app.extraction.pool.queue-capacity:16}") int queueCapacity,
+            @Value("${app.extraction.pool.timeout:20s}") Duration timeout,
+            @Value("${app.extraction.circuit.window-size:20}") int windowSize,
+            @Value("${app.extraction.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${app.extraction.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${app.extraction.circuit.open-duration:30s}") Duration openDuration
+    ) {
+        return new PdfParsingExecutor("uploads", pdfTextExtractor, registry, threads, queueCapacity, timeout,
+                windowSize, minimumCalls, failureRateThreshold, openDuration);
+    }
+
+    @Bean
+    public PdfParsingExecutor reextractionPdfParsingExecutor(
+            PdfTextExtractor pdfTextExtractor,
+            MeterRegistry registry,
+            @Value("${app.reextraction.pool.threads:2}") int threads,
+            @Value("${app.reextraction.pool.queue-capacity:16}") int queueCapacity,
+            @Value("${app.reextraction.pool.timeout:20s}") Duration timeout,
+            @Value("${app.reextraction.circuit.window-size:20}") int windowSize,
+            @Value("${app.reextraction.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${app.reextraction.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${app.reextraction.circuit.open-duration:30s}") Duration openDuration
+    ) {
+        return new PdfParsingExecutor("reextraction", pdfTextExtractor, registry, threads, queueCapacity, timeout,
+                windowSize, minimumCalls, failureRateThreshold, openDuration);
+    }
+}
@@ -0,0 +1,68 @@
+package bsaspm2025team2.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends a connection request to the replica when
+ * - the current transaction is read-only (@Transactional(readOnly = true) or a read-only TransactionTemplate),
+ * - the request handler allows it (@ReplicaReads, see ReplicaRouting), and
+ * - the replica is reachable and not lagging (ReplicaLagMonitor);
+ * everything else, and any replica connection failure, goes to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before the read-only flag is bound to the thread, the proxy defers that until the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+    private final Counter replicaConnections;
+    private final Counter fallbacks;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                        MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.replicaConnections = Counter.builder("datasource.replica.connections")
+                .description("Connections handed out from the read replica")
+                .register(registry);
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Replica-eligible connections served by the primary (replica lagging or down)")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!replicaEligible()) return primary.getConnection();
+
+        if (monitor.isAvailable()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException ex) {
+                monitor.markUnavailable(ex);
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private static boolean replicaEligible() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && ReplicaRouting.isAllowed();
+    }
+}
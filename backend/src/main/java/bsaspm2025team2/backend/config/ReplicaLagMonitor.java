@@ -0,0 +1,84 @@
+package bsaspm2025team2.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the replica every `interval` with `lagQuery` (seconds behind the primary).
+ * The replica is used only while the last check succeeded with a lag <= maxLag; a failed connection
+ * (markUnavailable) takes it out until the next successful check.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-lag-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration interval, MeterRegistry registry) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(5);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagSeconds)
+                .description("Replica lag behind the primary at the last check")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("datasource.replica.available", this, m -> m.available ? 1 : 0)
+                .description("1 while read-only work is routed to the replica")
+                .register(registry);
+
+        check();
+        long millis = Math.max(100, interval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::check, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void markUnavailable(Exception cause) {
+        if (available) log.warn("Read replica unavailable, reading from the primary: {}", cause.getMessage());
+        available = false;
+    }
+
+    void check() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            boolean ok = lagSeconds <= maxLagSeconds;
+            if (ok != available) {
+                log.info("Read replica {} (lag {}s, max {}s)", ok ? "in use" : "lagging, reading from the primary",
+                        lagSeconds, maxLagSeconds);
+            }
+            available = ok;
+        } catch (Exception ex) {
+            lagSeconds = Double.NaN;
+            markUnavailable(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
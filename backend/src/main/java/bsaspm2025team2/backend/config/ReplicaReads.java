@@ -0,0 +1,17 @@
+package bsaspm2025team2.backend.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller (or handler method) whose read-only transactions may run on the read replica
+ * (see ReadReplicaRoutingDataSource). Read-after-write flows must not use it: the replica may lag.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ReplicaReads {
+}
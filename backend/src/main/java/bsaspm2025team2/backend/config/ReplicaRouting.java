@@ -0,0 +1,72 @@
+package bsaspm2025team2.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread "replica allowed" flag, set for the request thread of @ReplicaReads handlers.
+ * Work handed to other threads (async exports, background jobs) stays on the primary.
+ */
+@Component
+public class ReplicaRouting implements WebMvcConfigurer {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    public static boolean isAllowed() {
+        return Boolean.TRUE.equals(ALLOWED.get());
+    }
+
+    /**
+     * Runs `work` with the replica disallowed on this thread, e.g. a read that must see a write just committed.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = ALLOWED.get();
+        ALLOWED.remove();
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) ALLOWED.set(previous);
+        }
+    }
+
+    static void allow() {
+        ALLOWED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        ALLOWED.remove();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod method
+                        && (AnnotatedElementUtils.hasAnnotation(method.getMethod(), ReplicaReads.class)
+                        || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), ReplicaReads.class))) {
+                    allow();
+                }
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                clear();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                clear();
+            }
+        });
+    }
+}
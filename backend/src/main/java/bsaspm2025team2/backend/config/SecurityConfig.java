@@ -23,6 +23,8 @@ public class SecurityConfig {
 
         http.authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/health").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("MANAGER")
                 .requestMatchers("/api/manager/**").hasRole("MANAGER")
                 .requestMatchers("/api/hr/**").hasAnyRole("HR", "MANAGER")
                 .requestMatchers("/api/positions/**").hasAnyRole("HR", "MANAGER")
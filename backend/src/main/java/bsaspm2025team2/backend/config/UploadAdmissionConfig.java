@@ -0,0 +1,36 @@
+package bsaspm2025team2.backend.config;
+
+import bsaspm2025team2.backend.api.UploadAdmissionFilter;
+import bsaspm2025team2.backend.util.AdmissionLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+public class UploadAdmissionConfig {
+
+    // registered after the security filters, so unauthenticated requests never take a permit
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${app.uploads.admission.max-concurrent:4}") int maxConcurrent,
+            @Value("${app.uploads.admission.max-in-flight-bytes:64MB}") DataSize maxInFlightBytes,
+            @Value("${app.uploads.admission.max-waiting:50}") int maxWaiting,
+            @Value("${app.uploads.admission.max-wait:10s}") Duration maxWait,
+            @Value("${app.uploads.admission.retry-after:5s}") Duration retryAfter,
+            @Value("${spring.servlet.multipart.max-file-size:10MB}") DataSize maxFileSize
+    ) {
+        AdmissionLimiter limiter = new AdmissionLimiter(maxConcurrent, maxInFlightBytes.toBytes(), maxWaiting);
+        FilterRegistrationBean<UploadAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new UploadAdmissionFilter(limiter, maxFileSize.toBytes(), maxWait, retryAfter, objectMapper, registry));
+        registration.addUrlPatterns("/api/hr/candidates/upload-resume", "/api/hr/candidates/uploads/*");
+        return registration;
+    }
+}
@@ -2,6 +2,7 @@ package bsaspm2025team2.backend.domain;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "candidates")
@@ -36,6 +37,10 @@ public class Candidate {
     @Column(name = "is_draft", nullable = false)
     private boolean draft = true;
 
+    // set on every insert/update; drives GET /api/hr/candidates/changes
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     protected Candidate() {}
 
     public Candidate(CandidateStatus status, Instant uploadDate) {
@@ -54,6 +59,7 @@ public class Candidate {
     public String getSkills() { return skills; }
     public Integer getYearsOfExperience() { return yearsOfExperience; }
     public boolean isDraft() { return draft; }
+    public Instant getUpdatedAt() { return updatedAt; }
 
     public void setStatus(CandidateStatus status) { this.status = status; }
     public void setFullName(String fullName) { this.fullName = fullName; }
@@ -62,4 +68,15 @@ public class Candidate {
     public void setSkills(String skills) { this.skills = skills; }
     public void setYearsOfExperience(Integer yearsOfExperience) { this.yearsOfExperience = yearsOfExperience; }
     public void setDraft(boolean draft) { this.draft = draft; }
+
+    /**
+     * Also called by writers whose transaction outlives the insert (upload: the parse runs in between),
+     * so the row is flushed again and stamped at commit time even when no field changed.
+     */
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        // the column keeps microseconds - same value in memory as in the DB (sync cursors compare it)
+        this.updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -0,0 +1,49 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One skill of a candidate (table candidate_skills). Written and queried with plain SQL
+ * by CandidateSkillRepository; mapped so the schema also exists where Hibernate generates it.
+ */
+@Entity
+@Table(name = "candidate_skills", indexes = @Index(name = "idx_candidate_skills_skill_id", columnList = "skill_id, candidate_id"))
+@IdClass(CandidateSkill.Key.class)
+public class CandidateSkill {
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Id
+    @Column(name = "skill_id")
+    private Long skillId;
+
+    protected CandidateSkill() { }
+
+    public CandidateSkill(Long candidateId, Long skillId) {
+        this.candidateId = candidateId;
+        this.skillId = skillId;
+    }
+
+    public Long getCandidateId() { return candidateId; }
+    public Long getSkillId() { return skillId; }
+
+    public static class Key implements Serializable {
+        private Long candidateId;
+        private Long skillId;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(candidateId, k.candidateId) && Objects.equals(skillId, k.skillId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(candidateId, skillId);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One status change of a candidate (table candidate_status_events, V12). Written with plain SQL
+ * by CandidateFunnelRepository; mapped so the schema also exists where Hibernate generates it.
+ */
+@Entity
+@Table(name = "candidate_status_events", indexes = @Index(name = "idx_candidate_status_events_candidate", columnList = "candidate_id, occurred_at"))
+public class CandidateStatusEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "position_id")
+    private Long positionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false, length = 32)
+    private CandidateStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 32)
+    private CandidateStatus toStatus;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "time_in_stage_ms", nullable = false)
+    private long timeInStageMs;
+
+    protected CandidateStatusEvent() { }
+
+    public Long getId() { return id; }
+    public Long getCandidateId() { return candidateId; }
+    public Long getPositionId() { return positionId; }
+    public CandidateStatus getFromStatus() { return fromStatus; }
+    public CandidateStatus getToStatus() { return toStatus; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public long getTimeInStageMs() { return timeInStageMs; }
+}
@@ -0,0 +1,31 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A deleted candidate, kept so delta-sync clients learn about the deletion.
+ * Written by the trigger on candidates (V10/V16) with deletedAt null; CandidateSyncService stamps it
+ * with the application clock, the clock of candidates.updated_at.
+ */
+@Entity
+@Table(name = "candidate_tombstones", indexes = @Index(name = "idx_candidate_tombstones_deleted_at", columnList = "deleted_at, candidate_id"))
+public class CandidateTombstone {
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    protected CandidateTombstone() { }
+
+    public CandidateTombstone(Long candidateId, Instant deletedAt) {
+        this.candidateId = candidateId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getCandidateId() { return candidateId; }
+    public Instant getDeletedAt() { return deletedAt; }
+}
@@ -0,0 +1,44 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Extracted PDF text of a document, stored gzip-compressed (see DocumentTextStore).
+ */
+@Entity
+@Table(name = "document_texts")
+public class DocumentText {
+
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "content", nullable = false, length = 16 * 1024 * 1024)
+    private byte[] content;
+
+    @Column(name = "char_length", nullable = false)
+    private int charLength;
+
+    @Column(name = "extraction_limit", nullable = false, length = 16)
+    private String extractionLimit;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected DocumentText() { }
+
+    public DocumentText(Long documentId, byte[] content, int charLength, String extractionLimit, Instant createdAt) {
+        this.documentId = documentId;
+        this.content = content;
+        this.charLength = charLength;
+        this.extractionLimit = extractionLimit;
+        this.createdAt = createdAt;
+    }
+
+    public Long getDocumentId() { return documentId; }
+    public byte[] getContent() { return content; }
+    public int getCharLength() { return charLength; }
+    public String getExtractionLimit() { return extractionLimit; }
+    public Instant getCreatedAt() { return createdAt; }
+}
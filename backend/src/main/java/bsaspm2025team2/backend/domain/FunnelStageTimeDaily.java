@@ -0,0 +1,62 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Time-in-stage histogram per day, position and stage left (table funnel_stage_time_daily, V12).
+ * Maintained with plain SQL by CandidateFunnelRepository; mapped for the generated schema.
+ */
+@Entity
+@Table(name = "funnel_stage_time_daily")
+@IdClass(FunnelStageTimeDaily.Key.class)
+public class FunnelStageTimeDaily {
+
+    @Id
+    @Column(name = "event_date")
+    private LocalDate eventDate;
+
+    @Id
+    @Column(name = "position_id")
+    private Long positionId;
+
+    @Id
+    @Column(name = "stage", length = 32)
+    private String stage;
+
+    @Id
+    @Column(name = "bucket")
+    private Integer bucket;
+
+    @Column(name = "candidates", nullable = false)
+    private long candidates;
+
+    protected FunnelStageTimeDaily() { }
+
+    public LocalDate getEventDate() { return eventDate; }
+    public Long getPositionId() { return positionId; }
+    public String getStage() { return stage; }
+    public Integer getBucket() { return bucket; }
+    public long getCandidates() { return candidates; }
+
+    public static class Key implements Serializable {
+        private LocalDate eventDate;
+        private Long positionId;
+        private String stage;
+        private Integer bucket;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(eventDate, k.eventDate) && Objects.equals(positionId, k.positionId)
+                    && Objects.equals(stage, k.stage) && Objects.equals(bucket, k.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventDate, positionId, stage, bucket);
+        }
+    }
+}
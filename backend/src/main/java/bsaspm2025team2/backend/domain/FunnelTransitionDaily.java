@@ -0,0 +1,62 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Status changes per day, position and transition (table funnel_transitions_daily, V12).
+ * Maintained with plain SQL by CandidateFunnelRepository; mapped for the generated schema.
+ */
+@Entity
+@Table(name = "funnel_transitions_daily")
+@IdClass(FunnelTransitionDaily.Key.class)
+public class FunnelTransitionDaily {
+
+    @Id
+    @Column(name = "event_date")
+    private LocalDate eventDate;
+
+    @Id
+    @Column(name = "position_id")
+    private Long positionId;
+
+    @Id
+    @Column(name = "from_status", length = 32)
+    private String fromStatus;
+
+    @Id
+    @Column(name = "to_status", length = 32)
+    private String toStatus;
+
+    @Column(name = "transitions", nullable = false)
+    private long transitions;
+
+    protected FunnelTransitionDaily() { }
+
+    public LocalDate getEventDate() { return eventDate; }
+    public Long getPositionId() { return positionId; }
+    public String getFromStatus() { return fromStatus; }
+    public String getToStatus() { return toStatus; }
+    public long getTransitions() { return transitions; }
+
+    public static class Key implements Serializable {
+        private LocalDate eventDate;
+        private Long positionId;
+        private String fromStatus;
+        private String toStatus;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(eventDate, k.eventDate) && Objects.equals(positionId, k.positionId)
+                    && Objects.equals(fromStatus, k.fromStatus) && Objects.equals(toStatus, k.toStatus);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventDate, positionId, fromStatus, toStatus);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected JobCheckpoint() { }
+
+    public JobCheckpoint(String jobName, long lastId) {
+        this.jobName = jobName;
+        this.lastId = lastId;
+        this.updatedAt = Instant.now();
+    }
+
+    public String getJobName() { return jobName; }
+    public long getLastId() { return lastId; }
+    public Instant getUpdatedAt() { return updatedAt; }
+
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,69 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A document a background job failed on (table job_failures), kept until a later run processes it.
+ */
+@Entity
+@Table(name = "job_failures")
+@IdClass(JobFailure.Key.class)
+public class JobFailure {
+
+    // error is VARCHAR(500)
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "error", length = MAX_ERROR_LENGTH)
+    private String error;
+
+    @Column(name = "failed_at", nullable = false)
+    private Instant failedAt;
+
+    protected JobFailure() { }
+
+    public JobFailure(String jobName, Long documentId, String error) {
+        this.jobName = jobName;
+        this.documentId = documentId;
+        this.error = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        this.failedAt = Instant.now();
+    }
+
+    public String getJobName() { return jobName; }
+    public Long getDocumentId() { return documentId; }
+    public String getError() { return error; }
+    public Instant getFailedAt() { return failedAt; }
+
+    public static class Key implements Serializable {
+        private String jobName;
+        private Long documentId;
+
+        protected Key() { }
+
+        public Key(String jobName, Long documentId) {
+            this.jobName = jobName;
+            this.documentId = documentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(jobName, k.jobName) && Objects.equals(documentId, k.documentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(jobName, documentId);
+        }
+    }
+}
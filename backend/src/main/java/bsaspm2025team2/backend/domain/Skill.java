@@ -0,0 +1,43 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "skills")
+public class Skill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // comma-separated
+    @Column(name = "aliases", columnDefinition = "TEXT")
+    private String aliases;
+
+    // false = plain token from candidate skills, registered for candidate_skills (not part of the dictionary)
+    @Column(nullable = false)
+    private boolean curated = true;
+
+    protected Skill() {
+        // JPA
+    }
+
+    public Skill(String name, String aliases) {
+        this.name = name;
+        this.aliases = aliases;
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getAliases() { return aliases; }
+    public void setAliases(String aliases) { this.aliases = aliases; }
+
+    public boolean isCurated() { return curated; }
+    public void setCurated(boolean curated) { this.curated = curated; }
+}
@@ -0,0 +1,29 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Uploads per day (table upload_counts_daily, V13). Maintained with plain SQL by UploadRollupRepository;
+ * mapped so the schema also exists where Hibernate generates it.
+ */
+@Entity
+@Table(name = "upload_counts_daily")
+public class UploadCountDaily {
+
+    @Id
+    @Column(name = "upload_day")
+    private LocalDate uploadDay;
+
+    @Column(name = "uploads", nullable = false)
+    private long uploads;
+
+    @Column(name = "bytes", nullable = false)
+    private long bytes;
+
+    protected UploadCountDaily() { }
+
+    public LocalDate getUploadDay() { return uploadDay; }
+    public long getUploads() { return uploads; }
+    public long getBytes() { return bytes; }
+}
@@ -0,0 +1,41 @@
+package bsaspm2025team2.backend.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Idempotency-Key of a resume upload (table upload_idempotency_keys, V14/V17). Written with plain SQL
+ * by UploadIdempotencyRepository; mapped so the schema also exists where Hibernate generates it.
+ */
+@Entity
+@Table(name = "upload_idempotency_keys", indexes = @Index(name = "idx_upload_idempotency_keys_created_at", columnList = "created_at"))
+public class UploadIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "state", nullable = false, length = 16)
+    private String state;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    protected UploadIdempotencyKey() { }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getFingerprint() { return fingerprint; }
+    public Long getCandidateId() { return candidateId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public String getState() { return state; }
+    public String getClaimToken() { return claimToken; }
+}
@@ -1,10 +1,12 @@
 package bsaspm2025team2.backend.extraction;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class CandidateFieldExtractionService {
@@ -21,12 +23,17 @@ public class CandidateFieldExtractionService {
     private static final Pattern YEARS =
             Pattern.compile("(?i)\\b(\\d{1,2})\\s*(\\+)?\\s*(years?|yrs?)\\b");
 
-    // skill library (MVP)
-    private static final List<String> SKILL_KEYWORDS = List.of(
-            "java", "spring", "spring boot", "hibernate", "jpa",
-            "postgresql", "sql", "docker", "kubernetes",
-            "git", "maven", "rest", "microservices", "flyway"
-    );
+    private final SkillDictionary skillDictionary;
+
+    @Autowired
+    public CandidateFieldExtractionService(SkillDictionary skillDictionary) {
+        this.skillDictionary = skillDictionary;
+    }
+
+    // built-in skills only
+    public CandidateFieldExtractionService() {
+        this(SkillDictionary.builtIn());
+    }
 
     public ExtractedCandidateFields extract(String text) {
         if (text == null || text.isBlank()) {
@@ -36,8 +43,9 @@ public class CandidateFieldExtractionService {
         String email = firstMatch(text, EMAIL);
         String phone = normalizePhone(firstMatch(text, PHONE));
         Integer years = extractYears(text);
-        String fullName = extractFullName(text, email);
-        String skills = extractSkills(text);
+        HeadLines head = scanHead(text);
+        String fullName = head.fullName() != null ? head.fullName() : fullNameBeforeEmail(text, email);
+        String skills = extractSkills(text, head.bullets());
 
         return new ExtractedCandidateFields(fullName, email, phone, skills, years);
     }
@@ -73,92 +81,73 @@ public class CandidateFieldExtractionService {
         return normalized;
     }
 
-    private String extractFullName(String text, String email) {
+    // first name-like line (first 10 lines) and bullet lines (first 50 lines)
+    private record HeadLines(String fullName, List<String> bullets) {}
+
+    /**
+     * One pass over the first 50 lines: full name candidate + bullet lines for the skills fallback.
+     */
+    private HeadLines scanHead(String text) {
         // MVP-rule:
         // 1) first 10 lines
         // 2) locating line similar to "First Last" (2-4 words, no digits, without @)
-        List<String> lines = firstLines(text, 10);
-
-        for (String line : lines) {
-            String trimmed = line.trim();
-            if (trimmed.isBlank()) continue;
-            if (trimmed.contains("@")) continue;
-            if (trimmed.matches(".*\\d.*")) continue;
-
-            String[] parts = trimmed.split("\\s+");
-            if (parts.length >= 2 && parts.length <= 4) {
-                // leaving out long headers
-                if (trimmed.length() <= 50) {
-                    return trimmed;
-                }
+        String fullName = null;
+        List<String> bullets = new ArrayList<>();
+
+        LineScanner lines = new LineScanner(text);
+        for (int i = 0; i < 50 && lines.next(); i++) {
+            String trimmed = lines.line().trim();
+            if (fullName == null && i < 10 && isNameLike(trimmed)) {
+                fullName = trimmed;
+            }
+            if (trimmed.startsWith("-") || trimmed.startsWith("•")) {
+                bullets.add(trimmed);
             }
         }
+        return new HeadLines(fullName, bullets);
+    }
 
-        // fallback: if email not found we try line before
-        if (email != null) {
-            int idx = text.indexOf(email);
-            if (idx > 0) {
-                String before = text.substring(0, idx);
-                List<String> prevLines = lastLines(before, 3);
-                for (int i = prevLines.size() - 1; i >= 0; i--) {
-                    String l = prevLines.get(i).trim();
-                    if (!l.isBlank() && !l.contains("@") && !l.matches(".*\\d.*")) {
-                        String[] parts = l.split("\\s+");
-                        if (parts.length >= 2 && parts.length <= 4 && l.length() <= 50) {
-                            return l;
-                        }
-                    }
-                }
+    // fallback: if email found we try lines before it
+    private String fullNameBeforeEmail(String text, String email) {
+        if (email == null) return null;
+
+        int idx = text.indexOf(email);
+        if (idx <= 0) return null;
+
+        List<String> prevLines = LineScanner.lastLines(text, idx, 3);
+        for (int i = prevLines.size() - 1; i >= 0; i--) {
+            String l = prevLines.get(i).trim();
+            if (isNameLike(l)) {
+                return l;
             }
         }
-
         return null;
     }
 
-    private String extractSkills(String text) {
-        String lower = text.toLowerCase(Locale.ROOT);
+    // non-blank, no '@', no digits, 2-4 words, not a long header
+    private boolean isNameLike(String trimmed) {
+        if (trimmed.isBlank()) return false;
+        if (trimmed.indexOf('@') >= 0) return false;
+        if (LineScanner.hasDigit(trimmed)) return false;
 
-        // 1) keyword strategy
-        Set<String> found = new LinkedHashSet<>();
-        for (String kw : SKILL_KEYWORDS) {
-            if (lower.contains(kw)) {
-                found.add(kw);
-            }
-        }
+        int words = LineScanner.wordCount(trimmed);
+        return words >= 2 && words <= 4 && trimmed.length() <= 50;
+    }
+
+    private String extractSkills(String text, List<String> bullets) {
+        // 1) dictionary strategy (names + aliases, canonical names in dictionary order)
+        List<SkillMatcher.Entry> found = skillDictionary.current().find(text);
 
         // 2) return plain text
         if (!found.isEmpty()) {
-            return String.join(", ", found);
-        }
-
-        // 3) fallback: bullet lines (first 20 lines with '-' or '•')
-        List<String> lines = firstLines(text, 50);
-        List<String> bullets = new ArrayList<>();
-        for (String line : lines) {
-            String t = line.trim();
-            if (t.startsWith("-") || t.startsWith("•")) {
-                bullets.add(t);
-            }
+            return found.stream().map(SkillMatcher.Entry::name).collect(Collectors.joining(", "));
         }
 
+        // 3) fallback: bullet lines (first 50 lines with '-' or '•')
         if (!bullets.isEmpty()) {
             return String.join("\n", bullets);
         }
 
         return null;
     }
-
-    private List<String> firstLines(String text, int n) {
-        String[] arr = text.split("\\R");
-        List<String> out = new ArrayList<>();
-        for (int i = 0; i < arr.length && i < n; i++) out.add(arr[i]);
-        return out;
-    }
-
-    private List<String> lastLines(String text, int n) {
-        String[] arr = text.split("\\R");
-        List<String> out = new ArrayList<>();
-        for (int i = Math.max(0, arr.length - n); i < arr.length; i++) out.add(arr[i]);
-        return out;
-    }
 }
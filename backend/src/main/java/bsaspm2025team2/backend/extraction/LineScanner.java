@@ -0,0 +1,125 @@
+package bsaspm2025team2.backend.extraction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cursor over the lines of a text, without splitting it into an array.
+ *
+ * Line breaks are the ones of regex \R: "\r\n" or one of \n \u000B \f \r \u0085 \u2028 \u2029,
+ * so the lines are the same as text.split("\\R") (trailing empty lines are never produced).
+ */
+final class LineScanner {
+
+    private final String text;
+    private final int limit;
+    private int pos;
+    private int start = -1;
+    private int end = -1;
+
+    LineScanner(String text) {
+        this(text, text.length());
+    }
+
+    LineScanner(String text, int limit) {
+        this.text = text;
+        this.limit = limit;
+    }
+
+    /**
+     * Moves to the next line; false when only empty lines (or nothing) are left.
+     */
+    boolean next() {
+        if (pos >= limit || onlyBreaksFrom(pos)) return false;
+
+        start = pos;
+        int i = pos;
+        while (i < limit && !isBreak(text.charAt(i))) i++;
+        end = i;
+        pos = i < limit ? skipBreak(i) : limit;
+        return true;
+    }
+
+    String line() {
+        return text.substring(start, end);
+    }
+
+    /**
+     * Last n lines of text[0, limit), in text order - same as the tail of text.substring(0, limit).split("\\R").
+     */
+    static List<String> lastLines(String text, int limit, int n) {
+        List<String> reversed = new ArrayList<>(n);
+
+        // trailing empty lines are dropped by split
+        int e = limit;
+        while (e > 0 && isBreak(text.charAt(e - 1))) e = breakStartBefore(text, e);
+
+        if (e == 0) return reversed;
+
+        while (reversed.size() < n) {
+            int s = e;
+            while (s > 0 && !isBreak(text.charAt(s - 1))) s--;
+            reversed.add(text.substring(s, e));
+            if (s == 0) break;
+            e = breakStartBefore(text, s);
+        }
+
+        List<String> out = new ArrayList<>(reversed.size());
+        for (int i = reversed.size() - 1; i >= 0; i--) out.add(reversed.get(i));
+        return out;
+    }
+
+    /**
+     * Same as line.matches(".*\\d.*") for a single line: true if it contains an ASCII digit.
+     */
+    static boolean hasDigit(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') return true;
+        }
+        return false;
+    }
+
+    /**
+     * Same as s.split("\\s+").length for a trimmed, non-empty string.
+     */
+    static int wordCount(String s) {
+        int words = 1;
+        boolean inSpace = false;
+        for (int i = 0; i < s.length(); i++) {
+            boolean space = isRegexSpace(s.charAt(i));
+            if (space && !inSpace) words++;
+            inSpace = space;
+        }
+        return words;
+    }
+
+    private boolean onlyBreaksFrom(int i) {
+        while (i < limit) {
+            if (!isBreak(text.charAt(i))) return false;
+            i++;
+        }
+        return true;
+    }
+
+    private int skipBreak(int i) {
+        if (text.charAt(i) == '\r' && i + 1 < limit && text.charAt(i + 1) == '\n') return i + 2;
+        return i + 1;
+    }
+
+    // start index of the line break that ends right before position e
+    private static int breakStartBefore(String text, int e) {
+        if (text.charAt(e - 1) == '\n' && e >= 2 && text.charAt(e - 2) == '\r') return e - 2;
+        return e - 1;
+    }
+
+    private static boolean isBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\f'
+                || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // regex \s (ASCII): [ \t\n\x0B\f\r]
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,21 @@
+package bsaspm2025team2.backend.extraction;
+
+/**
+ * Text extracted from a PDF.
+ *
+ * @param pageCount total pages in the document
+ * @param pagesRead pages actually processed (may be fewer in bounded mode)
+ * @param limit     which limit stopped extraction early, NONE if the text is complete
+ */
+public record PdfExtractionResult(
+        String text,
+        int pageCount,
+        int pagesRead,
+        Limit limit
+) {
+    public enum Limit { NONE, PAGES, TEXT, TIME }
+
+    public boolean truncated() {
+        return limit != Limit.NONE;
+    }
+}
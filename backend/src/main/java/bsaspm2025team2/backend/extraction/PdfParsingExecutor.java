@@ -0,0 +1,166 @@
+package bsaspm2025team2.backend.extraction;
+
+import bsaspm2025team2.backend.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs PDF text extraction on a dedicated, bounded worker pool so a pathological
+ * document cannot hold a request thread for minutes.
+ *
+ * - fixed number of parser threads, bounded queue; a full queue rejects right away
+ * - hard per-document timeout; on timeout the task is cancelled (worker interrupted)
+ * - circuit breaker over parse failures/timeouts; while open, new work is rejected
+ *
+ * One instance per workload, see PdfParsingConfig: uploads and the bulk re-extraction job have their own
+ * threads, queue and breaker, so a run over an archive of bad PDFs cannot reject live uploads.
+ *
+ * Metrics (all tagged pool = the instance's name):
+ * pdf.parsing.queue.depth / pdf.parsing.active   pool gauges
+ * pdf.parsing.rejected                           tag reason (queue_full, circuit_open)
+ * pdf.parsing.timeouts                           cancelled after the timeout
+ * pdf.parsing.circuit.state                      0 closed, 1 open, 2 half-open
+ */
+public class PdfParsingExecutor {
+
+    private final PdfTextExtractor pdfTextExtractor;
+    private final ThreadPoolExecutor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Counter timeouts;
+
+    /**
+     * @param name pool name, used for the thread names and the metrics' pool tag
+     */
+    public PdfParsingExecutor(
+            String name,
+            PdfTextExtractor pdfTextExtractor,
+            MeterRegistry registry,
+            int threads,
+            int queueCapacity,
+            Duration timeout,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration openDuration
+    ) {
+        this.pdfTextExtractor = pdfTextExtractor;
+        this.timeout = timeout;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration);
+
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "pdf-parser-" + name + "-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.registry = registry;
+        this.tags = Tags.of("pool", name);
+        this.timeouts = Counter.builder("pdf.parsing.timeouts")
+                .description("PDF extractions cancelled after the per-document timeout")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("pdf.parsing.queue.depth", executor, e -> e.getQueue().size())
+                .description("PDF extractions waiting for a parser thread")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("pdf.parsing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Parser threads currently extracting a PDF")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("pdf.parsing.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("PDF parsing circuit breaker: 0 closed, 1 open, 2 half-open")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * Extracts on a parser thread and waits at most the configured timeout.
+     *
+     * @throws PdfParsingRejectedException queue full or circuit open (nothing was parsed)
+     * @throws PdfParsingTimeoutException  parsing took too long and was cancelled
+     */
+    public PdfExtractionResult extract(Path pdfPath) throws IOException {
+        if (!circuitBreaker.tryAcquire()) {
+            throw reject(PdfParsingRejectedException.Reason.CIRCUIT_OPEN);
+        }
+
+        Future<PdfExtractionResult> future;
+        try {
+            future = executor.submit(() -> pdfTextExtractor.extract(pdfPath));
+        } catch (RejectedExecutionException e) {
+            // not the document's fault - does not count against the breaker
+            circuitBreaker.release();
+            throw reject(PdfParsingRejectedException.Reason.QUEUE_FULL);
+        }
+
+        try {
+            PdfExtractionResult result = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            circuitBreaker.onFailure();
+            throw new PdfParsingTimeoutException(timeout.toMillis());
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IOException("PDF parsing failed", cause);
+        } catch (InterruptedException e) {
+            // request thread interrupted: give up on the document, nothing to blame it for
+            future.cancel(true);
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for PDF parsing");
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PdfParsingRejectedException reject(PdfParsingRejectedException.Reason reason) {
+        Counter.builder("pdf.parsing.rejected")
+                .description("PDF extractions rejected without parsing")
+                .tags(tags)
+                .tag("reason", reason.name().toLowerCase())
+                .register(registry)
+                .increment();
+        return new PdfParsingRejectedException(reason);
+    }
+}
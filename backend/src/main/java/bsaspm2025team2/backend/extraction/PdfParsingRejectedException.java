@@ -0,0 +1,22 @@
+package bsaspm2025team2.backend.extraction;
+
+import java.io.IOException;
+
+/**
+ * Parsing was not attempted: the worker queue is full or the circuit breaker is open.
+ */
+public class PdfParsingRejectedException extends IOException {
+
+    public enum Reason { QUEUE_FULL, CIRCUIT_OPEN }
+
+    private final Reason reason;
+
+    public PdfParsingRejectedException(Reason reason) {
+        super("PDF parsing rejected: " + reason);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,13 @@
+package bsaspm2025team2.backend.extraction;
+
+import java.io.IOException;
+
+/**
+ * Parsing did not finish within the per-document timeout and was cancelled.
+ */
+public class PdfParsingTimeoutException extends IOException {
+
+    public PdfParsingTimeoutException(long timeoutMillis) {
+        super("PDF parsing timed out after " + timeoutMillis + " ms");
+    }
+}
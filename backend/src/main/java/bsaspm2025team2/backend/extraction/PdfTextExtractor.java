@@ -1,24 +1,192 @@
 package bsaspm2025team2.backend.extraction;
 
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
+/**
+ * PDF -> text.
+ *
+ * Mode BOUNDED (default) keeps the cost of a single extraction predictable:
+ * - PDFBox buffers at most max-main-memory on heap, the rest goes to a temp file
+ * - only the first max-pages pages are read (contacts and skills live on pages 1-3)
+ * - text is streamed into a writer capped at max-text-chars
+ * - a time budget (and thread interruption) is checked between content stream operators
+ * Whatever was collected before a limit hit is returned, flagged in {@link PdfExtractionResult#limit()}.
+ *
+ * Mode FULL is the old behaviour: whole document in memory, every page.
+ */
 @Service
 public class PdfTextExtractor {
 
+    public enum Mode { BOUNDED, FULL }
+
+    private static final int OPERATORS_PER_DEADLINE_CHECK = 256;
+
+    private final Mode mode;
+    private final int maxPages;
+    private final int maxTextChars;
+    private final long maxMainMemoryBytes;
+    private final Duration timeBudget;
+
+    public PdfTextExtractor(
+            @Value("${app.extraction.mode:BOUNDED}") Mode mode,
+            @Value("${app.extraction.max-pages:5}") int maxPages,
+            @Value("${app.extraction.max-text-chars:100000}") int maxTextChars,
+            @Value("${app.extraction.max-main-memory:16MB}") DataSize maxMainMemory,
+            @Value("${app.extraction.time-budget:15s}") Duration timeBudget
+    ) {
+        this.mode = mode;
+        this.maxPages = Math.max(1, maxPages);
+        this.maxTextChars = Math.max(1, maxTextChars);
+        this.maxMainMemoryBytes = maxMainMemory.toBytes();
+        this.timeBudget = timeBudget;
+    }
+
     public String extractText(Path pdfPath) throws IOException {
+        return extract(pdfPath).text();
+    }
+
+    /**
+     * Same as {@link #extractText(Path)}, but also reports page counts and truncation (for metrics).
+     */
+    public PdfExtractionResult extract(Path pdfPath) throws IOException {
         if (!Files.exists(pdfPath)) {
             throw new IOException("PDF file not found: " + pdfPath);
         }
 
-        try (PDDocument document = PDDocument.load(pdfPath.toFile())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+        if (mode == Mode.FULL) {
+            try (PDDocument document = PDDocument.load(pdfPath.toFile())) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                int pages = document.getNumberOfPages();
+                return new PdfExtractionResult(stripper.getText(document), pages, pages, PdfExtractionResult.Limit.NONE);
+            }
+        }
+
+        try (PDDocument document = PDDocument.load(pdfPath.toFile(), MemoryUsageSetting.setupMixed(maxMainMemoryBytes))) {
+            int pageCount = document.getNumberOfPages();
+            long deadline = System.nanoTime() + timeBudget.toNanos();
+
+            BoundedTextStripper stripper = new BoundedTextStripper(deadline);
+            stripper.setEndPage(maxPages);
+            CappedWriter out = new CappedWriter(maxTextChars);
+
+            PdfExtractionResult.Limit limit = pageCount > maxPages
+                    ? PdfExtractionResult.Limit.PAGES
+                    : PdfExtractionResult.Limit.NONE;
+            try {
+                stripper.writeText(document, out);
+            } catch (LimitReachedException e) {
+                limit = e.limit;
+            }
+
+            return new PdfExtractionResult(out.toString(), pageCount, stripper.pagesRead, limit);
+        }
+    }
+
+    /**
+     * Thrown from inside PDFBox callbacks to stop extraction; an IOException so PDFBox propagates it.
+     */
+    private static class LimitReachedException extends IOException {
+        final PdfExtractionResult.Limit limit;
+
+        LimitReachedException(PdfExtractionResult.Limit limit) {
+            super("Extraction limit reached: " + limit);
+            this.limit = limit;
+        }
+    }
+
+    private static class BoundedTextStripper extends PDFTextStripper {
+        private final long deadline;
+        private int pagesRead;
+        private int operators;
+
+        BoundedTextStripper(long deadline) throws IOException {
+            this.deadline = deadline;
+        }
+
+        // only called for pages inside the start/end page range
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            checkDeadline();
+            pagesRead++;
+            super.startPage(page);
+        }
+
+        @Override
+        protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+            if (++operators % OPERATORS_PER_DEADLINE_CHECK == 0) {
+                checkDeadline();
+            }
+            super.processOperator(operator, operands);
+        }
+
+        private void checkDeadline() throws IOException {
+            // cancelled by PdfParsingExecutor (timeout): abort, no partial result
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("PDF extraction cancelled");
+            }
+            if (System.nanoTime() > deadline) {
+                throw new LimitReachedException(PdfExtractionResult.Limit.TIME);
+            }
+        }
+    }
+
+    /**
+     * Keeps at most maxChars characters, then stops the stripper.
+     */
+    private static class CappedWriter extends Writer {
+        private final StringBuilder buffer;
+        private final int maxChars;
+
+        CappedWriter(int maxChars) {
+            this.maxChars = maxChars;
+            this.buffer = new StringBuilder(Math.min(maxChars, 8192));
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int room = maxChars - buffer.length();
+            if (len > room) {
+                buffer.append(cbuf, off, room);
+                throw new LimitReachedException(PdfExtractionResult.Limit.TEXT);
+            }
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            int room = maxChars - buffer.length();
+            if (len > room) {
+                buffer.append(str, off, off + room);
+                throw new LimitReachedException(PdfExtractionResult.Limit.TEXT);
+            }
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
         }
     }
 }
@@ -0,0 +1,98 @@
+package bsaspm2025team2.backend.extraction;
+
+import bsaspm2025team2.backend.domain.Skill;
+import bsaspm2025team2.backend.repository.SkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Current skill dictionary (curated rows of table skills), compiled into a {@link SkillMatcher}.
+ *
+ * Readers take current() once per extraction/score call and keep using that snapshot;
+ * reload() compiles a new matcher and swaps the reference, so in-flight calls are never blocked.
+ * Only ids of curated rows are handed out: with no curated rows (and before the first reload) nothing matches,
+ * every token is then indexed as a non-curated skill.
+ */
+@Component
+public class SkillDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillDictionary.class);
+
+    // skill library (MVP) - same names as the rows seeded by V7__skills.sql; builtIn() only, never from the database
+    static final List<String> BUILT_IN_SKILLS = List.of(
+            "java", "spring", "spring boot", "hibernate", "jpa",
+            "postgresql", "sql", "docker", "kubernetes",
+            "git", "maven", "rest", "microservices", "flyway"
+    );
+
+    private final SkillRepository skillRepository;
+    private final AtomicReference<SkillMatcher> current;
+
+    public SkillDictionary(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+        this.current = new AtomicReference<>(skillRepository == null ? builtInMatcher() : compile(List.of()));
+    }
+
+    /**
+     * Dictionary with the built-in skills only (no database), e.g. for unit tests; its ids 1..n are not read
+     * from table skills, so it must not be used to write candidate_skills.
+     */
+    public static SkillDictionary builtIn() {
+        return of(builtInMatcher());
+    }
+
+    /**
+     * Dictionary fixed to a matcher compiled elsewhere (no database, reload() does nothing).
+     */
+    public static SkillDictionary of(SkillMatcher matcher) {
+        SkillDictionary dictionary = new SkillDictionary(null);
+        dictionary.current.set(matcher);
+        return dictionary;
+    }
+
+    public SkillMatcher current() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        if (skillRepository == null) return;
+
+        SkillMatcher matcher = compile(skillRepository.findAllByCuratedTrueOrderByIdAsc());
+        current.set(matcher);
+        log.info("Skill dictionary loaded: {} skills", matcher.entries().size());
+    }
+
+    /**
+     * Matcher for the given curated skills; no skills = matches nothing.
+     */
+    public static SkillMatcher compile(List<Skill> skills) {
+        return new SkillMatcher(skills.stream()
+                .map(s -> new SkillMatcher.Entry(s.getId(), s.getName(), parseAliases(s.getAliases())))
+                .toList());
+    }
+
+    public static List<String> parseAliases(String aliases) {
+        if (aliases == null || aliases.isBlank()) return List.of();
+        return Arrays.stream(aliases.split(","))
+                .map(String::trim)
+                .filter(a -> !a.isEmpty())
+                .toList();
+    }
+
+    private static SkillMatcher builtInMatcher() {
+        List<SkillMatcher.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < BUILT_IN_SKILLS.size(); i++) {
+            entries.add(new SkillMatcher.Entry(i + 1, BUILT_IN_SKILLS.get(i), List.of()));
+        }
+        return new SkillMatcher(entries);
+    }
+}
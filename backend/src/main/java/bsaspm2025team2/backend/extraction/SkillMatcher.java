@@ -0,0 +1,156 @@
+package bsaspm2025team2.backend.extraction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Immutable, compiled form of the skill dictionary (see SkillDictionary).
+ *
+ * - find(): every skill whose name or alias occurs in the text as a substring (case-insensitive),
+ *   in dictionary order - one Aho-Corasick pass over the text instead of one contains() per keyword
+ * - skillIdOfPhrase(): names/aliases made of tokens -> canonical skill id, used by scoring; multi-word spellings
+ *   ("spring boot", "spring-boot") are phrases of their tokens joined by one space
+ *
+ * Built once per dictionary change and shared by all threads.
+ */
+public final class SkillMatcher {
+
+    public record Entry(long id, String name, List<String> aliases) {}
+
+    private final List<Entry> entries;
+    private final Map<String, Long> idByPhrase;
+    private final int maxPhraseTokens;
+
+    // Aho-Corasick automaton; node 0 is the root
+    private final List<Map<Character, Integer>> next = new ArrayList<>();
+    private final int[] fail;
+    private final int[][] outputs; // entry indexes matched when reaching the node
+
+    public SkillMatcher(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+
+        Map<String, Long> phrases = new HashMap<>();
+        int maxTokens = 1;
+        List<List<Integer>> out = new ArrayList<>();
+        next.add(new HashMap<>());
+        out.add(new ArrayList<>());
+
+        for (int i = 0; i < this.entries.size(); i++) {
+            Entry e = this.entries.get(i);
+            List<String> patterns = new ArrayList<>();
+            patterns.add(e.name());
+            patterns.addAll(e.aliases());
+
+            for (String p : patterns) {
+                String pattern = p == null ? "" : p.trim().toLowerCase(Locale.ROOT);
+                if (pattern.isEmpty()) continue;
+
+                // first skill wins if two skills share a spelling
+                String[] words = pattern.split("[\\s-]+");
+                if (Arrays.stream(words).allMatch(SkillMatcher::isSingleToken)) {
+                    phrases.putIfAbsent(String.join(" ", words), e.id());
+                    maxTokens = Math.max(maxTokens, words.length);
+                }
+
+                int node = 0;
+                for (int c = 0; c < pattern.length(); c++) {
+                    Integer child = next.get(node).get(pattern.charAt(c));
+                    if (child == null) {
+                        child = next.size();
+                        next.get(node).put(pattern.charAt(c), child);
+                        next.add(new HashMap<>());
+                        out.add(new ArrayList<>());
+                    }
+                    node = child;
+                }
+                out.get(node).add(i);
+            }
+        }
+        this.idByPhrase = Map.copyOf(phrases);
+        this.maxPhraseTokens = maxTokens;
+
+        // failure links (BFS), outputs inherited along them
+        this.fail = new int[next.size()];
+        Queue<Integer> queue = new ArrayDeque<>(next.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : next.get(node).entrySet()) {
+                int child = edge.getValue();
+                int f = fail[node];
+                while (f != 0 && !next.get(f).containsKey(edge.getKey())) f = fail[f];
+                Integer target = next.get(f).get(edge.getKey());
+                fail[child] = target != null && target != child ? target : 0;
+                out.get(child).addAll(out.get(fail[child]));
+                queue.add(child);
+            }
+        }
+        this.outputs = new int[out.size()][];
+        for (int n = 0; n < out.size(); n++) {
+            this.outputs[n] = out.get(n).stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Skills mentioned in the text, in dictionary order.
+     */
+    public List<Entry> find(String text) {
+        if (text == null || entries.isEmpty()) return List.of();
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        boolean[] found = new boolean[entries.size()];
+        int remaining = entries.size();
+
+        int node = 0;
+        for (int i = 0; i < lower.length() && remaining > 0; i++) {
+            char c = lower.charAt(i);
+            Integer child;
+            while ((child = next.get(node).get(c)) == null && node != 0) node = fail[node];
+            node = child == null ? 0 : child;
+
+            for (int idx : outputs[node]) {
+                if (!found[idx]) {
+                    found[idx] = true;
+                    remaining--;
+                }
+            }
+        }
+
+        List<Entry> result = new ArrayList<>();
+        for (int i = 0; i < found.length; i++) {
+            if (found[i]) result.add(entries.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Canonical skill id for lowercase tokens joined by one space, or null if they are not a skill name/alias.
+     */
+    public Long skillIdOfPhrase(String phrase) {
+        return idByPhrase.get(phrase);
+    }
+
+    /**
+     * Number of tokens of the longest name/alias (1 if all are single words).
+     */
+    public int maxPhraseTokens() {
+        return maxPhraseTokens;
+    }
+
+    /**
+     * Letters/digits only - same token rule as ScoreService.tokenize.
+     */
+    static boolean isSingleToken(String s) {
+        if (s.isEmpty()) return false;
+        return s.codePoints().allMatch(cp -> Character.isLetter(cp) || Character.getType(cp) == Character.DECIMAL_DIGIT_NUMBER);
+    }
+}
@@ -0,0 +1,48 @@
+package bsaspm2025team2.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work done by the candidate list / report endpoints, tagged by endpoint:
+ * rows loaded from the DB, rows left after filtering, candidates scored,
+ * sort time and number of items in the response.
+ */
+@Component
+public class CandidateQueryMetrics {
+
+    private final MeterRegistry registry;
+
+    public CandidateQueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordFilter(String endpoint, int rowsLoaded, int rowsFiltered, int candidatesScored) {
+        summary("candidates.query.rows.loaded", "Candidate rows loaded from the DB", endpoint).record(rowsLoaded);
+        summary("candidates.query.rows.filtered", "Candidate rows left after filtering", endpoint).record(rowsFiltered);
+        summary("candidates.query.scored", "Candidates scored against a position", endpoint).record(candidatesScored);
+    }
+
+    public void recordSort(String endpoint, long sortNanos) {
+        Timer.builder("candidates.query.sort")
+                .description("Time spent sorting filtered candidates")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(sortNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResponseItems(String endpoint, int responseItems) {
+        summary("candidates.query.response.items", "Items returned in the response", endpoint).record(responseItems);
+    }
+
+    private DistributionSummary summary(String name, String description, String endpoint) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+}
@@ -0,0 +1,17 @@
+package bsaspm2025team2.backend.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entity loads into {@link RequestDbStats} (statements are counted by {@link StatementCountingDataSource}).
+ * Registered session-factory wide in {@code MetricsConfig}; must stay stateless.
+ */
+public class HibernateRequestStatsInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestDbStats.onEntityLoaded();
+        return false;
+    }
+}
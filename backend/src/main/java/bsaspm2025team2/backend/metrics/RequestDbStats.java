@@ -0,0 +1,40 @@
+package bsaspm2025team2.backend.metrics;
+
+/**
+ * Per-request (per-thread) counters of SQL statements and hydrated entities.
+ * Opened/closed by {@link RequestMetricsFilter}, fed by {@link StatementCountingDataSource} (statements of
+ * Hibernate and JdbcTemplate alike) and {@link HibernateRequestStatsInterceptor} (entities).
+ * Work done outside a request thread (async jobs, streaming bodies) is simply not counted.
+ */
+public final class RequestDbStats {
+
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+
+    private int queries;
+    private int entitiesLoaded;
+
+    private RequestDbStats() { }
+
+    static RequestDbStats begin() {
+        RequestDbStats stats = new RequestDbStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void onStatement() {
+        RequestDbStats stats = CURRENT.get();
+        if (stats != null) stats.queries++;
+    }
+
+    static void onEntityLoaded() {
+        RequestDbStats stats = CURRENT.get();
+        if (stats != null) stats.entitiesLoaded++;
+    }
+
+    public int getQueries() { return queries; }
+    public int getEntitiesLoaded() { return entitiesLoaded; }
+}
@@ -0,0 +1,76 @@
+package bsaspm2025team2.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Records DB queries / hydrated entities per API request and logs slow requests
+ * together with their query string (i.e. the filter parameters that made them slow).
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+
+    public RequestMetricsFilter(MeterRegistry registry, Duration slowThreshold) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestDbStats stats = RequestDbStats.begin();
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            RequestDbStats.end();
+            record(request, response, stats, elapsed);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestDbStats stats, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("http.server.requests.db.queries")
+                .description("SQL statements prepared per API request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getQueries());
+        DistributionSummary.builder("http.server.requests.db.entities")
+                .description("Entities hydrated by Hibernate per API request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getEntitiesLoaded());
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow request {} {}{} took {} ms (status={}, db queries={}, entities loaded={})",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    request.getQueryString() == null ? "" : "?" + request.getQueryString(),
+                    elapsedNanos / 1_000_000,
+                    response.getStatus(),
+                    stats.getQueries(),
+                    stats.getEntitiesLoaded());
+        }
+    }
+}
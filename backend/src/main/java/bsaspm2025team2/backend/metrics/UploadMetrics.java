@@ -0,0 +1,112 @@
+package bsaspm2025team2.backend.metrics;
+
+import bsaspm2025team2.backend.extraction.PdfExtractionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters for the resume upload pipeline.
+ *
+ * resume.upload                        whole upload, tag outcome
+ * resume.upload.stage                  per stage (validate, store, extract_text, extract_fields, persist), tag outcome
+ * resume.upload.extraction.failures    swallowed extraction errors, tags stage + exception
+ * resume.upload.stored.bytes           bytes written to storage
+ * resume.pdf.pages / resume.pdf.text.length
+ * resume.pdf.truncated                 extractions stopped by a page/text/time limit, tag limit
+ */
+@Component
+public class UploadMetrics {
+
+    public enum Stage {
+        VALIDATE, STORE, EXTRACT_TEXT, EXTRACT_FIELDS, PERSIST;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    @FunctionalInterface
+    public interface StageCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final MeterRegistry registry;
+    private final Counter storedBytes;
+    private final DistributionSummary pageCount;
+    private final DistributionSummary textLength;
+
+    public UploadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.storedBytes = Counter.builder("resume.upload.stored.bytes")
+                .baseUnit("bytes")
+                .description("Bytes of resume files written to storage")
+                .register(registry);
+        this.pageCount = DistributionSummary.builder("resume.pdf.pages")
+                .description("Page count of uploaded PDFs")
+                .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50, 100)
+                .register(registry);
+        this.textLength = DistributionSummary.builder("resume.pdf.text.length")
+                .baseUnit("chars")
+                .description("Length of text extracted from uploaded PDFs")
+                .serviceLevelObjectives(1_000, 5_000, 20_000, 100_000, 500_000)
+                .register(registry);
+    }
+
+    public Timer.Sample startUpload() {
+        return Timer.start(registry);
+    }
+
+    public void stopUpload(Timer.Sample sample, boolean success) {
+        sample.stop(Timer.builder("resume.upload")
+                .description("Whole resume upload request")
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry));
+    }
+
+    /**
+     * Runs one pipeline stage and records its duration, tagged with the outcome.
+     */
+    public <T, E extends Exception> T time(Stage stage, StageCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            sample.stop(Timer.builder("resume.upload.stage")
+                    .description("Duration of one resume upload pipeline stage")
+                    .tag("stage", stage.tag())
+                    .tag("outcome", success ? "success" : "failure")
+                    .register(registry));
+        }
+    }
+
+    public void recordStoredBytes(long bytes) {
+        storedBytes.increment(bytes);
+    }
+
+    public void recordPdf(PdfExtractionResult pdf) {
+        pageCount.record(pdf.pageCount());
+        textLength.record(pdf.text() == null ? 0 : pdf.text().length());
+        if (pdf.truncated()) {
+            Counter.builder("resume.pdf.truncated")
+                    .description("PDF text extractions stopped early by a page, text or time limit")
+                    .tag("limit", pdf.limit().name().toLowerCase())
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    public void recordExtractionFailure(Stage stage, Exception ex) {
+        Counter.builder("resume.upload.extraction.failures")
+                .description("Extraction errors swallowed by the upload (candidate saved with empty fields)")
+                .tag("stage", stage == null ? "unknown" : stage.tag())
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,58 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain-SQL counterpart of CandidateSpecifications for the JDBC queries over candidates (export, score histogram):
+ * fragments are appended to the query text, their bind values to `args` in the same order.
+ */
+public class CandidateFilterSql {
+
+    /**
+     * Select item "matches" (how many of `skillIds` the candidate has), then FROM candidates c with the join it needs.
+     */
+    public static String matchesFrom(Collection<Long> skillIds, List<Object> args) {
+        if (skillIds.isEmpty()) {
+            return "0 AS matches\nFROM candidates c\n";
+        }
+        args.addAll(skillIds);
+        return """
+                COALESCE(m.matches, 0) AS matches
+                FROM candidates c
+                LEFT JOIN (SELECT candidate_id, COUNT(*) AS matches FROM candidate_skills
+                           WHERE skill_id IN (%s) GROUP BY candidate_id) m ON m.candidate_id = c.id
+                """.formatted(String.join(",", Collections.nCopies(skillIds.size(), "?")));
+    }
+
+    /**
+     * WHERE clause for the list filters; null (or blank q) = not filtered.
+     */
+    public static String whereFilters(CandidateStatus status, Integer minYears, String q, List<Object> args) {
+        StringBuilder sql = new StringBuilder("WHERE 1 = 1\n");
+        if (status != null) {
+            sql.append("  AND c.status = ?\n");
+            args.add(status.name());
+        }
+        if (minYears != null) {
+            sql.append("  AND c.years_of_experience >= ?\n");
+            args.add(minYears);
+        }
+        if (q != null && !q.isBlank()) {
+            // same fields as the list endpoint's q filter, matched as a case-insensitive substring
+            sql.append("  AND (LOWER(c.full_name) LIKE ? ESCAPE '\\' OR LOWER(c.email) LIKE ? ESCAPE '\\' OR LOWER(c.phone) LIKE ? ESCAPE '\\')\n");
+            String like = "%" + escapeLike(q.toLowerCase()) + "%";
+            args.add(like);
+            args.add(like);
+            args.add(like);
+        }
+        return sql.toString();
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
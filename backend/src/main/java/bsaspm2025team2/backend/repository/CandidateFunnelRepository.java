@@ -0,0 +1,108 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tables candidate_status_events, funnel_transitions_daily and funnel_stage_time_daily (V12), plain JDBC.
+ *
+ * Rollup rows are upserted as "insert a zero row if missing, then increment", which is safe under
+ * concurrent writers (the increment waits for the row lock) on both Postgres and H2.
+ */
+@Repository
+public class CandidateFunnelRepository {
+
+    public record TransitionCount(long positionId, String fromStatus, String toStatus, long transitions) {}
+
+    public record StageTimeCount(long positionId, String stage, int bucket, long candidates) {}
+
+    private final JdbcTemplate jdbc;
+
+    public CandidateFunnelRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // index idx_candidate_status_events_candidate
+    public Optional<Instant> lastChangeAt(long candidateId) {
+        List<Timestamp> rows = jdbc.queryForList(
+                "SELECT MAX(occurred_at) FROM candidate_status_events WHERE candidate_id = ?", Timestamp.class, candidateId);
+        return rows.isEmpty() || rows.get(0) == null ? Optional.empty() : Optional.of(rows.get(0).toInstant());
+    }
+
+    public void insertEvent(long candidateId, Long positionId, CandidateStatus from, CandidateStatus to,
+                            Instant occurredAt, long timeInStageMs) {
+        jdbc.update("""
+                        INSERT INTO candidate_status_events
+                            (candidate_id, position_id, from_status, to_status, occurred_at, time_in_stage_ms)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        """,
+                candidateId, positionId, from.name(), to.name(), Timestamp.from(occurredAt), timeInStageMs);
+    }
+
+    public void incrementTransition(LocalDate day, long positionId, CandidateStatus from, CandidateStatus to) {
+        jdbc.update("""
+                        INSERT INTO funnel_transitions_daily (event_date, position_id, from_status, to_status, transitions)
+                        VALUES (?, ?, ?, ?, 0) ON CONFLICT DO NOTHING
+                        """,
+                Date.valueOf(day), positionId, from.name(), to.name());
+        jdbc.update("""
+                        UPDATE funnel_transitions_daily SET transitions = transitions + 1
+                        WHERE event_date = ? AND position_id = ? AND from_status = ? AND to_status = ?
+                        """,
+                Date.valueOf(day), positionId, from.name(), to.name());
+    }
+
+    public void incrementStageTime(LocalDate day, long positionId, CandidateStatus stage, int bucket) {
+        jdbc.update("""
+                        INSERT INTO funnel_stage_time_daily (event_date, position_id, stage, bucket, candidates)
+                        VALUES (?, ?, ?, ?, 0) ON CONFLICT DO NOTHING
+                        """,
+                Date.valueOf(day), positionId, stage.name(), bucket);
+        jdbc.update("""
+                        UPDATE funnel_stage_time_daily SET candidates = candidates + 1
+                        WHERE event_date = ? AND position_id = ? AND stage = ? AND bucket = ?
+                        """,
+                Date.valueOf(day), positionId, stage.name(), bucket);
+    }
+
+    /**
+     * Transitions summed over [from, to] (days), per position; positionId null = all positions.
+     */
+    public List<TransitionCount> sumTransitions(LocalDate from, LocalDate to, Long positionId) {
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (positionId != null) args.add(positionId);
+        return jdbc.query("""
+                        SELECT position_id, from_status, to_status, SUM(transitions) AS transitions
+                        FROM funnel_transitions_daily
+                        WHERE event_date BETWEEN ? AND ? %s
+                        GROUP BY position_id, from_status, to_status
+                        """.formatted(positionId == null ? "" : "AND position_id = ?"),
+                (rs, i) -> new TransitionCount(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)),
+                args.toArray());
+    }
+
+    /**
+     * Time-in-stage histogram summed over [from, to] (days), per position; positionId null = all positions.
+     */
+    public List<StageTimeCount> sumStageTimes(LocalDate from, LocalDate to, Long positionId) {
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (positionId != null) args.add(positionId);
+        return jdbc.query("""
+                        SELECT position_id, stage, bucket, SUM(candidates) AS candidates
+                        FROM funnel_stage_time_daily
+                        WHERE event_date BETWEEN ? AND ? %s
+                        GROUP BY position_id, stage, bucket
+                        """.formatted(positionId == null ? "" : "AND position_id = ?"),
+                (rs, i) -> new StageTimeCount(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getLong(4)),
+                args.toArray());
+    }
+}
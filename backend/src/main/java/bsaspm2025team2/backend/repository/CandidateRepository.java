@@ -1,9 +1,65 @@
 package bsaspm2025team2.backend.repository;
 
 import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface CandidateRepository extends JpaRepository<Candidate, Long>, JpaSpecificationExecutor<Candidate> {
-}
 
+    interface StatusCount {
+        CandidateStatus getStatus();
+        long getCount();
+    }
+
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT c.id AS id, c.fullName AS fullName, c.email AS email, c.phone AS phone, c.status AS status,
+                   c.yearsOfExperience AS yearsOfExperience, c.uploadDate AS uploadDate
+            FROM Candidate c
+            """)
+    List<CandidateSummary> findAllSummaries();
+
+    // newest first; with OffsetBasedPageRequest for limit/offset
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT c.id AS id, c.fullName AS fullName, c.email AS email, c.phone AS phone, c.status AS status,
+                   c.yearsOfExperience AS yearsOfExperience, c.uploadDate AS uploadDate
+            FROM Candidate c
+            ORDER BY c.uploadDate DESC, c.id DESC
+            """)
+    List<CandidateSummary> findSummaryPage(Pageable pageable);
+
+    // index idx_candidates_status_upload_date
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT c.id AS id, c.fullName AS fullName, c.email AS email, c.phone AS phone, c.status AS status,
+                   c.yearsOfExperience AS yearsOfExperience, c.uploadDate AS uploadDate
+            FROM Candidate c
+            WHERE c.status = :status
+            ORDER BY c.uploadDate DESC, c.id DESC
+            """)
+    List<CandidateSummary> findSummaryPageByStatus(@Param("status") CandidateStatus status, Pageable pageable);
+
+    @Query("SELECT c.status AS status, COUNT(c) AS count FROM Candidate c GROUP BY c.status")
+    List<StatusCount> countByStatus();
+
+    // keyset on (updated_at, id), index idx_candidates_updated_at
+    @Query("""
+            SELECT c FROM Candidate c
+            WHERE c.updatedAt <= :until
+              AND (c.updatedAt > :afterTime OR (c.updatedAt = :afterTime AND c.id > :afterId))
+            ORDER BY c.updatedAt ASC, c.id ASC
+            """)
+    List<Candidate> findChangedAfter(@Param("afterTime") Instant afterTime,
+                                     @Param("afterId") long afterId,
+                                     @Param("until") Instant until,
+                                     Pageable pageable);
+}
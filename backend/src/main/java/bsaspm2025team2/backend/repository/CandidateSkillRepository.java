@@ -0,0 +1,142 @@
+package bsaspm2025team2.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table candidate_skills, plain JDBC: bulk deletes/inserts and GROUP BY counts.
+ *
+ * Skill tokens that are not in the dictionary get a non-curated row in skills, so every
+ * candidate token has an id.
+ *
+ * Inserts that may race use PostgreSQL's ON CONFLICT DO NOTHING (H2 accepts it in PostgreSQL mode, used by the tests).
+ */
+@Repository
+public class CandidateSkillRepository {
+
+    // stays well below the JDBC bind parameter limit
+    private static final int IN_CHUNK = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    public CandidateSkillRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    /**
+     * Ids of the skill rows named like the tokens (lowercase); tokens without a row are absent.
+     */
+    public Map<String, Long> findTokenIds(Collection<String> tokens) {
+        Map<String, Long> ids = new HashMap<>();
+        for (List<String> chunk : chunks(tokens)) {
+            named.query("SELECT id, LOWER(name) AS token FROM skills WHERE LOWER(name) IN (:tokens)",
+                    new MapSqlParameterSource("tokens", chunk),
+                    rs -> {
+                        ids.putIfAbsent(rs.getString("token"), rs.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    /**
+     * Like findTokenIds, but tokens without a row are registered as non-curated skills first.
+     */
+    public Map<String, Long> registerTokens(Collection<String> tokens) {
+        Map<String, Long> ids = findTokenIds(tokens);
+        List<String> missing = tokens.stream().filter(t -> !ids.containsKey(t)).distinct().toList();
+        if (missing.isEmpty()) return ids;
+
+        // concurrent uploads may register the same token
+        jdbc.batchUpdate("INSERT INTO skills (name, curated) VALUES (?, FALSE) ON CONFLICT DO NOTHING",
+                missing, missing.size(), (ps, token) -> ps.setString(1, token));
+        ids.putAll(findTokenIds(missing));
+        return ids;
+    }
+
+    /**
+     * Replaces all skill rows of the given candidates.
+     */
+    public void replaceSkills(Map<Long, ? extends Collection<Long>> skillIdsByCandidate) {
+        if (skillIdsByCandidate.isEmpty()) return;
+
+        for (List<Long> chunk : chunks(skillIdsByCandidate.keySet())) {
+            named.update("DELETE FROM candidate_skills WHERE candidate_id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk));
+        }
+
+        List<long[]> rows = new ArrayList<>();
+        skillIdsByCandidate.forEach((candidateId, skillIds) -> {
+            for (Long skillId : skillIds) rows.add(new long[]{candidateId, skillId});
+        });
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate("INSERT INTO candidate_skills (candidate_id, skill_id) VALUES (?, ?)",
+                rows, 500, (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+    }
+
+    /**
+     * Number of the given skills each candidate has; candidates with none are absent.
+     */
+    public Map<Long, Integer> countMatches(Set<Long> skillIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (skillIds.isEmpty()) return counts;
+
+        // a position requires a handful of skills - one query
+        named.query("SELECT candidate_id, COUNT(*) AS matches FROM candidate_skills " +
+                        "WHERE skill_id IN (:ids) GROUP BY candidate_id",
+                new MapSqlParameterSource("ids", skillIds),
+                rs -> {
+                    counts.put(rs.getLong("candidate_id"), rs.getInt("matches"));
+                });
+        return counts;
+    }
+
+    public List<Long> findCandidateIdsBySkillId(long skillId) {
+        return jdbc.queryForList("SELECT candidate_id FROM candidate_skills WHERE skill_id = ?", Long.class, skillId);
+    }
+
+    /**
+     * Non-curated skill rows named like one of the spellings (lowercase).
+     */
+    public List<Long> findUncuratedIds(Collection<String> spellings) {
+        List<Long> ids = new ArrayList<>();
+        for (List<String> chunk : chunks(spellings)) {
+            ids.addAll(named.queryForList("SELECT id FROM skills WHERE NOT curated AND LOWER(name) IN (:names)",
+                    new MapSqlParameterSource("names", chunk), Long.class));
+        }
+        return ids;
+    }
+
+    /**
+     * Moves candidates of skill `fromId` to skill `intoId` and deletes `fromId`.
+     */
+    public void mergeSkill(long fromId, long intoId) {
+        jdbc.update("INSERT INTO candidate_skills (candidate_id, skill_id) " +
+                "SELECT candidate_id, ? FROM candidate_skills WHERE skill_id = ? " +
+                "ON CONFLICT DO NOTHING", intoId, fromId);
+        jdbc.update("DELETE FROM candidate_skills WHERE skill_id = ?", fromId);
+        jdbc.update("DELETE FROM skills WHERE id = ?", fromId);
+    }
+
+    private static <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += IN_CHUNK) {
+            chunks.add(list.subList(i, Math.min(i + IN_CHUNK, list.size())));
+        }
+        return chunks;
+    }
+}
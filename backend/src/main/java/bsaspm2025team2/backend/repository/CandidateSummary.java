@@ -0,0 +1,19 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+
+import java.time.Instant;
+
+/**
+ * Columns of a candidate list item (no skills text): read-only projection for the list and report
+ * endpoints, which neither modify candidates nor need the skills (scores come from candidate_skills).
+ */
+public interface CandidateSummary {
+    Long getId();
+    String getFullName();
+    String getEmail();
+    String getPhone();
+    CandidateStatus getStatus();
+    Integer getYearsOfExperience();
+    Instant getUploadDate();
+}
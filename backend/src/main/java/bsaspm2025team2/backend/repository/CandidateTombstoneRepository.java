@@ -0,0 +1,31 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.CandidateTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CandidateTombstoneRepository extends JpaRepository<CandidateTombstone, Long> {
+
+    // tombstones left by the trigger (deleted_at NULL), index idx_candidate_tombstones_unstamped
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CandidateTombstone t SET t.deletedAt = :now WHERE t.deletedAt IS NULL")
+    int stampUnstamped(@Param("now") Instant now);
+
+    // keyset on (deleted_at, candidate_id), index idx_candidate_tombstones_deleted_at
+    @Query("""
+            SELECT t FROM CandidateTombstone t
+            WHERE t.deletedAt <= :until
+              AND (t.deletedAt > :afterTime OR (t.deletedAt = :afterTime AND t.candidateId > :afterId))
+            ORDER BY t.deletedAt ASC, t.candidateId ASC
+            """)
+    List<CandidateTombstone> findDeletedAfter(@Param("afterTime") Instant afterTime,
+                                              @Param("afterId") long afterId,
+                                              @Param("until") Instant until,
+                                              Pageable pageable);
+}
@@ -1,7 +1,19 @@
 package bsaspm2025team2.backend.repository;
 
 import bsaspm2025team2.backend.domain.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+
+    // latest resume of a candidate
+    Optional<Document> findFirstByCandidateIdOrderByUploadDateDescIdDesc(Long candidateId);
+
+    // keyset batches for background jobs: pass the last id seen and a page size
+    List<Document> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable limit);
+
+    long countByIdGreaterThan(Long afterId);
 }
@@ -0,0 +1,7 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
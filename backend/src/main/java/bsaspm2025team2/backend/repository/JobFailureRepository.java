@@ -0,0 +1,11 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.JobFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface JobFailureRepository extends JpaRepository<JobFailure, JobFailure.Key> {
+
+    List<JobFailure> findByJobNameOrderByDocumentIdAsc(String jobName);
+}
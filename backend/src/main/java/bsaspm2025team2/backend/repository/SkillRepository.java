@@ -0,0 +1,12 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    // dictionary skills (without tokens registered for candidate_skills)
+    List<Skill> findAllByCuratedTrueOrderByIdAsc();
+}
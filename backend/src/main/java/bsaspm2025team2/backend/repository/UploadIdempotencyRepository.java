@@ -0,0 +1,105 @@
+package bsaspm2025team2.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Table upload_idempotency_keys (V14, state and claim_token V17), plain JDBC.
+ */
+@Repository
+public class UploadIdempotencyRepository {
+
+    public enum State { IN_PROGRESS, COMPLETED }
+
+    /**
+     * @param candidateId null while the upload that claimed the key has not committed
+     * @param claimToken  the upload holding an IN_PROGRESS claim
+     */
+    public record Entry(String fingerprint, Long candidateId, Instant createdAt, State state, String claimToken) {}
+
+    private final JdbcTemplate jdbc;
+
+    public UploadIdempotencyRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Inserts an IN_PROGRESS claim unless the key exists. On Postgres, while another open transaction inserted
+     * the same key this waits for it to finish, so claims are inserted in short transactions of their own.
+     *
+     * @return true when this call inserted the key
+     */
+    public boolean insert(String key, String fingerprint, String claimToken, Instant createdAt) {
+        return jdbc.update("""
+                        INSERT INTO upload_idempotency_keys (idempotency_key, fingerprint, created_at, state, claim_token)
+                        VALUES (?, ?, ?, 'IN_PROGRESS', ?) ON CONFLICT DO NOTHING
+                        """,
+                key, fingerprint, Timestamp.from(createdAt), claimToken) == 1;
+    }
+
+    public Optional<Entry> find(String key) {
+        List<Entry> rows = jdbc.query("""
+                        SELECT fingerprint, candidate_id, created_at, state, claim_token
+                        FROM upload_idempotency_keys WHERE idempotency_key = ?
+                        """,
+                (rs, i) -> new Entry(
+                        rs.getString(1),
+                        rs.getObject(2) == null ? null : rs.getLong(2),
+                        rs.getTimestamp(3).toInstant(),
+                        State.valueOf(rs.getString(4)),
+                        rs.getString(5)),
+                key);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * IN_PROGRESS -> COMPLETED, only while the claim is still held with this token.
+     *
+     * @return false when the claim was released or taken over
+     */
+    public boolean complete(String key, String claimToken, Long candidateId) {
+        return jdbc.update("""
+                        UPDATE upload_idempotency_keys SET state = 'COMPLETED', candidate_id = ?, claim_token = NULL
+                        WHERE idempotency_key = ? AND claim_token = ? AND state = 'IN_PROGRESS'
+                        """,
+                candidateId, key, claimToken) == 1;
+    }
+
+    /**
+     * Moves an abandoned IN_PROGRESS claim (still held with oldToken) to a new upload.
+     *
+     * @return true when this call took the claim over
+     */
+    public boolean takeOver(String key, String oldToken, String newToken, Instant createdAt) {
+        return jdbc.update("""
+                        UPDATE upload_idempotency_keys SET claim_token = ?, created_at = ?
+                        WHERE idempotency_key = ? AND claim_token = ? AND state = 'IN_PROGRESS'
+                        """,
+                newToken, Timestamp.from(createdAt), key, oldToken) == 1;
+    }
+
+    /**
+     * Deletes the IN_PROGRESS claim held with this token.
+     */
+    public int release(String key, String claimToken) {
+        return jdbc.update(
+                "DELETE FROM upload_idempotency_keys WHERE idempotency_key = ? AND claim_token = ? AND state = 'IN_PROGRESS'",
+                key, claimToken);
+    }
+
+    /**
+     * @param key null = all keys created before the cutoff
+     */
+    public int deleteCreatedBefore(String key, Instant cutoff) {
+        if (key == null) {
+            return jdbc.update("DELETE FROM upload_idempotency_keys WHERE created_at < ?", Timestamp.from(cutoff));
+        }
+        return jdbc.update("DELETE FROM upload_idempotency_keys WHERE idempotency_key = ? AND created_at < ?",
+                key, Timestamp.from(cutoff));
+    }
+}
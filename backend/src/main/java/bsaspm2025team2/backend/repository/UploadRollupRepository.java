@@ -0,0 +1,61 @@
+package bsaspm2025team2.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Table upload_counts_daily (V13), plain JDBC. Days are UTC.
+ *
+ * Rows are upserted as "insert a zero row if missing, then increment" (see CandidateFunnelRepository).
+ */
+@Repository
+public class UploadRollupRepository {
+
+    public record DayCount(LocalDate day, long uploads, long bytes) {}
+
+    private final JdbcTemplate jdbc;
+
+    public UploadRollupRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void recordUpload(Instant uploadedAt, long bytes) {
+        Date day = Date.valueOf(LocalDate.ofInstant(uploadedAt, ZoneOffset.UTC));
+        jdbc.update("INSERT INTO upload_counts_daily (upload_day, uploads, bytes) VALUES (?, 0, 0) ON CONFLICT DO NOTHING",
+                day);
+        jdbc.update("UPDATE upload_counts_daily SET uploads = uploads + 1, bytes = bytes + ? WHERE upload_day = ?",
+                bytes, day);
+    }
+
+    /**
+     * Days of [from, to] with at least one upload, oldest first.
+     */
+    public List<DayCount> findBetween(LocalDate from, LocalDate to) {
+        return jdbc.query("""
+                        SELECT upload_day, uploads, bytes FROM upload_counts_daily
+                        WHERE upload_day BETWEEN ? AND ?
+                        ORDER BY upload_day
+                        """,
+                (rs, i) -> new DayCount(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3)),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Recomputes every day from documents (after bulk inserts that bypass the upload path).
+     */
+    public void rebuild() {
+        jdbc.update("DELETE FROM upload_counts_daily");
+        jdbc.update("""
+                INSERT INTO upload_counts_daily (upload_day, uploads, bytes)
+                SELECT CAST(upload_date AS DATE), COUNT(*), COALESCE(SUM(file_size), 0)
+                FROM documents
+                GROUP BY CAST(upload_date AS DATE)
+                """);
+    }
+}
@@ -0,0 +1,360 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.Document;
+import bsaspm2025team2.backend.domain.JobCheckpoint;
+import bsaspm2025team2.backend.domain.JobFailure;
+import bsaspm2025team2.backend.extraction.CandidateFieldExtractionService;
+import bsaspm2025team2.backend.extraction.ExtractedCandidateFields;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.DocumentRepository;
+import bsaspm2025team2.backend.repository.JobCheckpointRepository;
+import bsaspm2025team2.backend.repository.JobFailureRepository;
+import bsaspm2025team2.backend.storage.DocumentTextStore;
+import bsaspm2025team2.backend.util.RateLimiter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admin-triggered background job: re-runs the field rules over every stored document.
+ *
+ * - documents are read in id order, batch-size at a time (keyset on id)
+ * - texts come from document_texts; the PDF is parsed only when no text is stored yet
+ * - extraction runs on `concurrency` worker threads, paced to at most `rate-limit` documents/s
+ * - each batch is applied and the checkpoint (last document id) saved in one transaction,
+ *   so a stopped/crashed run continues after the last committed batch
+ * - documents whose extraction fails are saved to job_failures in that transaction (and listed in the progress);
+ *   a run that continues from the checkpoint retries them first, a restart clears them
+ * - fields are only written for draft candidates or where the field is still empty
+ *   (see ResumeReextractionService.applyFields)
+ *
+ * One run at a time; the checkpoint is cleared once a run reaches the end.
+ */
+@Service
+public class BulkReextractionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkReextractionJob.class);
+
+    public static final String JOB_NAME = "bulk-reextraction";
+
+    public enum State { IDLE, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    public record Progress(
+            State state,
+            long total,
+            long processed,
+            long updated,
+            long failed,
+            List<Long> failedDocumentIds,
+            long lastDocumentId,
+            Instant startedAt,
+            Instant finishedAt,
+            double documentsPerSecond,
+            String error
+    ) {}
+
+    private record Extracted(Long documentId, Long candidateId, ExtractedCandidateFields fields) {}
+
+    /**
+     * @param failures document id -> error
+     */
+    private record BatchResult(List<Extracted> extracted, Map<Long, String> failures) {}
+
+    // failed ids listed in the progress; all of them are in job_failures
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final DocumentRepository documentRepository;
+    private final CandidateRepository candidateRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final JobFailureRepository failureRepository;
+    private final DocumentTextStore documentTextStore;
+    private final ResumeReextractionService reextractionService;
+    private final CandidateFieldExtractionService extractionService;
+    private final CandidateSkillIndexer candidateSkillIndexer;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final double rateLimit;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "reextraction-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Run current;
+
+    public BulkReextractionJob(DocumentRepository documentRepository,
+                               CandidateRepository candidateRepository,
+                               JobCheckpointRepository checkpointRepository,
+                               JobFailureRepository failureRepository,
+                               DocumentTextStore documentTextStore,
+                               ResumeReextractionService reextractionService,
+                               CandidateFieldExtractionService extractionService,
+                               CandidateSkillIndexer candidateSkillIndexer,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.reextraction.batch-size:200}") int batchSize,
+                               @Value("${app.reextraction.concurrency:4}") int concurrency,
+                               @Value("${app.reextraction.rate-limit:50}") double rateLimit) {
+        this.documentRepository = documentRepository;
+        this.candidateRepository = candidateRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.failureRepository = failureRepository;
+        this.documentTextStore = documentTextStore;
+        this.reextractionService = reextractionService;
+        this.extractionService = extractionService;
+        this.candidateSkillIndexer = candidateSkillIndexer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Starts a run in the background.
+     *
+     * @param restart ignore the checkpoint of an interrupted run and start from the first document
+     */
+    public synchronized Progress start(boolean restart) {
+        if (current != null && current.state == State.RUNNING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Re-extraction job is already running");
+        }
+        Run run = new Run();
+        current = run;
+        runner.submit(() -> execute(run, restart));
+        return run.snapshot();
+    }
+
+    /**
+     * Stops after the batch in progress; the next start() continues from the checkpoint.
+     */
+    public Progress cancel() {
+        Run run = current;
+        if (run == null) return idle();
+        run.cancelRequested = true;
+        return run.snapshot();
+    }
+
+    public Progress progress() {
+        Run run = current;
+        return run == null ? idle() : run.snapshot();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        Run run = current;
+        if (run != null) run.cancelRequested = true;
+        runner.shutdown();
+    }
+
+    private void execute(Run run, boolean restart) {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, namedThreads());
+        RateLimiter limiter = new RateLimiter(rateLimit);
+        try {
+            List<JobFailure> earlierFailures = failureRepository.findByJobNameOrderByDocumentIdAsc(JOB_NAME);
+            long lastId;
+            List<Long> retryIds;
+            if (restart) {
+                // every document is processed again
+                failureRepository.deleteAll(earlierFailures);
+                lastId = 0L;
+                retryIds = List.of();
+            } else {
+                lastId = checkpointRepository.findById(JOB_NAME).map(JobCheckpoint::getLastId).orElse(0L);
+                retryIds = earlierFailures.stream().map(JobFailure::getDocumentId).toList();
+            }
+            run.lastDocumentId.set(lastId);
+            run.total.set(documentRepository.countByIdGreaterThan(lastId) + retryIds.size());
+            log.info("Re-extraction started after document id {} ({} documents, {} earlier failures)",
+                    lastId, run.total.get(), retryIds.size());
+
+            // earlier failures are all behind the checkpoint, which stays where it is meanwhile
+            for (int from = 0; from < retryIds.size() && !run.cancelRequested; from += batchSize) {
+                List<Long> ids = retryIds.subList(from, Math.min(retryIds.size(), from + batchSize));
+                List<Document> batch = documentRepository.findAllById(ids);
+                // all rows of this chunk are dropped unless the document fails again (or is gone)
+                processBatch(batch, new HashSet<>(ids), null, workers, limiter, run);
+            }
+
+            while (!run.cancelRequested) {
+                List<Document> batch = documentRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) break;
+
+                long batchLastId = batch.get(batch.size() - 1).getId();
+                processBatch(batch, Set.of(), batchLastId, workers, limiter, run);
+
+                lastId = batchLastId;
+                run.lastDocumentId.set(lastId);
+            }
+
+            if (run.cancelRequested) {
+                run.finish(State.CANCELLED, null);
+            } else {
+                checkpointRepository.deleteById(JOB_NAME);
+                run.finish(State.COMPLETED, null);
+            }
+            log.info("Re-extraction {}: {}", run.state, run.snapshot());
+        } catch (Exception ex) {
+            log.error("Re-extraction failed after document id {}", run.lastDocumentId.get(), ex);
+            run.finish(State.FAILED, ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * @param resolvedFailures job_failures rows to drop unless the document fails again
+     * @param checkpointId     new checkpoint, null = keep it
+     */
+    private void processBatch(List<Document> batch, Set<Long> resolvedFailures, Long checkpointId,
+                              ExecutorService workers, RateLimiter limiter, Run run) throws InterruptedException {
+        BatchResult result = extractBatch(batch, workers, limiter);
+        Set<Long> resolved = new HashSet<>(resolvedFailures);
+        result.extracted().forEach(e -> resolved.add(e.documentId()));
+        resolved.removeAll(result.failures().keySet());
+
+        int updated = applyBatch(result, resolved, checkpointId);
+
+        run.processed.addAndGet(batch.size());
+        run.updated.addAndGet(updated);
+        run.failed.addAndGet(result.failures().size());
+        run.failedIds.removeAll(resolved);
+        run.failedIds.addAll(result.failures().keySet());
+    }
+
+    private BatchResult extractBatch(List<Document> batch, ExecutorService workers, RateLimiter limiter)
+            throws InterruptedException {
+        Map<Long, String> storedTexts = documentTextStore.loadAll(batch.stream().map(Document::getId).toList());
+
+        List<Future<Extracted>> futures = new ArrayList<>(batch.size());
+        for (Document document : batch) {
+            futures.add(workers.submit(() -> {
+                limiter.acquire();
+                String text = storedTexts.get(document.getId());
+                if (text == null) {
+                    text = reextractionService.loadText(document);
+                }
+                return new Extracted(document.getId(), document.getCandidate().getId(), extractionService.extract(text));
+            }));
+        }
+
+        List<Extracted> results = new ArrayList<>(batch.size());
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                // one bad document must not stop the job; it is kept in job_failures for the next run
+                Long documentId = batch.get(i).getId();
+                Throwable cause = e.getCause();
+                failures.put(documentId, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                log.warn("Re-extraction of document {} failed", documentId, cause);
+            }
+        }
+        return new BatchResult(results, failures);
+    }
+
+    private int applyBatch(BatchResult batch, Set<Long> resolvedFailures, Long checkpointId) {
+        List<Extracted> extracted = batch.extracted();
+        Integer updated = transactionTemplate.execute(tx -> {
+            Map<Long, Candidate> candidates = candidateRepository
+                    .findAllById(extracted.stream().map(Extracted::candidateId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(Candidate::getId, Function.identity()));
+
+            List<Candidate> changed = new ArrayList<>();
+            for (Extracted e : extracted) {
+                Candidate c = candidates.get(e.candidateId());
+                if (c != null && ResumeReextractionService.applyFields(c, e.fields())) {
+                    changed.add(c);
+                }
+            }
+            candidateRepository.saveAll(changed);
+            candidateSkillIndexer.indexAll(changed);
+
+            failureRepository.deleteAllById(resolvedFailures.stream()
+                    .map(id -> new JobFailure.Key(JOB_NAME, id))
+                    .toList());
+            List<JobFailure> failures = new ArrayList<>();
+            batch.failures().forEach((documentId, error) -> failures.add(new JobFailure(JOB_NAME, documentId, error)));
+            failureRepository.saveAll(failures);
+
+            if (checkpointId != null) {
+                JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                        .orElseGet(() -> new JobCheckpoint(JOB_NAME, checkpointId));
+                checkpoint.setLastId(checkpointId);
+                checkpointRepository.save(checkpoint);
+            }
+            return changed.size();
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    private static Progress idle() {
+        return new Progress(State.IDLE, 0, 0, 0, 0, List.of(), 0, null, null, 0, null);
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger ids = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "reextraction-worker-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static class Run {
+        final Instant startedAt = Instant.now();
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong updated = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final Set<Long> failedIds = new ConcurrentSkipListSet<>();
+        final AtomicLong lastDocumentId = new AtomicLong();
+        volatile boolean cancelRequested;
+        volatile State state = State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        void finish(State state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        Progress snapshot() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            return new Progress(state, total.get(), processed.get(), updated.get(), failed.get(),
+                    failedIds.stream().limit(MAX_REPORTED_FAILURES).toList(), lastDocumentId.get(), startedAt, finishedAt, processed.get() / seconds, error);
+        }
+    }
+}
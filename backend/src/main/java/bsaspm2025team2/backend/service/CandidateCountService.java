@@ -0,0 +1,166 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Candidate totals (all, or one status) without counting rows per request:
+ * - exact: the shared per-status counters of CandidateStatusCounts
+ * - approximate: on Postgres, once the planner's row estimate for candidates reaches `estimate-threshold`,
+ *   the total is pg_class.reltuples and a status total is estimated from pg_stats the way the planner does,
+ *   so large tables are never counted. Both are read once per `resync-interval` and served from memory
+ *   in between.
+ */
+@Service
+public class CandidateCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateCountService.class);
+
+    public record Count(long value, boolean exact) {}
+
+    /** pg_stats of candidates.status; mostCommon is value -> frequency. */
+    record StatusStats(double nullFrac, double nDistinct, Map<String, Double> mostCommon) {}
+
+    private final CandidateStatusCounts statusCounts;
+    private final JdbcTemplate jdbc;
+    private final long estimateThreshold;
+    private final long resyncNanos;
+
+    // guarded by this; estimatedTotal < 0 = counting exactly
+    private long estimatedTotal = -1;
+    private Map<CandidateStatus, Long> estimatedByStatus = Map.of();
+    private long checkedAtNanos;
+    private boolean checked;
+    private Boolean postgres;
+
+    public CandidateCountService(CandidateStatusCounts statusCounts,
+                                 DataSource dataSource,
+                                 @Value("${app.candidate-counts.estimate-threshold:1000000}") long estimateThreshold,
+                                 @Value("${app.candidate-counts.resync-interval:5m}") Duration resyncInterval) {
+        this.statusCounts = statusCounts;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.estimateThreshold = estimateThreshold;
+        this.resyncNanos = resyncInterval.toNanos();
+    }
+
+    /**
+     * @param status null = all candidates
+     */
+    public Count count(CandidateStatus status) {
+        synchronized (this) {
+            if (!checked || System.nanoTime() - checkedAtNanos >= resyncNanos) {
+                Long estimate = estimatedRows();
+                if (estimate != null && estimate >= estimateThreshold) {
+                    estimatedTotal = estimate;
+                    estimatedByStatus = statusEstimates(estimate, statusStats());
+                } else {
+                    estimatedTotal = -1;
+                    estimatedByStatus = Map.of();
+                }
+                checked = true;
+                checkedAtNanos = System.nanoTime();
+            }
+            if (estimatedTotal >= 0) {
+                return new Count(status == null ? estimatedTotal : estimatedByStatus.get(status), false);
+            }
+        }
+        Map<CandidateStatus, Long> counts = statusCounts.snapshot();
+        long value = status == null
+                ? counts.values().stream().mapToLong(Long::longValue).sum()
+                : counts.getOrDefault(status, 0L);
+        return new Count(Math.max(0, value), true);
+    }
+
+    // planner estimate; null when not on Postgres or the table was never analyzed
+    private Long estimatedRows() {
+        if (!isPostgres()) return null;
+        try {
+            List<Long> rows = jdbc.queryForList(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('candidates')", Long.class);
+            Long estimate = rows.isEmpty() ? null : rows.get(0);
+            return estimate == null || estimate < 0 ? null : estimate;
+        } catch (DataAccessException ex) {
+            log.warn("Candidate row estimate unavailable, counting instead: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    // null when the column has no statistics yet
+    private StatusStats statusStats() {
+        try {
+            List<StatusStats> rows = jdbc.query("""
+                            SELECT null_frac, n_distinct, most_common_vals::text::text[], most_common_freqs
+                            FROM pg_stats
+                            WHERE schemaname = current_schema() AND tablename = 'candidates' AND attname = 'status'
+                            """,
+                    (rs, i) -> {
+                        Map<String, Double> mostCommon = new HashMap<>();
+                        Array vals = rs.getArray(3);
+                        Array freqs = rs.getArray(4);
+                        if (vals != null && freqs != null) {
+                            Object[] v = (Object[]) vals.getArray();
+                            Object[] f = (Object[]) freqs.getArray();
+                            for (int k = 0; k < Math.min(v.length, f.length); k++) {
+                                mostCommon.put((String) v[k], ((Number) f[k]).doubleValue());
+                            }
+                        }
+                        return new StatusStats(rs.getDouble(1), rs.getDouble(2), mostCommon);
+                    });
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (DataAccessException ex) {
+            log.warn("Candidate status statistics unavailable: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Per-status share of total, as Postgres estimates `status = ?`: a most common value has its own frequency;
+     * any other status gets an even part of what the most common values and nulls leave over, spread across
+     * the remaining distinct values (and never more than the least common of the most common values).
+     * Without statistics every status gets an even share.
+     */
+    static Map<CandidateStatus, Long> statusEstimates(long total, StatusStats stats) {
+        CandidateStatus[] statuses = CandidateStatus.values();
+        Map<CandidateStatus, Long> estimates = new EnumMap<>(CandidateStatus.class);
+        if (stats == null) {
+            for (CandidateStatus status : statuses) estimates.put(status, Math.round((double) total / statuses.length));
+            return estimates;
+        }
+        Map<String, Double> mostCommon = stats.mostCommon();
+        double mostCommonSum = mostCommon.values().stream().mapToDouble(Double::doubleValue).sum();
+        double distinct = stats.nDistinct() >= 0 ? stats.nDistinct() : -stats.nDistinct() * total;
+        double otherDistinct = Math.max(1, distinct - mostCommon.size());
+        double otherFrequency = Math.max(0, 1 - mostCommonSum - stats.nullFrac()) / otherDistinct;
+        if (!mostCommon.isEmpty()) {
+            otherFrequency = Math.min(otherFrequency,
+                    mostCommon.values().stream().mapToDouble(Double::doubleValue).min().orElse(1));
+        }
+        for (CandidateStatus status : statuses) {
+            double frequency = mostCommon.getOrDefault(status.name(), otherFrequency);
+            estimates.put(status, Math.round(total * frequency));
+        }
+        return estimates;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,202 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.api.dto.CandidateListItemResponse;
+import bsaspm2025team2.backend.api.dto.RankedCandidateItem;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.repository.CandidateFilterSql;
+import bsaspm2025team2.backend.util.Csv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Full export of a filtered candidate list, streamed row by row:
+ * - filters and skill matches are evaluated in SQL, rows come through a JDBC cursor (fetch-size rows
+ *   at a time; Postgres only uses a cursor inside a transaction, hence the read-only transaction)
+ * - every row is scored and written immediately, so memory does not grow with the export size
+ * - when the client goes away the next write fails, which ends the query and releases the cursor
+ */
+@Service
+public class CandidateExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    /**
+     * @param requiredSkills required skills of the selected position, null = no position (score 0)
+     */
+    public record Filter(String q, CandidateStatus status, Integer minYears, String requiredSkills, Integer minScore) {}
+
+    private static final String CSV_HEADER = "candidate_id,full_name,email,phone,status,years_of_experience,upload_date,score\n";
+
+    // rows between explicit flushes, so the client sees progress on slow exports
+    private static final int FLUSH_EVERY = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ScoreService scoreService;
+    private final ObjectMapper objectMapper;
+
+    public CandidateExportService(DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  ScoreService scoreService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.scoreService = scoreService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return number of rows written
+     */
+    public long export(Filter filter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        // first byte out before the query has produced anything
+        writer.flush();
+
+        long written = writeSection(filter, null, format, writer);
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * One section per position, each ranked by score (desc, then newest upload first), with
+     * position_id and rank columns; filter.requiredSkills() is replaced by each position's skills.
+     *
+     * @return number of rows written
+     */
+    public long exportRanked(Filter filter, List<Position> positions, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writer.write("position_id,rank," + CSV_HEADER);
+        }
+
+        long written = 0;
+        for (Position position : positions) {
+            Filter section = new Filter(filter.q(), filter.status(), filter.minYears(),
+                    position.getRequiredSkills() == null ? "" : position.getRequiredSkills(), filter.minScore());
+            written += writeSection(section, position.getId(), format, writer);
+        }
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * @param rankedPositionId null = unranked export in id order
+     */
+    private long writeSection(Filter filter, Long rankedPositionId, Format format, Writer writer) throws IOException {
+        ScoreService.RequiredSkills required = filter.requiredSkills() == null
+                ? new ScoreService.RequiredSkills(Set.of(), 0)
+                : scoreService.resolveRequired(filter.requiredSkills());
+        int minScore = filter.minScore() == null ? 0 : Math.max(0, Math.min(100, filter.minScore()));
+
+        List<Object> args = new ArrayList<>();
+        String sql = buildQuery(filter, required, rankedPositionId != null, args);
+
+        long[] written = {0};
+        try {
+            readOnlyTx.executeWithoutResult(tx -> jdbc.query(sql, rs -> {
+                int score = ScoreService.percent(rs.getInt("matches"), required.count());
+                if (score < minScore) return;
+
+                try {
+                    written[0]++;
+                    writeRow(writer, format, rankedPositionId, written[0], toItem(rs, score));
+                    if (written[0] % FLUSH_EVERY == 0) writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            // client disconnected - the transaction is rolled back and the cursor closed
+            throw e.getCause();
+        }
+        return written[0];
+    }
+
+    private static String buildQuery(Filter filter, ScoreService.RequiredSkills required, boolean ranked, List<Object> args) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT c.id, c.full_name, c.email, c.phone, c.status, c.years_of_experience, c.upload_date,
+                """);
+        sql.append("       ").append(CandidateFilterSql.matchesFrom(required.skillIds(), args));
+        sql.append(CandidateFilterSql.whereFilters(filter.status(), filter.minYears(), filter.q(), args));
+        if (ranked) {
+            // matches desc = score desc (same denominator for the whole section)
+            sql.append("ORDER BY matches DESC, c.upload_date DESC, c.id");
+        } else {
+            // primary key order: rows start flowing without sorting the whole table first
+            sql.append("ORDER BY c.id");
+        }
+        return sql.toString();
+    }
+
+    private static CandidateListItemResponse toItem(ResultSet rs, int score) throws SQLException {
+        Timestamp uploaded = rs.getTimestamp("upload_date");
+        return new CandidateListItemResponse(
+                rs.getLong("id"),
+                rs.getString("full_name"),
+                rs.getString("email"),
+                rs.getString("phone"),
+                rs.getString("status"),
+                rs.getObject("years_of_experience", Integer.class),
+                uploaded == null ? null : uploaded.toInstant(),
+                score
+        );
+    }
+
+    private void writeRow(Writer writer, Format format, Long positionId, long rank, CandidateListItemResponse item)
+            throws IOException {
+        if (format == Format.NDJSON) {
+            Object row = positionId == null ? item : new RankedCandidateItem(positionId, rank, item.candidate_id(),
+                    item.full_name(), item.email(), item.phone(), item.status(), item.years_of_experience(),
+                    item.upload_date(), item.score());
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+            return;
+        }
+        if (positionId != null) {
+            writer.write(positionId + "," + rank + ",");
+        }
+        writer.write(String.valueOf(item.candidate_id()));
+        writer.write(',');
+        writer.write(Csv.field(item.full_name()));
+        writer.write(',');
+        writer.write(Csv.field(item.email()));
+        writer.write(',');
+        writer.write(Csv.field(item.phone()));
+        writer.write(',');
+        writer.write(Csv.field(item.status()));
+        writer.write(',');
+        writer.write(item.years_of_experience() == null ? "" : item.years_of_experience().toString());
+        writer.write(',');
+        writer.write(item.upload_date() == null ? "" : item.upload_date().toString());
+        writer.write(',');
+        writer.write(String.valueOf(item.score()));
+        writer.write('\n');
+    }
+}
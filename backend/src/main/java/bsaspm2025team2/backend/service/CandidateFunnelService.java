@@ -0,0 +1,130 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.api.dto.FunnelReportResponse;
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.repository.CandidateFunnelRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Status history and funnel analytics:
+ * - statusChanged() appends a candidate_status_events row and adds it to the daily rollups
+ *   (transition counts, time-in-stage histogram), in the caller's transaction
+ * - report() reads only the rollups: a range costs days x positions x transitions rows, however many events
+ *
+ * Time in stage = time since the candidate's previous status change (or its upload), bucketed by powers of
+ * two hours; the median is interpolated inside its bucket.
+ */
+@Service
+public class CandidateFunnelService {
+
+    // bucket 0 = under 1h, bucket n = [2^(n-1), 2^n) hours; the last one is open-ended (> ~1 year)
+    static final int MAX_BUCKET = 14;
+
+    // funnel order (NEW, IN_REVIEW, ...), unknown names last
+    private static final Comparator<String> STAGE_ORDER = Comparator
+            .comparingInt((String name) -> {
+                for (CandidateStatus s : CandidateStatus.values()) if (s.name().equals(name)) return s.ordinal();
+                return Integer.MAX_VALUE;
+            })
+            .thenComparing(Comparator.naturalOrder());
+
+    private final CandidateFunnelRepository funnelRepository;
+
+    public CandidateFunnelService(CandidateFunnelRepository funnelRepository) {
+        this.funnelRepository = funnelRepository;
+    }
+
+    /**
+     * @param positionId position the candidate was reviewed against, null without one
+     */
+    public void statusChanged(Candidate candidate, CandidateStatus from, Long positionId) {
+        CandidateStatus to = candidate.getStatus();
+        if (from == null || to == null || from == to) return;
+
+        Instant now = Instant.now();
+        Instant since = funnelRepository.lastChangeAt(candidate.getId()).orElse(candidate.getUploadDate());
+        long inStageMs = since == null ? 0 : Math.max(0, Duration.between(since, now).toMillis());
+
+        funnelRepository.insertEvent(candidate.getId(), positionId, from, to, now, inStageMs);
+
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        long positionKey = positionId == null ? 0 : positionId;
+        funnelRepository.incrementTransition(day, positionKey, from, to);
+        funnelRepository.incrementStageTime(day, positionKey, from, bucket(inStageMs));
+    }
+
+    /**
+     * @param positionId null = every position (and changes made without one)
+     */
+    public FunnelReportResponse report(LocalDate from, LocalDate to, Long positionId) {
+        Map<Long, Map<String, Map<String, Long>>> transitions = new TreeMap<>();
+        for (CandidateFunnelRepository.TransitionCount row : funnelRepository.sumTransitions(from, to, positionId)) {
+            transitions.computeIfAbsent(row.positionId(), p -> new TreeMap<>(STAGE_ORDER))
+                    .computeIfAbsent(row.fromStatus(), s -> new TreeMap<>(STAGE_ORDER))
+                    .merge(row.toStatus(), row.transitions(), Long::sum);
+        }
+        Map<Long, Map<String, long[]>> histograms = new TreeMap<>();
+        for (CandidateFunnelRepository.StageTimeCount row : funnelRepository.sumStageTimes(from, to, positionId)) {
+            long[] histogram = histograms.computeIfAbsent(row.positionId(), p -> new TreeMap<>())
+                    .computeIfAbsent(row.stage(), s -> new long[MAX_BUCKET + 1]);
+            histogram[Math.min(Math.max(row.bucket(), 0), MAX_BUCKET)] += row.candidates();
+        }
+
+        List<FunnelReportResponse.PositionFunnel> positions = new ArrayList<>();
+        transitions.forEach((positionKey, byStage) -> {
+            List<FunnelReportResponse.Stage> stages = new ArrayList<>();
+            byStage.forEach((stage, targets) -> {
+                long left = targets.values().stream().mapToLong(Long::longValue).sum();
+                Map<String, Double> conversion = new LinkedHashMap<>();
+                targets.forEach((target, count) -> conversion.put(target, round(count / (double) left, 4)));
+                long[] histogram = histograms.getOrDefault(positionKey, Map.of()).get(stage);
+                stages.add(new FunnelReportResponse.Stage(stage, left, new LinkedHashMap<>(targets), conversion,
+                        histogram == null ? null : medianHours(histogram)));
+            });
+            positions.add(new FunnelReportResponse.PositionFunnel(positionKey == 0 ? null : positionKey, stages));
+        });
+        return new FunnelReportResponse(from, to, positions);
+    }
+
+    static int bucket(long millis) {
+        double hours = millis / 3_600_000.0;
+        if (hours < 1) return 0;
+        return Math.min(MAX_BUCKET, 1 + (int) Math.floor(Math.log(hours) / Math.log(2)));
+    }
+
+    static Double medianHours(long[] histogram) {
+        long total = 0;
+        for (long count : histogram) total += count;
+        if (total == 0) return null;
+
+        double half = total / 2.0;
+        long seen = 0;
+        for (int b = 0; b < histogram.length; b++) {
+            if (histogram[b] == 0) continue;
+            if (seen + histogram[b] >= half) {
+                double lower = b == 0 ? 0 : Math.pow(2, b - 1);
+                double upper = b == 0 ? 1 : Math.pow(2, b);
+                return round(lower + (upper - lower) * (half - seen) / histogram[b], 1);
+            }
+            seen += histogram[b];
+        }
+        return null;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+}
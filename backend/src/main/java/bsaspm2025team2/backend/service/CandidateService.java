@@ -1,12 +1,15 @@
 package bsaspm2025team2.backend.service;
 
-import bsaspm2025team2.backend.api.CandidateNotFoundException;
 import bsaspm2025team2.backend.validation.ValidationException;
 import bsaspm2025team2.backend.api.dto.UpdateCandidateRequest;
 import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
 import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.PositionRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -15,18 +18,39 @@ import java.util.Map;
 public class CandidateService {
 
     private final CandidateRepository candidateRepository;
+    private final PositionRepository positionRepository;
+    private final CandidateSkillIndexer candidateSkillIndexer;
+    private final CandidateStatusCounts statusCounts;
+    private final CandidateFunnelService funnelService;
 
-    public CandidateService(CandidateRepository candidateRepository) {
+    public CandidateService(CandidateRepository candidateRepository,
+                            PositionRepository positionRepository,
+                            CandidateSkillIndexer candidateSkillIndexer,
+                            CandidateStatusCounts statusCounts,
+                            CandidateFunnelService funnelService) {
         this.candidateRepository = candidateRepository;
+        this.positionRepository = positionRepository;
+        this.candidateSkillIndexer = candidateSkillIndexer;
+        this.statusCounts = statusCounts;
+        this.funnelService = funnelService;
     }
 
+    /**
+     * HR "Save" on the candidate card: the fields become final (draft = false), skills are re-indexed and a
+     * status change goes to the counters and the funnel history, all in one transaction.
+     *
+     * @param positionId the position the candidate is reviewed against, for the funnel; may be null or unknown
+     */
     @Transactional
-    public Candidate updateCandidate(Long id, UpdateCandidateRequest req) {
+    public Candidate updateCandidate(Long id, UpdateCandidateRequest req, Long positionId) {
         Candidate candidate = candidateRepository.findById(id)
-                .orElseThrow(() -> new CandidateNotFoundException(id));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Candidate not found"));
 
-        // server-side required-field validation
+        // server-side validation: status + email + phone required
         Map<String, String> errors = new LinkedHashMap<>();
+        if (req.status() == null) {
+            errors.put("status", "Status is required");
+        }
         if (req.email() == null || req.email().isBlank()) {
             errors.put("email", "Email is required");
         }
@@ -38,12 +62,25 @@ public class CandidateService {
         }
 
         // update fields
+        CandidateStatus previousStatus = candidate.getStatus();
         candidate.setFullName(req.fullName());
         candidate.setEmail(req.email());
         candidate.setPhone(req.phone());
         candidate.setSkills(req.skills());
         candidate.setYearsOfExperience(req.yearsOfExperience());
+        candidate.setStatus(req.status());
+
+        // after "Save" the data is final
+        candidate.setDraft(false);
 
-        return candidateRepository.save(candidate);
+        Candidate saved = candidateRepository.save(candidate);
+        candidateSkillIndexer.index(saved);
+        statusCounts.statusChanged(previousStatus, saved.getStatus());
+        if (previousStatus != saved.getStatus()) {
+            // status history, attributed to the position the candidate is reviewed against
+            Long funnelPosition = positionId != null && positionRepository.existsById(positionId) ? positionId : null;
+            funnelService.statusChanged(saved, previousStatus, funnelPosition);
+        }
+        return saved;
     }
 }
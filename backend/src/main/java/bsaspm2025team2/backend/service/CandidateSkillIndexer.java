@@ -0,0 +1,91 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.extraction.SkillMatcher;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps candidate_skills in sync with candidates.skills.
+ *
+ * The skills text is tokenized like ScoreService.score() does it: dictionary names/aliases become their
+ * skill id, every other token a non-curated skill row. Called wherever skills are written
+ * (upload, edit, re-extraction, skill dictionary changes); V9 backfilled candidates created before.
+ * Every candidate write re-indexes in the same transaction, so the ReportDataChangedEvent published here
+ * covers those writes as well as the JDBC rows.
+ */
+@Service
+public class CandidateSkillIndexer {
+
+    // skills.name is VARCHAR(100)
+    private static final int MAX_TOKEN_LENGTH = 100;
+
+    private final CandidateSkillRepository candidateSkillRepository;
+    private final SkillDictionary skillDictionary;
+    private final ScoreService scoreService;
+    private final ApplicationEventPublisher events;
+
+    public CandidateSkillIndexer(CandidateSkillRepository candidateSkillRepository,
+                                 SkillDictionary skillDictionary,
+                                 ScoreService scoreService,
+                                 ApplicationEventPublisher events) {
+        this.candidateSkillRepository = candidateSkillRepository;
+        this.skillDictionary = skillDictionary;
+        this.scoreService = scoreService;
+        this.events = events;
+    }
+
+    public void index(Candidate candidate) {
+        index(Map.of(candidate.getId(), nullToEmpty(candidate.getSkills())), skillDictionary.current());
+    }
+
+    public void indexAll(Collection<Candidate> candidates) {
+        Map<Long, String> skills = new HashMap<>();
+        for (Candidate c : candidates) skills.put(c.getId(), nullToEmpty(c.getSkills()));
+        index(skills, skillDictionary.current());
+    }
+
+    /**
+     * @param skillsByCandidate candidate id -> skills text
+     * @param dictionary        skills resolved to their ids
+     */
+    public void index(Map<Long, String> skillsByCandidate, SkillMatcher dictionary) {
+        if (skillsByCandidate.isEmpty()) return;
+
+        Map<Long, Set<Object>> keysByCandidate = new HashMap<>();
+        Set<String> tokens = new HashSet<>();
+        skillsByCandidate.forEach((candidateId, skills) -> {
+            Set<Object> keys = scoreService.skillKeys(skills, dictionary);
+            keysByCandidate.put(candidateId, keys);
+            for (Object key : keys) {
+                if (key instanceof String token && token.length() <= MAX_TOKEN_LENGTH) tokens.add(token);
+            }
+        });
+
+        Map<String, Long> tokenIds = candidateSkillRepository.registerTokens(tokens);
+
+        Map<Long, Set<Long>> skillIds = new HashMap<>();
+        keysByCandidate.forEach((candidateId, keys) -> {
+            Set<Long> ids = new HashSet<>();
+            for (Object key : keys) {
+                Long id = key instanceof Long skillId ? skillId : tokenIds.get((String) key);
+                if (id != null) ids.add(id);
+            }
+            skillIds.put(candidateId, ids);
+        });
+        candidateSkillRepository.replaceSkills(skillIds);
+        events.publishEvent(new ReportDataChangedEvent("candidate_skills"));
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
@@ -0,0 +1,83 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Exact number of candidates per status, read by the live pipeline stats (PipelineStatsStream) and the
+ * list totals (CandidateCountService):
+ * - loaded with one GROUP BY on first use, then kept up to date by candidateCreated()/statusChanged(),
+ *   applied after the writing transaction commits - the only counter the write paths notify
+ * - re-read when older than `resync-interval` (writes of other instances or outside the hooks show up after that)
+ */
+@Service
+public class CandidateStatusCounts {
+
+    private final CandidateRepository candidateRepository;
+    private final long resyncNanos;
+
+    // guarded by this; null = not loaded yet
+    private EnumMap<CandidateStatus, Long> counts;
+    private long loadedAtNanos;
+
+    public CandidateStatusCounts(CandidateRepository candidateRepository,
+                                 @Value("${app.candidate-counts.resync-interval:5m}") Duration resyncInterval) {
+        this.candidateRepository = candidateRepository;
+        this.resyncNanos = resyncInterval.toNanos();
+    }
+
+    /**
+     * Count of every status (0 for statuses without candidates).
+     */
+    public synchronized Map<CandidateStatus, Long> snapshot() {
+        if (counts == null || System.nanoTime() - loadedAtNanos >= resyncNanos) load();
+        return new EnumMap<>(counts);
+    }
+
+    public void candidateCreated(CandidateStatus status) {
+        afterCommit(() -> apply(null, status));
+    }
+
+    public void statusChanged(CandidateStatus from, CandidateStatus to) {
+        if (from == to) return;
+        afterCommit(() -> apply(from, to));
+    }
+
+    private synchronized void apply(CandidateStatus from, CandidateStatus to) {
+        // not loaded: the first snapshot() counts the change anyway
+        if (counts == null) return;
+        if (from != null) counts.merge(from, -1L, Long::sum);
+        if (to != null) counts.merge(to, 1L, Long::sum);
+    }
+
+    private void load() {
+        EnumMap<CandidateStatus, Long> fresh = new EnumMap<>(CandidateStatus.class);
+        for (CandidateStatus s : CandidateStatus.values()) fresh.put(s, 0L);
+        for (CandidateRepository.StatusCount row : candidateRepository.countByStatus()) {
+            if (row.getStatus() != null) fresh.put(row.getStatus(), row.getCount());
+        }
+        counts = fresh;
+        loadedAtNanos = System.nanoTime();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
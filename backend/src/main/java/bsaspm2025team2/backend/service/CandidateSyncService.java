@@ -0,0 +1,121 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateTombstone;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateTombstoneRepository;
+import bsaspm2025team2.backend.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta sync over candidates: changed rows (updated_at) and deletions (candidate_tombstones),
+ * merged into one stream ordered by (time, candidate id) and paged with a keyset cursor.
+ * Each page costs two index range scans, so a sync reads only what changed.
+ *
+ * Rows younger than the settle window are held back to the next call: a transaction that stamped
+ * updated_at earlier but commits later must not end up behind a cursor a client already has. Writers stamp
+ * at flush time (Candidate.touch()); the upload, which parses inside its transaction, touches the candidate
+ * again so it is flushed at commit. The window only has to cover flush-to-commit and clock differences
+ * between instances, not the length of a transaction.
+ *
+ * Both sides use the application clock: updated_at comes from Candidate.touch(), and tombstones written by the
+ * database trigger are stamped here on the next call (later than any `until` handed out before).
+ */
+@Service
+public class CandidateSyncService {
+
+    public record Cursor(Instant time, long id) {
+
+        public String encode() {
+            String raw = time.getEpochSecond() + "." + time.getNano() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int dot = raw.indexOf('.');
+                int colon = raw.indexOf(':');
+                return new Cursor(
+                        Instant.ofEpochSecond(Long.parseLong(raw.substring(0, dot)), Long.parseLong(raw.substring(dot + 1, colon))),
+                        Long.parseLong(raw.substring(colon + 1)));
+            } catch (RuntimeException e) {
+                throw new ValidationException(Map.of("cursor", "Invalid cursor"));
+            }
+        }
+    }
+
+    /**
+     * @param candidate null for a deletion
+     */
+    public record Change(long candidateId, Instant changedAt, Candidate candidate) {
+        public boolean deleted() { return candidate == null; }
+    }
+
+    /**
+     * @param next    cursor for the next call (also when hasMore is false - keep it for the next sync)
+     * @param hasMore more changes are available right now
+     */
+    public record Page(List<Change> changes, Cursor next, boolean hasMore) {}
+
+    private static final Comparator<Change> ORDER =
+            Comparator.comparing(Change::changedAt).thenComparingLong(Change::candidateId);
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateTombstoneRepository tombstoneRepository;
+    private final Duration settleWindow;
+
+    public CandidateSyncService(CandidateRepository candidateRepository,
+                                CandidateTombstoneRepository tombstoneRepository,
+                                @Value("${app.sync.settle-window:5s}") Duration settleWindow) {
+        this.candidateRepository = candidateRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleWindow = settleWindow;
+    }
+
+    /**
+     * @param since  start of an initial sync (exclusive); ignored when a cursor is given; null = everything
+     * @param cursor next cursor of the previous page/sync
+     */
+    @Transactional
+    public Page changes(Instant since, String cursor, int limit) {
+        Cursor after = cursor != null && !cursor.isBlank()
+                ? Cursor.decode(cursor)
+                // every id is below MAX_VALUE: only rows strictly after `since`
+                : new Cursor(since != null ? since : Instant.EPOCH, Long.MAX_VALUE);
+        // the column keeps microseconds, like updated_at
+        tombstoneRepository.stampUnstamped(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        Instant until = Instant.now().minus(settleWindow);
+
+        // limit + 1 from each side is enough to fill the page and tell whether there is more
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<Change> merged = new ArrayList<>();
+        for (Candidate c : candidateRepository.findChangedAfter(after.time(), after.id(), until, window)) {
+            merged.add(new Change(c.getId(), c.getUpdatedAt(), c));
+        }
+        for (CandidateTombstone t : tombstoneRepository.findDeletedAfter(after.time(), after.id(), until, window)) {
+            merged.add(new Change(t.getCandidateId(), t.getDeletedAt(), null));
+        }
+        merged.sort(ORDER);
+
+        boolean hasMore = merged.size() > limit;
+        List<Change> page = hasMore ? merged.subList(0, limit) : merged;
+        Cursor next = page.isEmpty()
+                ? after
+                : new Cursor(page.get(page.size() - 1).changedAt(), page.get(page.size() - 1).candidateId());
+        return new Page(List.copyOf(page), next, hasMore);
+    }
+}
@@ -0,0 +1,240 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.storage.FileStorageService;
+import bsaspm2025team2.backend.validation.FileTooLargeException;
+import bsaspm2025team2.backend.validation.PdfValidationService;
+import bsaspm2025team2.backend.validation.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable resume uploads in chunks: start() -> append() chunks at increasing offsets -> complete().
+ * - chunks are written straight into the storage file "uploads/<id>.part"; a chunk that breaks off keeps the
+ *   bytes received so far, status() tells the client where to continue
+ * - an append at another offset than the current one is rejected (409) with nothing written
+ * - complete() runs the normal upload (validation, candidate, extraction) on the assembled file and moves it
+ *   to its final key; calling it again returns the same candidate
+ * - a start() with the Idempotency-Key of an open session returns that session; the key also goes to the
+ *   upload, so it is deduplicated against single-request uploads as well
+ * - sessions not touched for `session-ttl` are dropped with their files (checked on every call);
+ *   at most `max-sessions` are open at once (503 beyond that); completed sessions, kept until then so that
+ *   complete() and status() can be repeated, do not count
+ *
+ * Sessions are kept in memory: after a restart they (and their part files) are gone.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    public record Status(String id, String filename, long size, long offset, Long candidateId) {}
+
+    private final ResumeUploadService resumeUploadService;
+    private final FileStorageService fileStorageService;
+    private final Duration sessionTtl;
+    private final int maxSessions;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(ResumeUploadService resumeUploadService,
+                                FileStorageService fileStorageService,
+                                @Value("${app.uploads.chunked.session-ttl:24h}") Duration sessionTtl,
+                                @Value("${app.uploads.chunked.max-sessions:100}") int maxSessions) {
+        this.resumeUploadService = resumeUploadService;
+        this.fileStorageService = fileStorageService;
+        this.sessionTtl = sessionTtl;
+        this.maxSessions = Math.max(1, maxSessions);
+    }
+
+    /**
+     * Opens a session for a file of `size` bytes, or returns the open session with the same Idempotency-Key.
+     */
+    public synchronized Status start(String filename, long size, String idempotencyKey) {
+        evictExpired();
+        if (filename == null || filename.isBlank()) {
+            throw new ValidationException(Map.of("filename", "Filename is required"));
+        }
+        if (size <= 0) {
+            throw new ValidationException(Map.of("size", "Must be > 0"));
+        }
+        if (size > PdfValidationService.maxFileSize()) {
+            throw new FileTooLargeException("Maximum allowed file size is 10MB");
+        }
+
+        String key = UploadIdempotencyService.normalizeKey(idempotencyKey);
+        if (key != null) {
+            for (Session s : sessions.values()) {
+                if (!key.equals(s.idempotencyKey)) continue;
+                if (s.size != size) {
+                    throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            UploadIdempotencyService.HEADER + " was already used for a different file");
+                }
+                s.touch();
+                return s.snapshot();
+            }
+        }
+
+        if (openSessions() >= maxSessions) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open uploads, try again later");
+        }
+        Session session = new Session(UUID.randomUUID().toString(), filename.trim(), size, key);
+        sessions.put(session.id, session);
+        return session.snapshot();
+    }
+
+    public Status status(String id) {
+        evictExpired();
+        return find(id).snapshot();
+    }
+
+    /**
+     * Writes a chunk at `offset`, which must be the number of bytes received so far.
+     */
+    public Status append(String id, long offset, InputStream chunk) {
+        evictExpired();
+        Session session = find(id);
+        if (!session.lock.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Another chunk of this upload is being written");
+        }
+        try {
+            if (session.candidateId != null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload is already completed");
+            }
+            if (offset != session.received) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Expected offset " + session.received);
+            }
+
+            long remaining = session.size - offset;
+            try {
+                fileStorageService.writeChunk(session.partKey, offset, chunk, remaining);
+            } finally {
+                // a broken-off chunk keeps what arrived
+                session.received = Math.min(session.size, fileStorageService.size(session.partKey));
+                session.touch();
+            }
+            if (session.received == session.size && hasMore(chunk)) {
+                throw new FileTooLargeException("Chunk exceeds the declared file size of " + session.size + " bytes");
+            }
+            return session.snapshot();
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Creates the candidate from the assembled file (once all bytes were received).
+     */
+    public ResumeUploadService.Upload complete(String id) {
+        evictExpired();
+        Session session = find(id);
+        session.lock.lock();
+        try {
+            if (session.candidateId != null) return new ResumeUploadService.Upload(session.candidateId, true);
+            if (session.received != session.size) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Upload is incomplete: " + session.received + " of " + session.size + " bytes received");
+            }
+
+            ResumeUploadService.Upload upload;
+            try {
+                upload = resumeUploadService.uploadStored(session.partKey, session.filename, session.size,
+                        session.idempotencyKey);
+            } catch (ResponseStatusException ex) {
+                // Idempotency-Key conflict, raised before the file is touched
+                throw ex;
+            } catch (RuntimeException ex) {
+                // invalid file, or the moved file was rolled back: the content has to be sent again
+                remove(session);
+                throw ex;
+            }
+            // replayed: the file was not moved
+            if (upload.replayed()) fileStorageService.deleteQuietly(session.partKey);
+            session.candidateId = upload.candidateId();
+            session.touch();
+            return upload;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    public void cancel(String id) {
+        remove(find(id));
+    }
+
+    private Session find(String id) {
+        Session session = id == null ? null : sessions.get(id);
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found");
+        }
+        return session;
+    }
+
+    private void remove(Session session) {
+        if (sessions.remove(session.id, session) && session.candidateId == null) {
+            fileStorageService.deleteQuietly(session.partKey);
+        }
+    }
+
+    private long openSessions() {
+        return sessions.values().stream().filter(s -> s.candidateId == null).count();
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        for (Session session : sessions.values()) {
+            if (session.lastActivity.isBefore(cutoff) && !session.lock.isLocked()) {
+                log.info("Chunked upload {} expired after {} of {} bytes", session.id, session.received, session.size);
+                remove(session);
+            }
+        }
+    }
+
+    private static boolean hasMore(InputStream in) {
+        try {
+            return in.read() >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static class Session {
+        final String id;
+        final String filename;
+        final long size;
+        final String idempotencyKey;
+        final String partKey;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile long received;
+        volatile Long candidateId;
+        volatile Instant lastActivity = Instant.now();
+
+        Session(String id, String filename, long size, String idempotencyKey) {
+            this.id = id;
+            this.filename = filename;
+            this.size = size;
+            this.idempotencyKey = idempotencyKey;
+            this.partKey = "uploads/" + id + ".part";
+        }
+
+        void touch() {
+            lastActivity = Instant.now();
+        }
+
+        Status snapshot() {
+            return new Status(id, filename, size, received, candidateId);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.api.dto.PipelineStatsResponse;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live pipeline stats (candidates per status, no filters) pushed to SSE subscribers:
+ * - counts are the shared counters of CandidateStatusCounts (kept up to date by the write paths, resynced there)
+ * - changes are pushed at most every `min-interval`, one event for a burst of changes
+ * - without subscribers nothing is pushed or queried
+ */
+@Service
+public class PipelineStatsStream {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelineStatsStream.class);
+
+    public static final String EVENT_NAME = "pipeline-stats";
+
+    private final CandidateStatusCounts statusCounts;
+    private final long timeoutMillis;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "pipeline-stats-stream");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // guarded by this; counts of the last push, null = nothing pushed since the last subscriber left
+    private Map<CandidateStatus, Long> pushed;
+
+    public PipelineStatsStream(CandidateStatusCounts statusCounts,
+                               @Value("${app.pipeline-stream.min-interval:500ms}") Duration minInterval,
+                               @Value("${app.pipeline-stream.heartbeat:30s}") Duration heartbeat,
+                               @Value("${app.pipeline-stream.timeout:30m}") Duration timeout) {
+        this.statusCounts = statusCounts;
+        this.timeoutMillis = timeout.toMillis();
+
+        long tick = Math.max(10, minInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+        long beat = Math.max(1000, heartbeat.toMillis());
+        scheduler.scheduleWithFixedDelay(this::heartbeat, beat, beat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * New subscriber; the current counts are sent right away.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        Map<CandidateStatus, Long> counts = statusCounts.snapshot();
+        synchronized (this) {
+            // the others get these counts with the next push, if they differ from what they have
+            if (pushed == null) pushed = counts;
+        }
+        emitters.add(emitter);
+        send(emitter, toResponse(counts));
+        return emitter;
+    }
+
+    /**
+     * Current counts.
+     */
+    public PipelineStatsResponse snapshot() {
+        return toResponse(statusCounts.snapshot());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        for (SseEmitter emitter : emitters) emitter.complete();
+        emitters.clear();
+    }
+
+    private void tick() {
+        try {
+            if (emitters.isEmpty()) {
+                synchronized (this) {
+                    pushed = null;
+                }
+                return;
+            }
+            Map<CandidateStatus, Long> counts = statusCounts.snapshot();
+            synchronized (this) {
+                if (counts.equals(pushed)) return;
+                pushed = counts;
+            }
+            PipelineStatsResponse changed = toResponse(counts);
+            for (SseEmitter emitter : emitters) send(emitter, changed);
+        } catch (Exception ex) {
+            // keep the scheduler alive, next tick retries
+            log.warn("Pipeline stats push failed", ex);
+        }
+    }
+
+    private void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, PipelineStatsResponse stats) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(stats));
+        } catch (IOException | IllegalStateException e) {
+            // client went away
+            emitters.remove(emitter);
+        }
+    }
+
+    private static PipelineStatsResponse toResponse(Map<CandidateStatus, Long> counts) {
+        Map<String, Long> byName = new LinkedHashMap<>();
+        counts.forEach((status, count) -> byName.put(status.name(), count));
+        return new PipelineStatsResponse(byName);
+    }
+}
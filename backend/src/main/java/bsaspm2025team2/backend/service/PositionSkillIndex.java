@@ -0,0 +1,154 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.extraction.SkillMatcher;
+import bsaspm2025team2.backend.repository.PositionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index skill -> positions over positions.required_skills, for "which positions fit this candidate".
+ *
+ * Skills are the keys of ScoreService.score() (dictionary id or plain token), so bestPositions() gives
+ * exactly score(candidate, position), but only looks at positions sharing at least one skill with the candidate.
+ *
+ * The index is an immutable snapshot swapped on every change (positions change rarely, reads are frequent):
+ * - built from all positions on first use, and again when the skill dictionary was reloaded
+ * - PositionController calls put()/remove() after each write
+ * - rebuilt when older than `rebuild-interval` (writes of other instances or outside the controller show up after that)
+ */
+@Service
+public class PositionSkillIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PositionSkillIndex.class);
+
+    public record Match(Long positionId, String name, int score) {}
+
+    private record Entry(String name, Set<Object> skills) {}
+
+    /**
+     * @param builtAtNanos time of the full rebuild; put()/remove() keep it
+     */
+    private record Snapshot(SkillMatcher dictionary, Map<Object, Set<Long>> positionsBySkill, Map<Long, Entry> positions,
+                            long builtAtNanos) {}
+
+    private final PositionRepository positionRepository;
+    private final SkillDictionary skillDictionary;
+    private final ScoreService scoreService;
+    private final long rebuildNanos;
+
+    private volatile Snapshot snapshot;
+
+    public PositionSkillIndex(PositionRepository positionRepository,
+                              SkillDictionary skillDictionary,
+                              ScoreService scoreService,
+                              @Value("${app.position-index.rebuild-interval:5m}") Duration rebuildInterval) {
+        this.positionRepository = positionRepository;
+        this.skillDictionary = skillDictionary;
+        this.scoreService = scoreService;
+        this.rebuildNanos = rebuildInterval.toNanos();
+    }
+
+    /**
+     * Top k positions by score (desc, then position id), positions with score 0 are left out.
+     */
+    public List<Match> bestPositions(String candidateSkills, int k) {
+        Snapshot index = current();
+        Set<Object> candidate = scoreService.skillKeys(candidateSkills, index.dictionary());
+
+        Map<Long, Integer> matches = new HashMap<>();
+        for (Object skill : candidate) {
+            Set<Long> positionIds = index.positionsBySkill().get(skill);
+            if (positionIds == null) continue;
+            for (Long positionId : positionIds) matches.merge(positionId, 1, Integer::sum);
+        }
+
+        List<Match> result = new ArrayList<>(matches.size());
+        matches.forEach((positionId, count) -> {
+            Entry entry = index.positions().get(positionId);
+            result.add(new Match(positionId, entry.name(), ScoreService.percent(count, entry.skills().size())));
+        });
+        result.sort(Comparator.comparingInt(Match::score).reversed().thenComparing(Match::positionId));
+        return result.size() > k ? List.copyOf(result.subList(0, k)) : result;
+    }
+
+    public synchronized void put(Position position) {
+        Snapshot index = snapshot;
+        if (index == null || index.dictionary() != skillDictionary.current()) {
+            // the rebuild reads the saved row
+            snapshot = null;
+            return;
+        }
+        Map<Object, Set<Long>> bySkill = new HashMap<>(index.positionsBySkill());
+        Map<Long, Entry> positions = new HashMap<>(index.positions());
+        unlink(bySkill, positions.remove(position.getId()), position.getId());
+
+        Entry entry = new Entry(position.getName(), scoreService.skillKeys(position.getRequiredSkills(), index.dictionary()));
+        positions.put(position.getId(), entry);
+        for (Object skill : entry.skills()) {
+            Set<Long> ids = new HashSet<>(bySkill.getOrDefault(skill, Set.of()));
+            ids.add(position.getId());
+            bySkill.put(skill, ids);
+        }
+        snapshot = new Snapshot(index.dictionary(), bySkill, positions, index.builtAtNanos());
+    }
+
+    public synchronized void remove(Long positionId) {
+        Snapshot index = snapshot;
+        if (index == null || !index.positions().containsKey(positionId)) return;
+
+        Map<Object, Set<Long>> bySkill = new HashMap<>(index.positionsBySkill());
+        Map<Long, Entry> positions = new HashMap<>(index.positions());
+        unlink(bySkill, positions.remove(positionId), positionId);
+        snapshot = new Snapshot(index.dictionary(), bySkill, positions, index.builtAtNanos());
+    }
+
+    private Snapshot current() {
+        Snapshot index = snapshot;
+        if (upToDate(index, skillDictionary.current())) return index;
+        return rebuild();
+    }
+
+    private boolean upToDate(Snapshot index, SkillMatcher dictionary) {
+        return index != null && index.dictionary() == dictionary
+                && System.nanoTime() - index.builtAtNanos() < rebuildNanos;
+    }
+
+    private synchronized Snapshot rebuild() {
+        SkillMatcher dictionary = skillDictionary.current();
+        if (upToDate(snapshot, dictionary)) return snapshot;
+
+        Map<Object, Set<Long>> bySkill = new HashMap<>();
+        Map<Long, Entry> positions = new HashMap<>();
+        for (Position p : positionRepository.findAll()) {
+            Entry entry = new Entry(p.getName(), scoreService.skillKeys(p.getRequiredSkills(), dictionary));
+            positions.put(p.getId(), entry);
+            for (Object skill : entry.skills()) bySkill.computeIfAbsent(skill, s -> new HashSet<>()).add(p.getId());
+        }
+        snapshot = new Snapshot(dictionary, bySkill, positions, System.nanoTime());
+        log.debug("Position skill index built: {} positions, {} skills", positions.size(), bySkill.size());
+        return snapshot;
+    }
+
+    private static void unlink(Map<Object, Set<Long>> bySkill, Entry previous, Long positionId) {
+        if (previous == null) return;
+        for (Object skill : previous.skills()) {
+            Set<Long> ids = new HashSet<>(bySkill.getOrDefault(skill, Set.of()));
+            ids.remove(positionId);
+            if (ids.isEmpty()) bySkill.remove(skill);
+            else bySkill.put(skill, ids);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package bsaspm2025team2.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of report results (pipeline stats, top candidates), keyed by report + normalized filters:
+ * - concurrent requests for the same key share one computation (the first caller computes, the others wait)
+ * - results live for `ttl`; every write to candidates, candidate_skills, positions or skills clears the cache
+ *   (ReportDataChangedEvent, published by the write paths), once right away and again after the transaction
+ *   commits, so a report computed in between is not kept either
+ * - for `replica-max-lag` after an invalidation, recentlyInvalidated() is true: a read replica may not have the
+ *   write yet, so callers fill the cache from the primary then (a replica result would be kept for the full ttl)
+ *
+ * Metrics: reports.cache.requests{report, result=hit|miss|coalesced}, reports.cache.invalidations,
+ * reports.cache.size.
+ */
+@Component
+public class ReportCache {
+
+    private record Key(String report, Object params) {}
+
+    private static final class Entry {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        // in flight until computed
+        volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        boolean expired(long now) {
+            return expiresAtNanos != Long.MAX_VALUE && now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final MeterRegistry registry;
+    private final Counter invalidations;
+    private final long replicaMaxLagNanos;
+    // System.nanoTime() of the last invalidation, 0 = none yet
+    private volatile long invalidatedAtNanos;
+
+    public ReportCache(MeterRegistry registry,
+                       @Value("${app.reports.cache.ttl:30s}") Duration ttl,
+                       @Value("${app.reports.cache.max-entries:1000}") int maxEntries,
+                       @Value("${app.datasource.replica.max-lag:10s}") Duration replicaMaxLag) {
+        this.registry = registry;
+        this.replicaMaxLagNanos = replicaMaxLag.toNanos();
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.invalidations = Counter.builder("reports.cache.invalidations")
+                .description("Report cache clears caused by writes")
+                .register(registry);
+        Gauge.builder("reports.cache.size", entries, Map::size)
+                .description("Cached or in-flight report results")
+                .register(registry);
+    }
+
+    /**
+     * @param params normalized filters (equals/hashCode), e.g. a record
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, Object params, Supplier<T> compute) {
+        Key key = new Key(report, params);
+        if (ttlNanos <= 0) {
+            count(report, "miss");
+            return compute.get();
+        }
+
+        long now = System.nanoTime();
+        Entry created = new Entry();
+        Entry entry = entries.compute(key, (k, current) -> current == null || current.expired(now) ? created : current);
+
+        if (entry != created) {
+            count(report, entry.result.isDone() ? "hit" : "coalesced");
+            return (T) await(entry);
+        }
+
+        count(report, "miss");
+        evictIfFull(now);
+        try {
+            T value = compute.get();
+            entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+            entry.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            // waiting callers get the same error, the next request computes again
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @EventListener
+    public void dataChanged(ReportDataChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Clears the cache now and, inside a transaction, once more after it completes.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            // one callback per transaction, however many rows it writes
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportCache.this);
+                    clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * True within replica-max-lag of the last invalidation.
+     */
+    public boolean recentlyInvalidated() {
+        long at = invalidatedAtNanos;
+        return at != 0 && System.nanoTime() - at < replicaMaxLagNanos;
+    }
+
+    private void clear() {
+        invalidatedAtNanos = System.nanoTime();
+        if (entries.isEmpty()) return;
+        entries.clear();
+        invalidations.increment();
+    }
+
+    private void evictIfFull(long now) {
+        if (entries.size() <= maxEntries) return;
+        entries.values().removeIf(e -> e.expired(now));
+        if (entries.size() > maxEntries) {
+            // many distinct filter combinations: start over rather than track recency
+            entries.values().removeIf(e -> e.result.isDone());
+        }
+    }
+
+    private static Object await(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private void count(String report, String result) {
+        Counter.builder("reports.cache.requests")
+                .description("Report requests by cache outcome")
+                .tag("report", report)
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+}
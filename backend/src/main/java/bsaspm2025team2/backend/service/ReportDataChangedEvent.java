@@ -0,0 +1,9 @@
+package bsaspm2025team2.backend.service;
+
+/**
+ * Published by every write to data the reports are computed from (candidates, candidate_skills, positions,
+ * skills), JPA or plain JDBC; ReportCache clears itself on it.
+ *
+ * @param table the table written, for logs/debugging
+ */
+public record ReportDataChangedEvent(String table) {}
@@ -0,0 +1,255 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.storage.FileStorageService;
+import bsaspm2025team2.backend.validation.ValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background generation of large reports (ranked candidates of one or more positions):
+ * - submit() returns a job id immediately, the report is written by a bounded pool of report threads
+ *   to "reports/<job id>.<format>" through FileStorageService
+ * - a submit with the same parameters as a queued/running job returns that job instead of starting another
+ * - a full queue is rejected with 503, so a burst of requests cannot pile up unbounded work
+ * - finished jobs and their files are dropped after `retention` (checked on every call)
+ *
+ * Jobs are kept in memory: after a restart they (and their ids) are gone.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * Report parameters; normalized() is the deduplication key.
+     */
+    public record Params(
+            List<Long> positionIds,
+            CandidateExportService.Format format,
+            String q,
+            CandidateStatus status,
+            Integer minYears,
+            Integer minScore
+    ) {
+        Params normalized() {
+            String query = q == null || q.isBlank() ? null : q.trim().toLowerCase(Locale.ROOT);
+            return new Params(positionIds.stream().distinct().sorted().toList(), format, query, status, minYears, minScore);
+        }
+    }
+
+    public record Status(
+            String id,
+            State state,
+            Params params,
+            Instant createdAt,
+            Instant startedAt,
+            Instant finishedAt,
+            long rows,
+            String error
+    ) {}
+
+    /**
+     * A completed report file.
+     */
+    public record Result(Path file, String filename, CandidateExportService.Format format) {}
+
+    private final PositionRepository positionRepository;
+    private final CandidateExportService exportService;
+    private final FileStorageService fileStorageService;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(PositionRepository positionRepository,
+                            CandidateExportService exportService,
+                            FileStorageService fileStorageService,
+                            @Value("${app.reports.jobs.threads:2}") int threads,
+                            @Value("${app.reports.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${app.reports.jobs.retention:24h}") Duration retention) {
+        this.positionRepository = positionRepository;
+        this.exportService = exportService;
+        this.fileStorageService = fileStorageService;
+        this.retention = retention;
+
+        AtomicInteger ids = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "report-job-" + ids.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Queues a report, or returns the queued/running job with the same parameters.
+     */
+    public synchronized Status submit(Params params) {
+        evictExpired();
+        Params key = params.normalized();
+
+        for (Job job : jobs.values()) {
+            if (job.params.equals(key) && (job.state == State.QUEUED || job.state == State.RUNNING)) {
+                return job.snapshot();
+            }
+        }
+
+        List<Position> positions = loadPositions(key.positionIds());
+        Job job = new Job(UUID.randomUUID().toString(), key);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, positions));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many report jobs, try again later");
+        }
+        return job.snapshot();
+    }
+
+    public Status status(String id) {
+        evictExpired();
+        return find(id).snapshot();
+    }
+
+    /**
+     * The report file of a completed job; 409 while it is still queued/running or when it failed.
+     */
+    public Result result(String id) {
+        evictExpired();
+        Job job = find(id);
+        if (job.state != State.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Report job is " + job.state.name());
+        }
+        Path file = fileStorageService.resolve(job.storageKey);
+        if (!Files.exists(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Report file not found");
+        }
+        return new Result(file, "report-" + job.id + extension(job.params.format()), job.params.format());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, List<Position> positions) {
+        job.start();
+        String storageKey = "reports/" + job.id + extension(job.params.format());
+        CandidateExportService.Filter filter = new CandidateExportService.Filter(
+                job.params.q(), job.params.status(), job.params.minYears(), null, job.params.minScore());
+        try {
+            long[] rows = {0};
+            fileStorageService.saveStream(storageKey,
+                    out -> rows[0] = exportService.exportRanked(filter, positions, job.params.format(), out));
+            job.complete(storageKey, rows[0]);
+            log.info("Report job {} completed: {} rows", job.id, rows[0]);
+        } catch (Exception ex) {
+            log.error("Report job {} failed", job.id, ex);
+            job.fail(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    private List<Position> loadPositions(List<Long> ids) {
+        Map<Long, Position> found = new HashMap<>();
+        for (Position p : positionRepository.findAllById(ids)) found.put(p.getId(), p);
+
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ValidationException(Map.of("position_ids", "Unknown position id(s): " + missing));
+        }
+        List<Position> positions = new ArrayList<>(found.values());
+        positions.sort(Comparator.comparing(Position::getId));
+        return positions;
+    }
+
+    private Job find(String id) {
+        Job job = id == null ? null : jobs.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Report job not found");
+        }
+        return job;
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            Instant finished = job.finishedAt;
+            if (finished == null || !finished.isBefore(cutoff)) return false;
+            fileStorageService.deleteQuietly(job.storageKey);
+            return true;
+        });
+    }
+
+    private static String extension(CandidateExportService.Format format) {
+        return format == CandidateExportService.Format.CSV ? ".csv" : ".ndjson";
+    }
+
+    private static class Job {
+        final String id;
+        final Params params;
+        final Instant createdAt = Instant.now();
+        volatile State state = State.QUEUED;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String storageKey;
+        volatile long rows;
+        volatile String error;
+
+        Job(String id, Params params) {
+            this.id = id;
+            this.params = params;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            state = State.RUNNING;
+        }
+
+        void complete(String storageKey, long rows) {
+            this.storageKey = storageKey;
+            this.rows = rows;
+            this.finishedAt = Instant.now();
+            this.state = State.COMPLETED;
+        }
+
+        void fail(String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = State.FAILED;
+        }
+
+        Status snapshot() {
+            return new Status(id, state, params, createdAt, startedAt, finishedAt, rows, error);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.api.CandidateNotFoundException;
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.Document;
+import bsaspm2025team2.backend.extraction.CandidateFieldExtractionService;
+import bsaspm2025team2.backend.extraction.ExtractedCandidateFields;
+import bsaspm2025team2.backend.extraction.PdfExtractionResult;
+import bsaspm2025team2.backend.extraction.PdfParsingExecutor;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.DocumentRepository;
+import bsaspm2025team2.backend.storage.DocumentTextStore;
+import bsaspm2025team2.backend.storage.FileStorageService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Re-runs the field rules for a candidate from the stored text of their latest document.
+ * The PDF is parsed only if no text was stored yet (uploads before document_texts existed);
+ * the text is stored then, so it happens once per document.
+ *
+ * Draft candidates get every extracted field; confirmed ones (HR pressed Save) only get empty fields filled.
+ *
+ * The text is loaded (or parsed) before the transaction that updates the candidate, so no connection
+ * is held while a PDF is parsed. Parsing runs on the re-extraction pool (also used by BulkReextractionJob),
+ * not on the one of uploads.
+ */
+@Service
+public class ResumeReextractionService {
+
+    private final CandidateRepository candidateRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentTextStore documentTextStore;
+    private final FileStorageService fileStorageService;
+    private final PdfParsingExecutor pdfParsingExecutor;
+    private final CandidateFieldExtractionService extractionService;
+    private final CandidateSkillIndexer candidateSkillIndexer;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResumeReextractionService(CandidateRepository candidateRepository,
+                                     DocumentRepository documentRepository,
+                                     DocumentTextStore documentTextStore,
+                                     FileStorageService fileStorageService,
+                                     @Qualifier("reextractionPdfParsingExecutor") PdfParsingExecutor pdfParsingExecutor,
+                                     CandidateFieldExtractionService extractionService,
+                                     CandidateSkillIndexer candidateSkillIndexer,
+                                     PlatformTransactionManager transactionManager) {
+        this.candidateRepository = candidateRepository;
+        this.documentRepository = documentRepository;
+        this.documentTextStore = documentTextStore;
+        this.fileStorageService = fileStorageService;
+        this.pdfParsingExecutor = pdfParsingExecutor;
+        this.extractionService = extractionService;
+        this.candidateSkillIndexer = candidateSkillIndexer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Candidate reextract(Long candidateId) {
+        if (!candidateRepository.existsById(candidateId)) {
+            throw new CandidateNotFoundException(candidateId);
+        }
+        Document document = documentRepository.findFirstByCandidateIdOrderByUploadDateDescIdDesc(candidateId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Candidate has no resume"));
+        ExtractedCandidateFields extracted = extractionService.extract(loadText(document));
+
+        return transactionTemplate.execute(status -> {
+            Candidate candidate = candidateRepository.findById(candidateId)
+                    .orElseThrow(() -> new CandidateNotFoundException(candidateId));
+            // unchanged: no updated_at bump for delta sync, no re-index (and report cache invalidation)
+            if (!applyFields(candidate, extracted)) return candidate;
+            Candidate saved = candidateRepository.save(candidate);
+            candidateSkillIndexer.index(saved);
+            return saved;
+        });
+    }
+
+    /**
+     * Stored text of the document; parses (and stores) it if there is none yet.
+     */
+    public String loadText(Document document) {
+        Optional<String> stored = documentTextStore.load(document.getId());
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        try {
+            PdfExtractionResult pdf = pdfParsingExecutor.extract(fileStorageService.resolve(document.getStoragePath()));
+            documentTextStore.save(document.getId(), pdf);
+            return pdf.text();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Resume text could not be extracted", e);
+        }
+    }
+
+    /**
+     * @return true if any field of the candidate changed
+     */
+    static boolean applyFields(Candidate c, ExtractedCandidateFields f) {
+        boolean overwrite = c.isDraft();
+        boolean changed = false;
+        if (f.fullName() != null && (overwrite || isBlank(c.getFullName())) && !f.fullName().equals(c.getFullName())) {
+            c.setFullName(f.fullName());
+            changed = true;
+        }
+        if (f.email() != null && (overwrite || isBlank(c.getEmail())) && !f.email().equals(c.getEmail())) {
+            c.setEmail(f.email());
+            changed = true;
+        }
+        if (f.phone() != null && (overwrite || isBlank(c.getPhone())) && !f.phone().equals(c.getPhone())) {
+            c.setPhone(f.phone());
+            changed = true;
+        }
+        if (f.skills() != null && (overwrite || isBlank(c.getSkills())) && !f.skills().equals(c.getSkills())) {
+            c.setSkills(f.skills());
+            changed = true;
+        }
+        if (f.yearsOfExperience() != null && (overwrite || c.getYearsOfExperience() == null)
+                && !f.yearsOfExperience().equals(c.getYearsOfExperience())) {
+            c.setYearsOfExperience(f.yearsOfExperience());
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -5,11 +5,20 @@ import bsaspm2025team2.backend.domain.CandidateStatus;
 import bsaspm2025team2.backend.domain.Document;
 import bsaspm2025team2.backend.extraction.CandidateFieldExtractionService;
 import bsaspm2025team2.backend.extraction.ExtractedCandidateFields;
-import bsaspm2025team2.backend.extraction.PdfTextExtractor;
+import bsaspm2025team2.backend.extraction.PdfExtractionResult;
+import bsaspm2025team2.backend.extraction.PdfParsingExecutor;
+import bsaspm2025team2.backend.metrics.UploadMetrics;
+import bsaspm2025team2.backend.metrics.UploadMetrics.Stage;
 import bsaspm2025team2.backend.repository.CandidateRepository;
 import bsaspm2025team2.backend.repository.DocumentRepository;
+import bsaspm2025team2.backend.repository.UploadRollupRepository;
+import bsaspm2025team2.backend.storage.DocumentTextStore;
 import bsaspm2025team2.backend.storage.FileStorageService;
 import bsaspm2025team2.backend.validation.PdfValidationService;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,71 +26,171 @@ import org.springframework.web.multipart.MultipartFile;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 @Service
 public class ResumeUploadService {
 
+    /**
+     * @param replayed true when an earlier upload with the same Idempotency-Key created the candidate
+     */
+    public record Upload(Long candidateId, boolean replayed) {}
+
     private final PdfValidationService pdfValidationService;
     private final FileStorageService fileStorageService;
     private final CandidateRepository candidateRepository;
     private final DocumentRepository documentRepository;
 
-    private final PdfTextExtractor pdfTextExtractor;
+    private final PdfParsingExecutor pdfParsingExecutor;
     private final CandidateFieldExtractionService extractionService;
+    private final UploadMetrics uploadMetrics;
+    private final DocumentTextStore documentTextStore;
+    private final CandidateSkillIndexer candidateSkillIndexer;
+    private final CandidateStatusCounts statusCounts;
+    private final UploadRollupRepository uploadRollups;
+    private final UploadIdempotencyService idempotency;
+    private final ApplicationEventPublisher events;
 
     public ResumeUploadService(
             PdfValidationService pdfValidationService,
             FileStorageService fileStorageService,
             CandidateRepository candidateRepository,
             DocumentRepository documentRepository,
-            PdfTextExtractor pdfTextExtractor,
-            CandidateFieldExtractionService extractionService
+            PdfParsingExecutor pdfParsingExecutor,
+            CandidateFieldExtractionService extractionService,
+            UploadMetrics uploadMetrics,
+            DocumentTextStore documentTextStore,
+            CandidateSkillIndexer candidateSkillIndexer,
+            CandidateStatusCounts statusCounts,
+            UploadRollupRepository uploadRollups,
+            UploadIdempotencyService idempotency,
+            ApplicationEventPublisher events
     ) {
         this.pdfValidationService = pdfValidationService;
         this.fileStorageService = fileStorageService;
         this.candidateRepository = candidateRepository;
         this.documentRepository = documentRepository;
-        this.pdfTextExtractor = pdfTextExtractor;
+        this.pdfParsingExecutor = pdfParsingExecutor;
         this.extractionService = extractionService;
+        this.uploadMetrics = uploadMetrics;
+        this.documentTextStore = documentTextStore;
+        this.candidateSkillIndexer = candidateSkillIndexer;
+        this.statusCounts = statusCounts;
+        this.uploadRollups = uploadRollups;
+        this.idempotency = idempotency;
+        this.events = events;
     }
 
     @Transactional
     public Long uploadResume(MultipartFile file) {
+        return uploadResume(file, null).candidateId();
+    }
+
+    /**
+     * @param idempotencyKey Idempotency-Key header, may be null
+     */
+    @Transactional
+    public Upload uploadResume(MultipartFile file, String idempotencyKey) {
+        return upload(file.getOriginalFilename(), file.getSize(), file, idempotencyKey,
+                storageId -> fileStorageService.savePdf(file, storageId));
+    }
+
+    /**
+     * Upload of a file that is already in storage (assembled chunked upload): validated in place,
+     * then moved to its final key instead of being copied. Not moved on a replay.
+     */
+    @Transactional
+    public Upload uploadStored(String storageKey, String filename, long size, String idempotencyKey) {
+        FileSystemResource content = new FileSystemResource(fileStorageService.resolve(storageKey));
+        return upload(filename, size, content, idempotencyKey,
+                storageId -> fileStorageService.promotePdf(storageKey, storageId));
+    }
+
+    private Upload upload(String filename, long size, InputStreamSource content, String idempotencyKey,
+                          UnaryOperator<String> store) {
+        String key = UploadIdempotencyService.normalizeKey(idempotencyKey);
+        UploadIdempotencyService.Claim claim = null;
+        if (key != null) {
+            // a retry of a committed upload; a failed one released its claim
+            claim = idempotency.claim(key, UploadIdempotencyService.fingerprint(content));
+            if (claim.replayed()) return new Upload(claim.candidateId(), true);
+        }
+
+        Timer.Sample uploadSample = uploadMetrics.startUpload();
+        boolean success = false;
+        try {
+            Document document = doUploadResume(filename, size, content, store);
+            Long candidateId = document.getCandidate().getId();
+            if (claim != null) idempotency.completed(claim, candidateId);
+            // updated_at of the insert is from before the parse; the dirty row is flushed and stamped again at
+            // the commit, so a slow upload does not commit behind sync cursors handed out meanwhile
+            document.getCandidate().touch();
+            // last statement of the transaction (before that flush): the day row stays locked only until the commit, not through the parse
+            uploadRollups.recordUpload(document.getUploadDate(), size);
+            success = true;
+            return new Upload(candidateId, false);
+        } finally {
+            uploadMetrics.stopUpload(uploadSample, success);
+        }
+    }
+
+    /**
+     * @param store storage id -> storage path of the saved file
+     */
+    private Document doUploadResume(String filename, long size, InputStreamSource content, UnaryOperator<String> store) {
 
         // 1) Validate PDF (size + header + MIME)
-        pdfValidationService.validate(file);
+        uploadMetrics.time(Stage.VALIDATE, () -> {
+            pdfValidationService.validate(size, content);
+            return null;
+        });
 
         String storagePath = null;
 
         try {
             // 2) Save file to storage
             String storageId = UUID.randomUUID().toString();
-            storagePath = fileStorageService.savePdf(file, storageId);
+            storagePath = uploadMetrics.time(Stage.STORE, () -> store.apply(storageId));
+            uploadMetrics.recordStoredBytes(size);
 
             // 3) Create Candidate (draft by default = true in entity)
-            Candidate candidate = new Candidate(
-                    CandidateStatus.NEW,
-                    Instant.now()
-            );
-            candidate = candidateRepository.save(candidate);
-
             // 4) Create Document
-            Document document = new Document(
-                    candidate,
-                    Instant.now(),
-                    file.getOriginalFilename(),
-                    file.getSize(),
-                    "application/pdf",
-                    storagePath
-            );
-            documentRepository.save(document);
+            String savedPath = storagePath;
+            Document document = uploadMetrics.time(Stage.PERSIST, () -> {
+                Candidate created = candidateRepository.save(new Candidate(
+                        CandidateStatus.NEW,
+                        Instant.now()
+                ));
+                statusCounts.candidateCreated(created.getStatus());
+                events.publishEvent(new ReportDataChangedEvent("candidates"));
+                return documentRepository.save(new Document(
+                        created,
+                        Instant.now(),
+                        filename,
+                        size,
+                        "application/pdf",
+                        savedPath
+                ));
+            });
+            Candidate candidate = document.getCandidate();
 
             // 5) Try extraction (must NOT crash upload)
+            Stage stage = Stage.EXTRACT_TEXT;
             try {
                 Path pdfPath = fileStorageService.resolve(storagePath);
-                String text = pdfTextExtractor.extractText(pdfPath);
+                PdfExtractionResult pdf = uploadMetrics.time(Stage.EXTRACT_TEXT, () -> pdfParsingExecutor.extract(pdfPath));
+                String text = pdf.text();
+                uploadMetrics.recordPdf(pdf);
+
+                // keep the raw text so the field rules can be re-run later without the PDF
+                stage = Stage.PERSIST;
+                uploadMetrics.time(Stage.PERSIST, () -> {
+                    documentTextStore.save(document.getId(), pdf);
+                    return null;
+                });
 
-                ExtractedCandidateFields extracted = extractionService.extract(text);
+                stage = Stage.EXTRACT_FIELDS;
+                ExtractedCandidateFields extracted = uploadMetrics.time(Stage.EXTRACT_FIELDS, () -> extractionService.extract(text));
 
                 if (extracted.fullName() != null) candidate.setFullName(extracted.fullName());
                 if (extracted.email() != null) candidate.setEmail(extracted.email());
@@ -89,13 +198,19 @@ public class ResumeUploadService {
                 if (extracted.skills() != null) candidate.setSkills(extracted.skills());
                 if (extracted.yearsOfExperience() != null) candidate.setYearsOfExperience(extracted.yearsOfExperience());
 
-                candidateRepository.save(candidate);
-            } catch (Exception ignored) {
+                stage = Stage.PERSIST;
+                uploadMetrics.time(Stage.PERSIST, () -> {
+                    candidateRepository.save(candidate);
+                    if (candidate.getSkills() != null) candidateSkillIndexer.index(candidate);
+                    return null;
+                });
+            } catch (Exception ex) {
                 // requirement: if extraction fails, do not crash — candidate card opens with empty/partial fields
+                uploadMetrics.recordExtractionFailure(stage, ex);
             }
 
-            // 6) Return candidate id
-            return candidate.getId();
+            // 6) Return the document (with its candidate)
+            return document;
 
         } catch (RuntimeException ex) {
             // rollback storage on any failure
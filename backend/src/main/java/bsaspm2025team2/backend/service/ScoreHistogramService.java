@@ -0,0 +1,59 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.repository.CandidateFilterSql;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Candidates per 10-point score bucket for one position's required skills, with the list/report filters.
+ *
+ * One GROUP BY over candidate_skills (the persisted skills): the database returns a row per match count
+ * (at most required skills + 1 rows), which is turned into a score and bucketed here; no candidate rows
+ * are read into the application.
+ */
+@Service
+public class ScoreHistogramService {
+
+    public static final int BUCKET_WIDTH = 10;
+    // 0-9, 10-19, ..., 90-100
+    public static final int BUCKETS = 100 / BUCKET_WIDTH;
+
+    private final JdbcTemplate jdbc;
+    private final ScoreService scoreService;
+
+    public ScoreHistogramService(JdbcTemplate jdbc, ScoreService scoreService) {
+        this.jdbc = jdbc;
+        this.scoreService = scoreService;
+    }
+
+    /**
+     * @param filter requiredSkills = the position's skills; candidates scoring below minScore are left out
+     * @return candidates per bucket, index 0 = scores 0-9, the last bucket includes 100
+     */
+    public long[] histogram(CandidateExportService.Filter filter) {
+        ScoreService.RequiredSkills required = scoreService.resolveRequired(
+                filter.requiredSkills() == null ? "" : filter.requiredSkills());
+        int minScore = filter.minScore() == null ? 0 : Math.max(0, Math.min(100, filter.minScore()));
+
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT matches, COUNT(*) AS candidates FROM (SELECT "
+                + CandidateFilterSql.matchesFrom(required.skillIds(), args)
+                + CandidateFilterSql.whereFilters(filter.status(), filter.minYears(), filter.q(), args)
+                + ") s GROUP BY matches";
+
+        long[] buckets = new long[BUCKETS];
+        jdbc.query(sql, rs -> {
+            int score = ScoreService.percent(rs.getInt("matches"), required.count());
+            if (score < minScore) return;
+            buckets[bucket(score)] += rs.getLong("candidates");
+        }, args.toArray());
+        return buckets;
+    }
+
+    static int bucket(int score) {
+        return Math.min(BUCKETS - 1, Math.max(0, score) / BUCKET_WIDTH);
+    }
+}
@@ -1,14 +1,49 @@
 package bsaspm2025team2.backend.service;
 
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.extraction.SkillMatcher;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ScoreService {
 
+    // bound of the required skills cache, cleared when reached
+    private static final int MAX_CACHED_REQUIRED = 1024;
+
+    private record RequiredKeys(SkillMatcher dictionary, Map<String, Set<Object>> keys) {}
+
+    private final SkillDictionary skillDictionary;
+    private final CandidateSkillRepository candidateSkillRepository;
+
+    private volatile RequiredKeys requiredKeys;
+
+    @Autowired
+    public ScoreService(SkillDictionary skillDictionary, CandidateSkillRepository candidateSkillRepository) {
+        this.skillDictionary = skillDictionary;
+        this.candidateSkillRepository = candidateSkillRepository;
+    }
+
+    // score() only, no candidate_skills
+    public ScoreService(SkillDictionary skillDictionary) {
+        this(skillDictionary, null);
+    }
+
+    // built-in skills only
+    public ScoreService() {
+        this(SkillDictionary.builtIn());
+    }
+
     /**
      * MVP tokenization:
      * - lowercase
@@ -16,20 +51,61 @@ public class ScoreService {
      * - remove empty tokens
      */
     public Set<String> tokenize(String raw) {
-        if (raw == null) return Collections.emptySet();
+        Set<String> tokens = new HashSet<>();
+        scan(raw, (token, phraseStart) -> tokens.add(token));
+        return tokens;
+    }
 
-        String normalized = raw.toLowerCase();
-        // split by anything that is not a letter or digit
-        String[] parts = normalized.split("[^\\p{L}\\p{Nd}]+");
+    /**
+     * Tokens resolved through the skill dictionary: a dictionary name/alias becomes its
+     * canonical skill id (Long), so aliases of one skill match each other; other tokens stay as they are.
+     * Multi-word names/aliases are matched as phrases (longest first) over tokens separated only by
+     * whitespace or '-', so "Spring Boot" is one skill, "Spring, Boot" two tokens.
+     */
+    Set<Object> skillKeys(String raw, SkillMatcher dictionary) {
+        List<String> tokens = new ArrayList<>();
+        List<Integer> phraseStarts = new ArrayList<>();
+        scan(raw, (token, phraseStart) -> {
+            tokens.add(token);
+            phraseStarts.add(phraseStart);
+        });
 
-        Set<String> tokens = new HashSet<>();
-        for (String p : parts) {
-            if (p != null) {
-                String t = p.trim();
-                if (!t.isEmpty()) tokens.add(t);
+        Set<Object> keys = new HashSet<>(tokens.size() * 2);
+        int maxPhrase = dictionary.maxPhraseTokens();
+        for (int i = 0; i < tokens.size(); ) {
+            int length = 1;
+            Long skillId = null;
+            for (int n = maxPhrase; n > 1 && skillId == null; n--) {
+                int last = i + n - 1;
+                if (last >= tokens.size() || !phraseStarts.get(last).equals(phraseStarts.get(i))) continue;
+                skillId = dictionary.skillIdOfPhrase(String.join(" ", tokens.subList(i, last + 1)));
+                if (skillId != null) length = n;
             }
+            if (skillId == null) skillId = dictionary.skillIdOfPhrase(tokens.get(i));
+            keys.add(skillId != null ? skillId : tokens.get(i));
+            i += length;
         }
-        return tokens;
+        return keys;
+    }
+
+    /**
+     * Required skills resolved once per dictionary snapshot: positions are few and scored over and over.
+     */
+    Set<Object> requiredKeys(String requiredSkills, SkillMatcher dictionary) {
+        if (requiredSkills == null) return Set.of();
+
+        RequiredKeys cache = requiredKeys;
+        if (cache == null || cache.dictionary() != dictionary) {
+            cache = new RequiredKeys(dictionary, new ConcurrentHashMap<>());
+            requiredKeys = cache;
+        }
+        Set<Object> keys = cache.keys().get(requiredSkills);
+        if (keys != null) return keys;
+
+        keys = Set.copyOf(skillKeys(requiredSkills, dictionary));
+        if (cache.keys().size() >= MAX_CACHED_REQUIRED) cache.keys().clear();
+        cache.keys().put(requiredSkills, keys);
+        return keys;
     }
 
     /**
@@ -37,18 +113,138 @@ public class ScoreService {
      * required_count=0 => score=0
      */
     public int score(String candidateSkills, String requiredSkills) {
-        Set<String> required = tokenize(requiredSkills);
+        SkillMatcher dictionary = skillDictionary.current();
+
+        Set<Object> required = requiredKeys(requiredSkills, dictionary);
         if (required.isEmpty()) return 0;
+        return score(skillKeys(candidateSkills, dictionary), required);
+    }
 
-        Set<String> candidate = tokenize(candidateSkills);
-        if (candidate.isEmpty()) return 0;
+    /**
+     * score() of already resolved skill keys (see skillKeys()).
+     */
+    public static int score(Set<Object> candidate, Set<Object> required) {
+        if (required.isEmpty() || candidate.isEmpty()) return 0;
 
+        // iterate the smaller set
+        Set<Object> small = candidate.size() < required.size() ? candidate : required;
+        Set<Object> large = small == candidate ? required : candidate;
         int matches = 0;
-        for (String req : required) {
-            if (candidate.contains(req)) matches++;
+        for (Object key : small) {
+            if (large.contains(key)) matches++;
+        }
+        return percent(matches, required.size());
+    }
+
+    /**
+     * score() of every candidate against every position, with one dictionary snapshot:
+     * each skills text is tokenized once instead of once per pair.
+     *
+     * @return [position][candidate], same order as the arguments
+     */
+    public int[][] scoreMatrix(List<String> candidateSkills, List<String> requiredSkills) {
+        SkillMatcher dictionary = skillDictionary.current();
+
+        List<Set<Object>> candidates = new ArrayList<>(candidateSkills.size());
+        for (String skills : candidateSkills) candidates.add(skillKeys(skills, dictionary));
+
+        int[][] scores = new int[requiredSkills.size()][candidateSkills.size()];
+        for (int p = 0; p < requiredSkills.size(); p++) {
+            Set<Object> required = requiredKeys(requiredSkills.get(p), dictionary);
+            if (required.isEmpty()) continue;
+
+            for (int c = 0; c < candidates.size(); c++) {
+                scores[p][c] = score(candidates.get(c), required);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Required skills of a position as candidate_skills ids.
+     *
+     * @param skillIds ids to count per candidate (tokens no candidate has are left out - they match nobody)
+     * @param count    number of required skills, the denominator of the score
+     */
+    public record RequiredSkills(Set<Long> skillIds, int count) {}
+
+    public RequiredSkills resolveRequired(String requiredSkills) {
+        Set<Object> required = requiredKeys(requiredSkills, skillDictionary.current());
+
+        Set<Long> skillIds = new HashSet<>();
+        List<String> tokens = new ArrayList<>();
+        for (Object key : required) {
+            if (key instanceof Long id) skillIds.add(id);
+            else tokens.add((String) key);
         }
+        if (!tokens.isEmpty()) skillIds.addAll(candidateSkillRepository.findTokenIds(tokens).values());
+        return new RequiredSkills(skillIds, required.size());
+    }
 
-        double skillMatch = (double) matches / (double) required.size(); // 0..1
+    /**
+     * Same score as score(), for every candidate at once: the required skills are resolved once and
+     * the matches counted in SQL over candidate_skills.
+     * Candidates without any matching skill (score 0) are absent from the map.
+     *
+     * Only candidate_skills is read: a candidate whose skills were never indexed scores 0 here while score()
+     * would match. Every write of candidates.skills indexes it and V9 backfilled older rows, so this only
+     * happens to rows written around the application (manual SQL) - re-saving the candidate fixes them.
+     */
+    public Map<Long, Integer> scoresByCandidate(String requiredSkills) {
+        RequiredSkills required = resolveRequired(requiredSkills);
+        if (required.count() == 0) return Map.of();
+
+        Map<Long, Integer> scores = new HashMap<>();
+        candidateSkillRepository.countMatches(required.skillIds())
+                .forEach((candidateId, matches) -> scores.put(candidateId, percent(matches, required.count())));
+        return scores;
+    }
+
+    private interface TokenSink {
+        /**
+         * @param phraseStart index of the first token of the run this token belongs to
+         *                    (tokens separated only by whitespace or '-' form one run)
+         */
+        void accept(String token, int phraseStart);
+    }
+
+    /**
+     * One pass over the text: lowercase tokens of letters/digits, in order.
+     */
+    private static void scan(String raw, TokenSink sink) {
+        if (raw == null) return;
+
+        int count = 0;
+        int phraseStart = 0;
+        int start = -1;
+        boolean phraseBroken = false;
+        for (int i = 0; i < raw.length(); ) {
+            int cp = raw.codePointAt(i);
+            boolean tokenChar = Character.isLetter(cp) || Character.isDigit(cp);
+            if (tokenChar && start < 0) {
+                start = i;
+                if (phraseBroken) phraseStart = count;
+                phraseBroken = false;
+            }
+            if (!tokenChar) {
+                if (start >= 0) {
+                    sink.accept(raw.substring(start, i).toLowerCase(Locale.ROOT), phraseStart);
+                    count++;
+                    start = -1;
+                }
+                if (!Character.isWhitespace(cp) && cp != '-') phraseBroken = true;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) sink.accept(raw.substring(start).toLowerCase(Locale.ROOT), phraseStart);
+    }
+
+    /**
+     * score for `matches` of `requiredCount` required skills (requiredCount=0 => 0)
+     */
+    public static int percent(int matches, int requiredCount) {
+        if (requiredCount == 0) return 0;
+        double skillMatch = (double) matches / (double) requiredCount; // 0..1
         long rounded = Math.round(100.0 * skillMatch);
         if (rounded < 0) return 0;
         if (rounded > 100) return 100;
@@ -0,0 +1,139 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.Skill;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.extraction.SkillMatcher;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import bsaspm2025team2.backend.repository.SkillRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes to the curated skill dictionary, keeping candidate_skills consistent with it:
+ * - a new spelling takes over the non-curated token rows of that spelling
+ * - candidates of a changed/deleted skill are re-indexed with the new dictionary
+ *
+ * The caller reloads SkillDictionary after the transaction.
+ */
+@Service
+public class SkillService {
+
+    private static final int REINDEX_BATCH = 500;
+
+    private final SkillRepository skillRepository;
+    private final CandidateRepository candidateRepository;
+    private final CandidateSkillRepository candidateSkillRepository;
+    private final CandidateSkillIndexer candidateSkillIndexer;
+    private final ApplicationEventPublisher events;
+
+    public SkillService(SkillRepository skillRepository,
+                        CandidateRepository candidateRepository,
+                        CandidateSkillRepository candidateSkillRepository,
+                        CandidateSkillIndexer candidateSkillIndexer,
+                        ApplicationEventPublisher events) {
+        this.skillRepository = skillRepository;
+        this.candidateRepository = candidateRepository;
+        this.candidateSkillRepository = candidateSkillRepository;
+        this.candidateSkillIndexer = candidateSkillIndexer;
+        this.events = events;
+    }
+
+    public List<Skill> list() {
+        return skillRepository.findAllByCuratedTrueOrderByIdAsc();
+    }
+
+    @Transactional
+    public Skill create(String name, List<String> aliases) {
+        // the name may already be registered as a plain candidate token
+        Set<String> spellings = spellings(name, aliases);
+        List<Long> tokenRows = candidateSkillRepository.findUncuratedIds(List.of(name.toLowerCase(Locale.ROOT)));
+        Skill skill = tokenRows.isEmpty()
+                ? new Skill(name, String.join(",", aliases))
+                : skillRepository.findById(tokenRows.get(0)).orElseThrow();
+        skill.setName(name);
+        skill.setAliases(String.join(",", aliases));
+        skill.setCurated(true);
+
+        Skill saved = skillRepository.saveAndFlush(skill);
+        mergeTokens(saved.getId(), spellings);
+        events.publishEvent(new ReportDataChangedEvent("skills"));
+        return saved;
+    }
+
+    @Transactional
+    public Skill update(Long id, String name, List<String> aliases) {
+        Skill skill = findCurated(id);
+        List<Long> affected = candidateSkillRepository.findCandidateIdsBySkillId(id);
+
+        // before saving: the new name may be taken by a token row (unique name)
+        mergeTokens(id, spellings(name, aliases));
+        skill.setName(name);
+        skill.setAliases(String.join(",", aliases));
+        Skill saved = skillRepository.saveAndFlush(skill);
+
+        // a removed spelling becomes a plain token again
+        reindex(affected);
+        events.publishEvent(new ReportDataChangedEvent("skills"));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Skill skill = findCurated(id);
+        List<Long> affected = candidateSkillRepository.findCandidateIdsBySkillId(id);
+
+        skillRepository.delete(skill);
+        skillRepository.flush();
+        reindex(affected);
+        events.publishEvent(new ReportDataChangedEvent("skills"));
+    }
+
+    private Skill findCurated(Long id) {
+        return skillRepository.findById(id)
+                .filter(Skill::isCurated)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Skill not found"));
+    }
+
+    private void mergeTokens(long skillId, Set<String> spellings) {
+        for (Long tokenId : candidateSkillRepository.findUncuratedIds(spellings)) {
+            if (tokenId != skillId) candidateSkillRepository.mergeSkill(tokenId, skillId);
+        }
+    }
+
+    // re-index with the dictionary as it is inside this transaction
+    private void reindex(Collection<Long> candidateIds) {
+        if (candidateIds.isEmpty()) return;
+        SkillMatcher dictionary = SkillDictionary.compile(skillRepository.findAllByCuratedTrueOrderByIdAsc());
+
+        List<Long> ids = new ArrayList<>(candidateIds);
+        for (int i = 0; i < ids.size(); i += REINDEX_BATCH) {
+            Map<Long, String> skills = new HashMap<>();
+            for (Candidate c : candidateRepository.findAllById(ids.subList(i, Math.min(i + REINDEX_BATCH, ids.size())))) {
+                skills.put(c.getId(), c.getSkills() == null ? "" : c.getSkills());
+            }
+            candidateSkillIndexer.index(skills, dictionary);
+        }
+    }
+
+    // lowercase name + aliases (only single-token ones can exist as token rows)
+    private static Set<String> spellings(String name, List<String> aliases) {
+        Set<String> spellings = new LinkedHashSet<>();
+        spellings.add(name.toLowerCase(Locale.ROOT));
+        for (String a : aliases) spellings.add(a.toLowerCase(Locale.ROOT));
+        return spellings;
+    }
+}
@@ -0,0 +1,200 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.repository.UploadIdempotencyRepository;
+import bsaspm2025team2.backend.validation.InvalidFileTypeException;
+import bsaspm2025team2.backend.validation.ValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key handling of resume uploads (table upload_idempotency_keys):
+ * - the upload claims the key (IN_PROGRESS) in a short transaction of its own before creating the candidate,
+ *   so a concurrent retry finds the committed claim and gets 409 at once instead of waiting for the upload
+ * - the upload transaction completes the claim with the candidate; if it rolls back, the claim is released,
+ *   so a retry after a failure uploads again and a retry after a commit gets the same candidate
+ * - a claim left IN_PROGRESS for `claim-timeout` (the instance died mid-upload) can be taken over
+ * - a key is bound to the file it was first used with (SHA-256); reusing it for another file is rejected (422)
+ * - keys are kept for `ttl`, then purged (hourly, and when the same key comes back)
+ */
+@Service
+public class UploadIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadIdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    // idempotency_key is VARCHAR(255)
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * @param candidateId set when an earlier upload with this key committed; null when this upload holds the claim
+     */
+    public record Claim(String key, String token, Long candidateId) {
+        public boolean replayed() { return candidateId != null; }
+    }
+
+    private final UploadIdempotencyRepository repository;
+    private final TransactionTemplate claimTx;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "upload-idempotency-purge");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public UploadIdempotencyService(UploadIdempotencyRepository repository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.uploads.idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${app.uploads.idempotency.claim-timeout:10m}") Duration claimTimeout) {
+        this.repository = repository;
+        this.claimTx = new TransactionTemplate(transactionManager);
+        this.claimTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+
+        long period = Math.max(1, Math.min(ttl.toMinutes(), 60));
+        scheduler.scheduleWithFixedDelay(this::purge, period, period, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return the trimmed key, null when the header is missing or blank
+     */
+    public static String normalizeKey(String key) {
+        if (key == null || key.isBlank()) return null;
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(Map.of(HEADER, "At most " + MAX_KEY_LENGTH + " characters"));
+        }
+        return trimmed;
+    }
+
+    /**
+     * Claims the key for an upload of the file with this fingerprint; must be called in the uploading
+     * transaction, which then has to call completed() unless the claim is a replay. The claim itself is
+     * committed right away and released again when the uploading transaction does not commit.
+     *
+     * @throws ResponseStatusException 409 while another upload holds the key, 422 for a different file
+     */
+    public Claim claim(String key, String fingerprint) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Idempotency-Key claims need the uploading transaction");
+        }
+        Claim claim = claimTx.execute(status -> tryClaim(key, fingerprint));
+        if (!claim.replayed()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) release(claim);
+                }
+            });
+        }
+        return claim;
+    }
+
+    private Claim tryClaim(String key, String fingerprint) {
+        Instant now = Instant.now();
+        repository.deleteCreatedBefore(key, now.minus(ttl));
+        String token = UUID.randomUUID().toString();
+        // a plain read first: a committed claim is answered without touching the unique index
+        Optional<UploadIdempotencyRepository.Entry> existing = repository.find(key);
+        if (existing.isEmpty()) {
+            if (repository.insert(key, fingerprint, token, now)) return new Claim(key, token, null);
+            existing = repository.find(key);
+        }
+
+        UploadIdempotencyRepository.Entry entry = existing
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Upload with this " + HEADER + " changed concurrently, retry"));
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different file");
+        }
+        if (entry.state() == UploadIdempotencyRepository.State.COMPLETED) {
+            return new Claim(key, null, entry.candidateId());
+        }
+        if (entry.createdAt().isBefore(now.minus(claimTimeout))
+                && repository.takeOver(key, entry.claimToken(), token, now)) {
+            log.warn("Took over the upload claim of {} {} abandoned since {}", HEADER, key, entry.createdAt());
+            return new Claim(key, token, null);
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload with this " + HEADER + " is in progress");
+    }
+
+    /**
+     * Binds the claimed key to the candidate; in the uploading transaction, so both commit together.
+     *
+     * @throws ResponseStatusException 409 when the claim was taken over meanwhile (the upload must roll back)
+     */
+    public void completed(Claim claim, Long candidateId) {
+        if (!repository.complete(claim.key(), claim.token(), candidateId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Upload with this " + HEADER + " was taken over by a retry");
+        }
+    }
+
+    private void release(Claim claim) {
+        try {
+            claimTx.executeWithoutResult(status -> repository.release(claim.key(), claim.token()));
+        } catch (Exception ex) {
+            // the claim stays IN_PROGRESS until claim-timeout, then a retry takes it over
+            log.warn("Releasing the upload claim of {} {} failed", HEADER, claim.key(), ex);
+        }
+    }
+
+    /**
+     * SHA-256 (hex) of the content.
+     */
+    public static String fingerprint(InputStreamSource content) {
+        try (DigestInputStream in = new DigestInputStream(content.getInputStream(), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (IOException e) {
+            throw new InvalidFileTypeException("Unable to read file");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void purge() {
+        try {
+            int removed = repository.deleteCreatedBefore(null, Instant.now().minus(ttl));
+            if (removed > 0) log.info("Purged {} expired upload idempotency keys", removed);
+        } catch (Exception ex) {
+            // keep the scheduler alive, the next run retries
+            log.warn("Upload idempotency key purge failed", ex);
+        }
+    }
+}
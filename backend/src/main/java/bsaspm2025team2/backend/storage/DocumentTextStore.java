@@ -0,0 +1,79 @@
+package bsaspm2025team2.backend.storage;
+
+import bsaspm2025team2.backend.domain.DocumentText;
+import bsaspm2025team2.backend.extraction.PdfExtractionResult;
+import bsaspm2025team2.backend.repository.DocumentTextRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the text extracted from each document's PDF (gzip, keyed by document id),
+ * so extraction rules can be re-run without parsing PDFs again.
+ */
+@Service
+public class DocumentTextStore {
+
+    private final DocumentTextRepository documentTextRepository;
+
+    public DocumentTextStore(DocumentTextRepository documentTextRepository) {
+        this.documentTextRepository = documentTextRepository;
+    }
+
+    public void save(Long documentId, PdfExtractionResult pdf) {
+        String text = pdf.text() == null ? "" : pdf.text();
+        documentTextRepository.save(new DocumentText(
+                documentId,
+                compress(text),
+                text.length(),
+                pdf.limit().name(),
+                Instant.now()
+        ));
+    }
+
+    public Optional<String> load(Long documentId) {
+        return documentTextRepository.findById(documentId)
+                .map(t -> decompress(t.getContent()));
+    }
+
+    /**
+     * Stored texts of several documents in one query; documents without text are absent from the map.
+     */
+    public Map<Long, String> loadAll(Collection<Long> documentIds) {
+        Map<Long, String> texts = new HashMap<>();
+        for (DocumentText t : documentTextRepository.findAllById(documentIds)) {
+            texts.put(t.getDocumentId(), decompress(t.getContent()));
+        }
+        return texts;
+    }
+
+    static byte[] compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, text.length() / 3));
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new StorageException("Failed to compress document text", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String decompress(byte[] content) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new StorageException("Failed to read stored document text", e);
+        }
+    }
+}
@@ -6,14 +6,26 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 @Service
 public class FileStorageService {
 
+    /**
+     * Produces the content of a file written by saveStream().
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
     private final Path basePath;
 
     public FileStorageService(@Value("${app.storage.base-path}") String basePath) {
@@ -47,6 +59,94 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Writes a generated file under the given key (may contain sub-directories, e.g. "reports/<id>.csv").
+     * The content goes to a temp file first, so the key never points to a partially written file.
+     *
+     * @return storageKey
+     */
+    public String saveStream(String storageKey, StreamWriter writer) {
+        Path target = resolve(storageKey);
+        Path tmp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tmp = Files.createTempFile(target.getParent(), ".tmp-", ".part");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.writeTo(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return storageKey;
+        } catch (IOException e) {
+            throw new StorageException("Failed to save file", e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes up to maxBytes of the stream into the file under storageKey (created if missing), starting at offset.
+     * Bytes are written as they arrive: when the stream breaks off, what was received so far stays in the file
+     * (see size()).
+     *
+     * @return bytes written
+     */
+    public long writeChunk(String storageKey, long offset, InputStream in, long maxBytes) {
+        Path target = resolve(storageKey);
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.position(offset);
+                byte[] buffer = new byte[64 * 1024];
+                long written = 0;
+                while (written < maxBytes) {
+                    int n = in.read(buffer, 0, (int) Math.min(buffer.length, maxBytes - written));
+                    if (n < 0) break;
+                    channel.write(ByteBuffer.wrap(buffer, 0, n));
+                    written += n;
+                }
+                return written;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to write file chunk", e);
+        }
+    }
+
+    /**
+     * @return size of the file under storageKey, 0 when it does not exist
+     */
+    public long size(String storageKey) {
+        Path target = resolve(storageKey);
+        try {
+            return Files.exists(target) ? Files.size(target) : 0;
+        } catch (IOException e) {
+            throw new StorageException("Failed to read file size", e);
+        }
+    }
+
+    /**
+     * Moves a completely written file (e.g. an assembled chunked upload) to "<storageId>.pdf" like savePdf().
+     *
+     * @return storagePath (key) that should be stored in DB
+     */
+    public String promotePdf(String storageKey, String storageId) {
+        Path source = resolve(storageKey);
+        String targetKey = storageId + ".pdf";
+        Path target = resolve(targetKey);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return targetKey;
+        } catch (IOException e) {
+            throw new StorageException("Failed to save file", e);
+        }
+    }
+
     public void deleteQuietly(String storagePath) {
         if (storagePath == null || storagePath.isBlank()) return;
 
@@ -0,0 +1,118 @@
+package bsaspm2025team2.backend.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit plus a byte budget for work in flight:
+ * - acquire(bytes) is admitted while fewer than maxConcurrent calls hold a permit and the bytes fit
+ *   into maxBytes (a single call larger than the budget is admitted when nothing else is in flight)
+ * - otherwise the caller waits up to maxWait for releases; at most maxWaiting callers wait,
+ *   anyone beyond that is rejected right away
+ */
+public class AdmissionLimiter {
+
+    public enum Rejection { QUEUE_FULL, CONCURRENCY, MEMORY }
+
+    /**
+     * Outcome of acquire(): a permit (rejection == null) to release(), or the reason it was refused.
+     */
+    public record Permit(long bytes, Rejection rejection) {
+        public boolean admitted() {
+            return rejection == null;
+        }
+    }
+
+    private final int maxConcurrent;
+    private final long maxBytes;
+    private final int maxWaiting;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+
+    // guarded by lock
+    private int inFlight;
+    private long inFlightBytes;
+    private int waiting;
+
+    public AdmissionLimiter(int maxConcurrent, long maxBytes, int maxWaiting) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.maxWaiting = Math.max(0, maxWaiting);
+    }
+
+    public Permit acquire(long bytes, long maxWait, TimeUnit unit) throws InterruptedException {
+        long cost = Math.min(Math.max(0, bytes), maxBytes);
+        long remainingNanos = unit.toNanos(maxWait);
+
+        lock.lock();
+        try {
+            if (!fits(cost)) {
+                if (remainingNanos <= 0) return new Permit(0, saturation());
+                if (waiting >= maxWaiting) return new Permit(0, Rejection.QUEUE_FULL);
+                waiting++;
+                try {
+                    while (!fits(cost)) {
+                        if (remainingNanos <= 0) return new Permit(0, saturation());
+                        remainingNanos = released.awaitNanos(remainingNanos);
+                    }
+                } finally {
+                    waiting--;
+                }
+            }
+            inFlight++;
+            inFlightBytes += cost;
+            return new Permit(cost, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Permit permit) {
+        if (!permit.admitted()) return;
+        lock.lock();
+        try {
+            inFlight--;
+            inFlightBytes -= permit.bytes();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long inFlightBytes() {
+        lock.lock();
+        try {
+            return inFlightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Rejection saturation() {
+        return inFlight >= maxConcurrent ? Rejection.CONCURRENCY : Rejection.MEMORY;
+    }
+
+    private boolean fits(long cost) {
+        return inFlight < maxConcurrent && (inFlight == 0 || inFlightBytes + cost <= maxBytes);
+    }
+}
@@ -0,0 +1,17 @@
+package bsaspm2025team2.backend.util;
+
+/**
+ * RFC 4180 field quoting, shared by the CSV report endpoints.
+ */
+public final class Csv {
+
+    private Csv() { }
+
+    public static String field(String value) {
+        if (value == null) return "";
+        String v = value;
+        boolean needsQuotes = v.contains(",") || v.contains("\"") || v.contains("\n") || v.contains("\r");
+        v = v.replace("\"", "\"\"");
+        return needsQuotes ? "\"" + v + "\"" : v;
+    }
+}
@@ -0,0 +1,30 @@
+package bsaspm2025team2.backend.util;
+
+/**
+ * Evenly spaced permits: at most permitsPerSecond acquire() calls return per second.
+ * permitsPerSecond <= 0 means unlimited.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos = System.nanoTime();
+
+    public RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond <= 0 ? 0 : (long) (1_000_000_000L / permitsPerSecond);
+    }
+
+    public void acquire() throws InterruptedException {
+        if (intervalNanos == 0) return;
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package bsaspm2025team2.backend.validation;
 
 import org.apache.tika.Tika;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -16,18 +17,29 @@ public class PdfValidationService {
     private final Tika tika = new Tika();
 
     public void validate(MultipartFile file) {
-        validateSize(file);
+        validate(file.getSize(), file);
+    }
+
+    /**
+     * Same checks for content that is not a multipart file (e.g. an assembled chunked upload).
+     */
+    public void validate(long size, InputStreamSource file) {
+        validateSize(size);
         validateHeader(file);
         validateMimeType(file);
     }
 
-    private void validateSize(MultipartFile file) {
-        if (file.getSize() > MAX_FILE_SIZE) {
+    public static long maxFileSize() {
+        return MAX_FILE_SIZE;
+    }
+
+    private void validateSize(long size) {
+        if (size > MAX_FILE_SIZE) {
             throw new FileTooLargeException("Maximum allowed file size is 10MB");
         }
     }
 
-    private void validateHeader(MultipartFile file) {
+    private void validateHeader(InputStreamSource file) {
         try (InputStream is = file.getInputStream()) {
             byte[] header = is.readNBytes(PDF_MAGIC.length);
 
@@ -40,7 +52,7 @@ public class PdfValidationService {
         }
     }
 
-    private void validateMimeType(MultipartFile file) {
+    private void validateMimeType(InputStreamSource file) {
         try (InputStream is = file.getInputStream()) {
             String mimeType = tika.detect(is);
 
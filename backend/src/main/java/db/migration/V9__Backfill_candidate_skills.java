@@ -0,0 +1,144 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fills candidate_skills (V8) for existing candidates, BATCH_SIZE candidates at a time (keyset on id).
+ *
+ * Self-contained on purpose: the tokenizer is a frozen copy of the rules of ScoreService.skillKeys at the time
+ * of writing (lowercase letter/digit tokens; curated names/aliases, multi-word ones as phrases over tokens
+ * separated by whitespace or '-', become their skill id; other tokens get a non-curated skills row), so later
+ * changes to application classes cannot change what this migration does.
+ */
+public class V9__Backfill_candidate_skills extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    // skills.name is VARCHAR(100)
+    private static final int MAX_TOKEN_LENGTH = 100;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        Map<String, Long> idByPhrase = new HashMap<>();
+        int[] maxPhraseTokens = {1};
+        jdbc.query("SELECT id, name, aliases FROM skills WHERE curated ORDER BY id", rs -> {
+            List<String> spellings = new ArrayList<>();
+            spellings.add(rs.getString("name"));
+            String aliases = rs.getString("aliases");
+            if (aliases != null) spellings.addAll(List.of(aliases.split(",")));
+
+            for (String spelling : spellings) {
+                String pattern = spelling == null ? "" : spelling.trim().toLowerCase(Locale.ROOT);
+                if (pattern.isEmpty()) continue;
+                String[] words = pattern.split("[\\s-]+");
+                boolean tokens = true;
+                for (String w : words) tokens &= !w.isEmpty() && w.codePoints().allMatch(Character::isLetterOrDigit);
+                if (!tokens) continue;
+                // first skill wins if two skills share a spelling
+                idByPhrase.putIfAbsent(String.join(" ", words), rs.getLong("id"));
+                maxPhraseTokens[0] = Math.max(maxPhraseTokens[0], words.length);
+            }
+        });
+
+        Map<String, Long> tokenIds = new HashMap<>();
+        long lastId = 0;
+        while (true) {
+            Map<Long, String> batch = new LinkedHashMap<>();
+            jdbc.query("SELECT id, skills FROM candidates WHERE id > ? ORDER BY id LIMIT ?",
+                    rs -> {
+                        batch.put(rs.getLong("id"), rs.getString("skills"));
+                    },
+                    lastId, BATCH_SIZE);
+            if (batch.isEmpty()) break;
+
+            List<long[]> rows = new ArrayList<>();
+            batch.forEach((candidateId, skills) -> {
+                Set<Long> skillIds = new LinkedHashSet<>();
+                for (Object key : skillKeys(skills, idByPhrase, maxPhraseTokens[0])) {
+                    Long id = key instanceof Long skillId ? skillId : tokenId(jdbc, tokenIds, (String) key);
+                    if (id != null) skillIds.add(id);
+                }
+                for (Long skillId : skillIds) rows.add(new long[]{candidateId, skillId});
+            });
+
+            List<Long> ids = new ArrayList<>(batch.keySet());
+            jdbc.update("DELETE FROM candidate_skills WHERE candidate_id BETWEEN ? AND ?", ids.get(0), ids.get(ids.size() - 1));
+            jdbc.batchUpdate("INSERT INTO candidate_skills (candidate_id, skill_id) VALUES (?, ?)",
+                    rows, 500, (ps, row) -> {
+                        ps.setLong(1, row[0]);
+                        ps.setLong(2, row[1]);
+                    });
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Skill id of a token that is not a curated spelling: its skills row, registered as non-curated if missing.
+     */
+    private static Long tokenId(JdbcTemplate jdbc, Map<String, Long> tokenIds, String token) {
+        if (token.length() > MAX_TOKEN_LENGTH) return null;
+        return tokenIds.computeIfAbsent(token, t -> {
+            // the migration runs alone, no concurrent inserts
+            jdbc.update("INSERT INTO skills (name, curated) SELECT ?, FALSE " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM skills WHERE LOWER(name) = ?)", t, t);
+            return jdbc.queryForObject("SELECT MIN(id) FROM skills WHERE LOWER(name) = ?", Long.class, t);
+        });
+    }
+
+    private static Set<Object> skillKeys(String raw, Map<String, Long> idByPhrase, int maxPhraseTokens) {
+        List<String> tokens = new ArrayList<>();
+        List<Integer> phraseStarts = new ArrayList<>();
+        if (raw != null) {
+            int phraseStart = 0;
+            int start = -1;
+            boolean phraseBroken = false;
+            for (int i = 0; i <= raw.length(); ) {
+                int cp = i < raw.length() ? raw.codePointAt(i) : ' ';
+                boolean tokenChar = Character.isLetterOrDigit(cp);
+                if (tokenChar && start < 0) {
+                    start = i;
+                    if (phraseBroken) phraseStart = tokens.size();
+                    phraseBroken = false;
+                }
+                if (!tokenChar) {
+                    if (start >= 0) {
+                        tokens.add(raw.substring(start, i).toLowerCase(Locale.ROOT));
+                        phraseStarts.add(phraseStart);
+                        start = -1;
+                    }
+                    if (!Character.isWhitespace(cp) && cp != '-') phraseBroken = true;
+                }
+                i += i < raw.length() ? Character.charCount(cp) : 1;
+            }
+        }
+
+        Set<Object> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size(); ) {
+            int length = 1;
+            Long skillId = null;
+            for (int n = Math.min(maxPhraseTokens, tokens.size() - i); n > 1 && skillId == null; n--) {
+                if (!phraseStarts.get(i + n - 1).equals(phraseStarts.get(i))) continue;
+                skillId = idByPhrase.get(String.join(" ", tokens.subList(i, i + n)));
+                if (skillId != null) length = n;
+            }
+            if (skillId == null) skillId = idByPhrase.get(tokens.get(i));
+            keys.add(skillId != null ? skillId : tokens.get(i));
+            i += length;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,26 @@
+-- Delta sync (GET /api/hr/candidates/changes): rows are read in (updated_at, id) order after a cursor.
+-- updated_at itself is set by the application on every insert/update.
+CREATE INDEX IF NOT EXISTS idx_candidates_updated_at ON candidates(updated_at, id);
+
+-- Deleted candidates, so sync clients can drop them too.
+CREATE TABLE IF NOT EXISTS candidate_tombstones (
+    candidate_id  BIGINT PRIMARY KEY,
+    deleted_at    TIMESTAMP NOT NULL
+    );
+
+CREATE INDEX IF NOT EXISTS idx_candidate_tombstones_deleted_at ON candidate_tombstones(deleted_at, candidate_id);
+
+-- every deletion leaves a tombstone, whoever deletes the row
+CREATE OR REPLACE FUNCTION candidates_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO candidate_tombstones (candidate_id, deleted_at)
+    VALUES (OLD.id, clock_timestamp()::timestamp)
+    ON CONFLICT (candidate_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_candidates_tombstone ON candidates;
+CREATE TRIGGER trg_candidates_tombstone
+    AFTER DELETE ON candidates
+    FOR EACH ROW EXECUTE FUNCTION candidates_tombstone();
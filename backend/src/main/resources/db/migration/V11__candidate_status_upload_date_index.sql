@@ -0,0 +1,2 @@
+-- unfiltered / status-only candidate list pages: ORDER BY upload_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_candidates_status_upload_date ON candidates(status, upload_date, id);
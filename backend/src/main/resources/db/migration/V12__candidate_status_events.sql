@@ -0,0 +1,37 @@
+-- Status history: one row per status change (CandidateController.updateCandidate), never updated.
+-- position_id = position the candidate was reviewed against (the card's position_id), NULL without one.
+-- time_in_stage_ms = time spent in from_status (since the previous change, or since upload).
+CREATE TABLE IF NOT EXISTS candidate_status_events (
+    id                BIGSERIAL PRIMARY KEY,
+    candidate_id      BIGINT NOT NULL,
+    position_id       BIGINT,
+    from_status       VARCHAR(32) NOT NULL,
+    to_status         VARCHAR(32) NOT NULL,
+    occurred_at       TIMESTAMP NOT NULL,
+    time_in_stage_ms  BIGINT NOT NULL
+    );
+
+-- previous change of a candidate
+CREATE INDEX IF NOT EXISTS idx_candidate_status_events_candidate ON candidate_status_events(candidate_id, occurred_at);
+
+-- Funnel rollups per UTC day, updated in the same transaction as the event; the funnel report reads only these.
+-- position_id 0 = no position.
+CREATE TABLE IF NOT EXISTS funnel_transitions_daily (
+    event_date   DATE NOT NULL,
+    position_id  BIGINT NOT NULL,
+    from_status  VARCHAR(32) NOT NULL,
+    to_status    VARCHAR(32) NOT NULL,
+    transitions  BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (event_date, position_id, from_status, to_status)
+    );
+
+-- time-in-stage histogram of the candidates leaving a stage that day: bucket 0 = under 1h,
+-- bucket n = [2^(n-1), 2^n) hours (see CandidateFunnelService)
+CREATE TABLE IF NOT EXISTS funnel_stage_time_daily (
+    event_date   DATE NOT NULL,
+    position_id  BIGINT NOT NULL,
+    stage        VARCHAR(32) NOT NULL,
+    bucket       INT NOT NULL,
+    candidates   BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (event_date, position_id, stage, bucket)
+    );
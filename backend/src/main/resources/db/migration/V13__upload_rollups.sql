@@ -0,0 +1,17 @@
+-- range scans over upload dates (time-series, backfill below)
+CREATE INDEX IF NOT EXISTS idx_candidates_upload_date ON candidates(upload_date);
+CREATE INDEX IF NOT EXISTS idx_documents_upload_date ON documents(upload_date);
+
+-- Uploads per day, incremented by every upload (ResumeUploadService); read by
+-- GET /api/manager/reports/uploads-timeseries instead of grouping documents.
+CREATE TABLE IF NOT EXISTS upload_counts_daily (
+    upload_day  DATE PRIMARY KEY,
+    uploads     BIGINT NOT NULL DEFAULT 0,
+    bytes       BIGINT NOT NULL DEFAULT 0
+    );
+
+INSERT INTO upload_counts_daily (upload_day, uploads, bytes)
+SELECT CAST(upload_date AS DATE), COUNT(*), COALESCE(SUM(file_size), 0)
+FROM documents
+GROUP BY CAST(upload_date AS DATE)
+ON CONFLICT (upload_day) DO NOTHING;
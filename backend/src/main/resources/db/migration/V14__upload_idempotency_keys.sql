@@ -0,0 +1,12 @@
+-- Idempotency-Key of a resume upload -> candidate created by it, so a retried upload returns that candidate
+-- instead of creating a duplicate. fingerprint = SHA-256 of the file (same key, other file = rejected).
+-- candidate_id is NULL until the uploading transaction commits; rows older than app.uploads.idempotency.ttl
+-- are purged (UploadIdempotencyService).
+CREATE TABLE IF NOT EXISTS upload_idempotency_keys (
+    idempotency_key  VARCHAR(255) PRIMARY KEY,
+    fingerprint      VARCHAR(64) NOT NULL,
+    candidate_id     BIGINT REFERENCES candidates(id) ON DELETE CASCADE,
+    created_at       TIMESTAMP NOT NULL
+    );
+
+CREATE INDEX IF NOT EXISTS idx_upload_idempotency_keys_created_at ON upload_idempotency_keys(created_at);
@@ -0,0 +1,9 @@
+-- Documents a background job could not process (e.g. unreadable PDF), written together with its checkpoint
+-- so they are not lost when the checkpoint moves past them; retried at the start of the next run.
+CREATE TABLE IF NOT EXISTS job_failures (
+    job_name     VARCHAR(64) NOT NULL,
+    document_id  BIGINT NOT NULL,
+    error        VARCHAR(500),
+    failed_at    TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (job_name, document_id)
+    );
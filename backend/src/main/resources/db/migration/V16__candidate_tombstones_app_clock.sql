@@ -0,0 +1,19 @@
+-- Tombstones are timed by the application clock, like candidates.updated_at (Candidate.touch()): the sync keyset
+-- cursor compares both, so a second clock (the database's clock_timestamp()) could order a deletion behind a
+-- cursor a client already has. The trigger now only records the deletion with deleted_at NULL; the next sync
+-- stamps it (CandidateSyncService).
+--
+-- The trigger is untested: the tests run on H2, which has no plpgsql triggers, and no PostgreSQL-backed test exists.
+ALTER TABLE candidate_tombstones ALTER COLUMN deleted_at DROP NOT NULL;
+
+-- the sync looks up unstamped tombstones on every call
+CREATE INDEX IF NOT EXISTS idx_candidate_tombstones_unstamped ON candidate_tombstones(candidate_id) WHERE deleted_at IS NULL;
+
+CREATE OR REPLACE FUNCTION candidates_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO candidate_tombstones (candidate_id, deleted_at)
+    VALUES (OLD.id, NULL)
+    ON CONFLICT (candidate_id) DO UPDATE SET deleted_at = NULL;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
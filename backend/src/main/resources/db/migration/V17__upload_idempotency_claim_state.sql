@@ -0,0 +1,6 @@
+-- An upload claims its Idempotency-Key in a short transaction of its own (state IN_PROGRESS, claim_token of that
+-- upload) instead of inside the upload transaction, so a concurrent retry reads the committed claim and gets 409
+-- at once rather than waiting on an uncommitted row. The upload transaction sets COMPLETED with the candidate;
+-- a rolled back upload deletes its claim. Before this, rows were only committed together with their candidate.
+ALTER TABLE upload_idempotency_keys ADD COLUMN IF NOT EXISTS state VARCHAR(16) NOT NULL DEFAULT 'COMPLETED';
+ALTER TABLE upload_idempotency_keys ADD COLUMN IF NOT EXISTS claim_token VARCHAR(36);
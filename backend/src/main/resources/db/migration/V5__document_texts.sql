@@ -0,0 +1,9 @@
+-- Text extracted from a document's PDF, gzip-compressed UTF-8.
+-- Lets the field rules be re-run without parsing the PDF again.
+CREATE TABLE IF NOT EXISTS document_texts (
+    document_id       BIGINT PRIMARY KEY REFERENCES documents(id) ON DELETE CASCADE,
+    content           BYTEA NOT NULL,
+    char_length       INT NOT NULL,
+    extraction_limit  VARCHAR(16) NOT NULL,
+    created_at        TIMESTAMP NOT NULL DEFAULT NOW()
+    );
@@ -0,0 +1,6 @@
+-- Progress of long-running background jobs (last processed id), so they can resume after a stop/restart.
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+    job_name    VARCHAR(64) PRIMARY KEY,
+    last_id     BIGINT NOT NULL,
+    updated_at  TIMESTAMP NOT NULL DEFAULT NOW()
+    );
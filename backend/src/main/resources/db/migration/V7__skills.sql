@@ -0,0 +1,15 @@
+-- Skill dictionary used by extraction and scoring.
+-- aliases: comma-separated alternative spellings that resolve to the same skill.
+CREATE TABLE IF NOT EXISTS skills (
+    id        BIGSERIAL PRIMARY KEY,
+    name      VARCHAR(100) NOT NULL,
+    aliases   TEXT
+    );
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_skills_name_lower ON skills (LOWER(name));
+
+-- the former built-in keyword list, same order (order = order of skills in extracted text)
+INSERT INTO skills (name) VALUES
+    ('java'), ('spring'), ('spring boot'), ('hibernate'), ('jpa'),
+    ('postgresql'), ('sql'), ('docker'), ('kubernetes'),
+    ('git'), ('maven'), ('rest'), ('microservices'), ('flyway');
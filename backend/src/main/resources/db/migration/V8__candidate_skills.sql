@@ -0,0 +1,17 @@
+-- Normalized candidate skills: one row per (candidate, skill), so scoring can count matches in SQL.
+--
+-- skills now also holds plain tokens found in candidate skills that are not in the dictionary
+-- (curated = FALSE); they are registered on the fly so every token has an id to match on.
+-- Only curated skills are used for extraction and shown in the skill dictionary API.
+ALTER TABLE skills ADD COLUMN IF NOT EXISTS curated BOOLEAN NOT NULL DEFAULT TRUE;
+
+CREATE TABLE IF NOT EXISTS candidate_skills (
+    candidate_id  BIGINT NOT NULL REFERENCES candidates(id) ON DELETE CASCADE,
+    skill_id      BIGINT NOT NULL REFERENCES skills(id) ON DELETE CASCADE,
+    PRIMARY KEY (candidate_id, skill_id)
+    );
+
+-- scoring: candidates having any of the required skills
+CREATE INDEX IF NOT EXISTS idx_candidate_skills_skill_id ON candidate_skills(skill_id, candidate_id);
+
+-- existing candidates are tokenized by the Java migration V9__Backfill_candidate_skills
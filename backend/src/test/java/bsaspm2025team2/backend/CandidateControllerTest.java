@@ -2,13 +2,18 @@ package bsaspm2025team2.backend;
 
 import bsaspm2025team2.backend.api.CandidateController;
 import bsaspm2025team2.backend.api.GlobalExceptionHandler;
+import bsaspm2025team2.backend.api.dto.UpdateCandidateRequest;
 import bsaspm2025team2.backend.config.SecurityConfig;
 import bsaspm2025team2.backend.domain.Candidate;
 import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Position;
 import bsaspm2025team2.backend.repository.CandidateRepository;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.CandidateService;
+import bsaspm2025team2.backend.service.ResumeReextractionService;
 import bsaspm2025team2.backend.service.ResumeUploadService;
 import bsaspm2025team2.backend.service.ScoreService;
+import bsaspm2025team2.backend.validation.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -19,11 +24,16 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,12 +56,19 @@ class CandidateControllerTest {
     @MockitoBean
     ResumeUploadService resumeUploadService;
 
+    @MockitoBean
+    ResumeReextractionService resumeReextractionService;
+
+    @MockitoBean
+    CandidateService candidateService;
+
     @Test
     void updateCandidate_missingRequiredFields_returns400_withFieldErrors() throws Exception {
-        // Candidate exists
-        Candidate c = new Candidate(CandidateStatus.NEW, Instant.parse("2026-01-01T00:00:00Z"));
-        ReflectionTestUtils.setField(c, "id", 1L);
-        when(candidateRepository.findById(1L)).thenReturn(Optional.of(c));
+        Map<String, String> errors = new LinkedHashMap<>();
+        errors.put("status", "Status is required");
+        errors.put("email", "Email is required");
+        errors.put("phone", "Phone is required");
+        when(candidateService.updateCandidate(eq(1L), any(), isNull())).thenThrow(new ValidationException(errors));
 
         String body = """
                 {
@@ -75,12 +92,19 @@ class CandidateControllerTest {
     }
 
     @Test
-    void updateCandidate_whenValid_setsDraftFalse_savesAndReturnsCard() throws Exception {
-        Candidate c = new Candidate(CandidateStatus.NEW, Instant.parse("2026-01-01T00:00:00Z"));
+    void updateCandidate_whenValid_returnsTheSavedCard() throws Exception {
+        Candidate c = new Candidate(CandidateStatus.IN_REVIEW, Instant.parse("2026-01-01T00:00:00Z"));
         ReflectionTestUtils.setField(c, "id", 1L);
-
-        when(candidateRepository.findById(1L)).thenReturn(Optional.of(c));
-        when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
+        c.setFullName("John Doe");
+        c.setEmail("john@doe.com");
+        c.setPhone("+12345678901");
+        c.setSkills("java, spring");
+        c.setYearsOfExperience(5);
+        c.setDraft(false);
+        when(candidateService.updateCandidate(eq(1L), any(), eq(5L))).thenReturn(c);
+        Position backend = new Position("Backend", "java", 70, 30);
+        when(positionRepository.findById(5L)).thenReturn(Optional.of(backend));
+        when(scoreService.score("java, spring", "java")).thenReturn(100);
 
         String body = """
                 {
@@ -95,6 +119,7 @@ class CandidateControllerTest {
 
         mockMvc.perform(put("/api/hr/candidates/1")
                         .with(httpBasic("hr", "hrPass"))
+                        .param("position_id", "5")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body))
                 .andExpect(status().isOk())
@@ -105,12 +130,11 @@ class CandidateControllerTest {
                 .andExpect(jsonPath("$.fields.email").value("john@doe.com"))
                 .andExpect(jsonPath("$.fields.phone").value("+12345678901"))
                 .andExpect(jsonPath("$.fields.skills").value("java, spring"))
-                .andExpect(jsonPath("$.fields.years_of_experience").value(5));
+                .andExpect(jsonPath("$.fields.years_of_experience").value(5))
+                .andExpect(jsonPath("$.score").value(100));
 
-        // Проверяем, что draft действительно стал false и save вызвался
-        verify(candidateRepository, times(1)).save(any(Candidate.class));
-        assertEquals(CandidateStatus.IN_REVIEW, c.getStatus());
-        assertFalse(c.isDraft());
+        verify(candidateService).updateCandidate(1L, new UpdateCandidateRequest(
+                CandidateStatus.IN_REVIEW, "John Doe", "john@doe.com", "+12345678901", "java, spring", 5), 5L);
     }
 
     @Test
@@ -135,4 +159,50 @@ class CandidateControllerTest {
                 .andExpect(jsonPath("$.fields.status").exists())
                 .andExpect(jsonPath("$.fields.status").value(org.hamcrest.Matchers.containsString("Status must be one of")));
     }
+
+    @Test
+    void candidateCards_returnsCardsInRequestOrder_withScoreMatrix() throws Exception {
+        Candidate c1 = new Candidate(CandidateStatus.NEW, Instant.parse("2026-01-01T00:00:00Z"));
+        ReflectionTestUtils.setField(c1, "id", 1L);
+        c1.setSkills("java");
+        Candidate c2 = new Candidate(CandidateStatus.IN_REVIEW, Instant.parse("2026-01-02T00:00:00Z"));
+        ReflectionTestUtils.setField(c2, "id", 2L);
+        c2.setSkills("python");
+        Position backend = new Position("Backend", "java", 70, 30);
+        ReflectionTestUtils.setField(backend, "id", 5L);
+
+        when(candidateRepository.findAllById(List.of(2L, 1L, 9L))).thenReturn(List.of(c1, c2));
+        when(positionRepository.findAllById(List.of(5L, 6L))).thenReturn(List.of(backend));
+        when(scoreService.scoreMatrix(List.of("python", "java"), List.of("java"))).thenReturn(new int[][]{{0, 100}});
+
+        mockMvc.perform(post("/api/hr/candidates/cards")
+                        .with(httpBasic("hr", "hrPass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"candidate_ids": [2, 1, 9, 2], "position_ids": [5, 6]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cards[0].candidate_id").value(2))
+                .andExpect(jsonPath("$.cards[0].score").value(0))
+                .andExpect(jsonPath("$.cards[1].candidate_id").value(1))
+                .andExpect(jsonPath("$.cards[1].score").value(100))
+                .andExpect(jsonPath("$.missing_ids[0]").value(9))
+                .andExpect(jsonPath("$.scores.length()").value(1))
+                .andExpect(jsonPath("$.scores[0].position_id").value(5))
+                .andExpect(jsonPath("$.scores[0].scores.1").value(100))
+                .andExpect(jsonPath("$.scores[0].scores.2").value(0));
+
+        verify(candidateRepository, never()).findById(any());
+        verify(positionRepository, never()).findById(any());
+    }
+
+    @Test
+    void candidateCards_withoutIds_returns400() throws Exception {
+        mockMvc.perform(post("/api/hr/candidates/cards")
+                        .with(httpBasic("hr", "hrPass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"candidate_ids\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.candidate_ids").exists());
+    }
 }
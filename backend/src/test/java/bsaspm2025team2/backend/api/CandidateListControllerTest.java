@@ -1,11 +1,13 @@
 package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.config.SecurityConfig;
-import bsaspm2025team2.backend.domain.Candidate;
 import bsaspm2025team2.backend.domain.CandidateStatus;
 import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.metrics.CandidateQueryMetrics;
 import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSummary;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.CandidateCountService;
 import bsaspm2025team2.backend.service.ScoreService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +18,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -39,6 +43,12 @@ class CandidateListControllerTest {
     @MockitoBean
     ScoreService scoreService;
 
+    @MockitoBean
+    CandidateQueryMetrics queryMetrics;
+
+    @MockitoBean
+    CandidateCountService candidateCounts;
+
     @Test
     void listFiltersByMinScore() throws Exception {
         // Position
@@ -47,16 +57,15 @@ class CandidateListControllerTest {
         when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
 
         // Candidates
-        Candidate c1 = mockCandidate(1L, "A", "a@mail.com", "111", "JAVA SQL", Instant.parse("2026-01-01T00:00:00Z"));
-        Candidate c2 = mockCandidate(2L, "B", "b@mail.com", "222", "java spring sql docker", Instant.parse("2026-01-02T00:00:00Z"));
-        Candidate c3 = mockCandidate(3L, "C", "c@mail.com", "333", "python", Instant.parse("2026-01-03T00:00:00Z"));
+        CandidateSummary c1 = mockCandidate(1L, "A", "a@mail.com", "111", Instant.parse("2026-01-01T00:00:00Z"));
+        CandidateSummary c2 = mockCandidate(2L, "B", "b@mail.com", "222", Instant.parse("2026-01-02T00:00:00Z"));
+        CandidateSummary c3 = mockCandidate(3L, "C", "c@mail.com", "333", Instant.parse("2026-01-03T00:00:00Z"));
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2, c3));
+        when(candidateRepository.findAllSummaries()).thenReturn(List.of(c1, c2, c3));
 
         // Scores relative to the selected position
-        when(scoreService.score(eq("JAVA SQL"), anyString())).thenReturn(50);
-        when(scoreService.score(eq("java spring sql docker"), anyString())).thenReturn(100);
-        when(scoreService.score(eq("python"), anyString())).thenReturn(0);
+        // c3 has no matching skill -> absent
+        when(scoreService.scoresByCandidate("java spring sql docker")).thenReturn(Map.of(1L, 50, 2L, 100));
 
         // min_score=60 -> should keep only c2 (score=100)
         mockMvc.perform(get("/api/hr/candidates")
@@ -78,15 +87,14 @@ class CandidateListControllerTest {
         when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
 
         // Candidates (upload_date tie-breaker not needed here)
-        Candidate c1 = mockCandidate(1L, "A", "a@mail.com", "111", "JAVA SQL", Instant.parse("2026-01-01T00:00:00Z"));
-        Candidate c2 = mockCandidate(2L, "B", "b@mail.com", "222", "java spring sql docker", Instant.parse("2026-01-02T00:00:00Z"));
-        Candidate c3 = mockCandidate(3L, "C", "c@mail.com", "333", "python", Instant.parse("2026-01-03T00:00:00Z"));
+        CandidateSummary c1 = mockCandidate(1L, "A", "a@mail.com", "111", Instant.parse("2026-01-01T00:00:00Z"));
+        CandidateSummary c2 = mockCandidate(2L, "B", "b@mail.com", "222", Instant.parse("2026-01-02T00:00:00Z"));
+        CandidateSummary c3 = mockCandidate(3L, "C", "c@mail.com", "333", Instant.parse("2026-01-03T00:00:00Z"));
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2, c3));
+        when(candidateRepository.findAllSummaries()).thenReturn(List.of(c1, c2, c3));
 
-        when(scoreService.score(eq("JAVA SQL"), anyString())).thenReturn(50);
-        when(scoreService.score(eq("java spring sql docker"), anyString())).thenReturn(100);
-        when(scoreService.score(eq("python"), anyString())).thenReturn(0);
+        // c3 has no matching skill -> absent
+        when(scoreService.scoresByCandidate("java spring sql docker")).thenReturn(Map.of(1L, 50, 2L, 100));
 
         mockMvc.perform(get("/api/hr/candidates")
                         .with(httpBasic("hr", "hrPass"))
@@ -106,18 +114,16 @@ class CandidateListControllerTest {
                 .andExpect(jsonPath("$.items[2].score").value(0));
     }
 
-    private Candidate mockCandidate(Long id,
+    private CandidateSummary mockCandidate(Long id,
                                     String fullName,
                                     String email,
                                     String phone,
-                                    String skills,
                                     Instant uploadDate) {
-        Candidate c = mock(Candidate.class);
+        CandidateSummary c = mock(CandidateSummary.class);
         when(c.getId()).thenReturn(id);
         when(c.getFullName()).thenReturn(fullName);
         when(c.getEmail()).thenReturn(email);
         when(c.getPhone()).thenReturn(phone);
-        when(c.getSkills()).thenReturn(skills);
         when(c.getUploadDate()).thenReturn(uploadDate);
         when(c.getStatus()).thenReturn(CandidateStatus.NEW);
         when(c.getYearsOfExperience()).thenReturn(1);
@@ -125,30 +131,56 @@ class CandidateListControllerTest {
     }
     @Test
     void listFiltersByStatus() throws Exception {
-        Candidate c1 = mockCandidate(1L, "A", "a@mail.com", "111", "java", Instant.parse("2026-01-01T00:00:00Z"));
-        when(c1.getStatus()).thenReturn(CandidateStatus.NEW);
-
-        Candidate c2 = mockCandidate(2L, "B", "b@mail.com", "222", "java", Instant.parse("2026-01-02T00:00:00Z"));
+        CandidateSummary c1 = mockCandidate(1L, "A", "a@mail.com", "111", Instant.parse("2026-01-01T00:00:00Z"));
+        CandidateSummary c2 = mockCandidate(2L, "B", "b@mail.com", "222", Instant.parse("2026-01-02T00:00:00Z"));
         when(c2.getStatus()).thenReturn(CandidateStatus.REJECTED);
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2));
+        when(candidateRepository.findSummaryPage(any())).thenReturn(List.of(c2, c1));
+        when(candidateRepository.findSummaryPageByStatus(any(), any())).thenReturn(List.of());
+        when(candidateRepository.findSummaryPageByStatus(eq(CandidateStatus.REJECTED), any())).thenReturn(List.of(c2));
+        when(candidateCounts.count(CandidateStatus.REJECTED)).thenReturn(new CandidateCountService.Count(1, true));
 
         mockMvc.perform(get("/api/hr/candidates")
                         .with(httpBasic("hr", "hrPass"))
                         .param("status", "REJECTED"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.total_exact").value(true))
                 .andExpect(jsonPath("$.items.length()").value(1))
                 .andExpect(jsonPath("$.items[0].candidate_id").value(2))
                 .andExpect(jsonPath("$.items[0].status").value("REJECTED"));
+
+        // the status goes to the query; nothing is read unfiltered
+        verify(candidateRepository).findSummaryPageByStatus(eq(CandidateStatus.REJECTED), any());
+        verify(candidateRepository, never()).findSummaryPage(any());
+        verify(candidateRepository, never()).findAllSummaries();
+    }
+
+    @Test
+    void unfilteredList_usesEstimatedTotal() throws Exception {
+        CandidateSummary c1 = mockCandidate(1L, "A", "a@mail.com", "111", Instant.parse("2026-01-01T00:00:00Z"));
+        when(candidateRepository.findSummaryPage(any())).thenReturn(List.of(c1));
+        when(candidateCounts.count(null)).thenReturn(new CandidateCountService.Count(1_200_000, false));
+
+        mockMvc.perform(get("/api/hr/candidates")
+                        .with(httpBasic("hr", "hrPass"))
+                        .param("limit", "1")
+                        .param("offset", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1_200_000))
+                .andExpect(jsonPath("$.total_exact").value(false))
+                .andExpect(jsonPath("$.offset").value(40))
+                .andExpect(jsonPath("$.items[0].candidate_id").value(1));
+
+        verify(candidateRepository).findSummaryPage(argThat(p -> p.getOffset() == 40 && p.getPageSize() == 1));
     }
 
     @Test
     void listFiltersByQ_matchesFullNameEmailOrPhone_caseInsensitivePartial() throws Exception {
-        Candidate c1 = mockCandidate(1L, "John Doe", "john@doe.com", "555-111", "java", Instant.parse("2026-01-01T00:00:00Z"));
-        Candidate c2 = mockCandidate(2L, "Alice Smith", "alice@smith.com", "999-222", "java", Instant.parse("2026-01-02T00:00:00Z"));
+        CandidateSummary c1 = mockCandidate(1L, "John Doe", "john@doe.com", "555-111", Instant.parse("2026-01-01T00:00:00Z"));
+        CandidateSummary c2 = mockCandidate(2L, "Alice Smith", "alice@smith.com", "999-222", Instant.parse("2026-01-02T00:00:00Z"));
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2));
+        when(candidateRepository.findAllSummaries()).thenReturn(List.of(c1, c2));
 
         mockMvc.perform(get("/api/hr/candidates")
                         .with(httpBasic("hr", "hrPass"))
@@ -161,16 +193,16 @@ class CandidateListControllerTest {
 
     @Test
     void listFiltersByMinYears() throws Exception {
-        Candidate c1 = mockCandidate(1L, "A", "a@mail.com", "111", "java", Instant.parse("2026-01-01T00:00:00Z"));
+        CandidateSummary c1 = mockCandidate(1L, "A", "a@mail.com", "111", Instant.parse("2026-01-01T00:00:00Z"));
         when(c1.getYearsOfExperience()).thenReturn(1);
 
-        Candidate c2 = mockCandidate(2L, "B", "b@mail.com", "222", "java", Instant.parse("2026-01-02T00:00:00Z"));
+        CandidateSummary c2 = mockCandidate(2L, "B", "b@mail.com", "222", Instant.parse("2026-01-02T00:00:00Z"));
         when(c2.getYearsOfExperience()).thenReturn(5);
 
-        Candidate c3 = mockCandidate(3L, "C", "c@mail.com", "333", "java", Instant.parse("2026-01-03T00:00:00Z"));
+        CandidateSummary c3 = mockCandidate(3L, "C", "c@mail.com", "333", Instant.parse("2026-01-03T00:00:00Z"));
         when(c3.getYearsOfExperience()).thenReturn(null); // должен отфильтроваться
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2, c3));
+        when(candidateRepository.findAllSummaries()).thenReturn(List.of(c1, c2, c3));
 
         mockMvc.perform(get("/api/hr/candidates")
                         .with(httpBasic("hr", "hrPass"))
@@ -3,6 +3,7 @@ package bsaspm2025team2.backend.api;
 import bsaspm2025team2.backend.config.SecurityConfig;
 import bsaspm2025team2.backend.domain.Position;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.PositionSkillIndex;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,9 @@ class PositionControllerTest {
     @MockitoBean
     PositionRepository positionRepository;
 
+    @MockitoBean
+    PositionSkillIndex positionSkillIndex;
+
     @Test
     void hrCannotViewPositions() throws Exception {
         mockMvc.perform(get("/api/manager/positions")
@@ -1,12 +1,17 @@
 package bsaspm2025team2.backend.api;
 
 import bsaspm2025team2.backend.config.SecurityConfig;
-import bsaspm2025team2.backend.domain.Candidate;
 import bsaspm2025team2.backend.domain.CandidateStatus;
 import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.metrics.CandidateQueryMetrics;
 import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSummary;
 import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.service.CandidateExportService;
+import bsaspm2025team2.backend.service.ReportCache;
+import bsaspm2025team2.backend.service.ScoreHistogramService;
 import bsaspm2025team2.backend.service.ScoreService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,13 +19,22 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,15 +54,35 @@ class ReportsControllerTest {
     @MockitoBean
     ScoreService scoreService;
 
+    @MockitoBean
+    CandidateQueryMetrics queryMetrics;
+
+    @MockitoBean
+    CandidateExportService exportService;
+
+    @MockitoBean
+    ReportCache reportCache;
+
+    @MockitoBean
+    ScoreHistogramService scoreHistogramService;
+
+    @MockitoBean
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void bypassCache() {
+        when(reportCache.get(any(), any(), any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(2).get());
+    }
+
     @Test
     void pipelineStatsAggregatesByStatus() throws Exception {
         // given
-        Candidate c1 = mockCandidate(1L, CandidateStatus.NEW);
-        Candidate c2 = mockCandidate(2L, CandidateStatus.NEW);
-        Candidate c3 = mockCandidate(3L, CandidateStatus.IN_REVIEW);
-        Candidate c4 = mockCandidate(4L, CandidateStatus.REJECTED);
+        CandidateSummary c1 = mockCandidate(1L, CandidateStatus.NEW);
+        CandidateSummary c2 = mockCandidate(2L, CandidateStatus.NEW);
+        CandidateSummary c3 = mockCandidate(3L, CandidateStatus.IN_REVIEW);
+        CandidateSummary c4 = mockCandidate(4L, CandidateStatus.REJECTED);
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2, c3, c4));
+        when(candidateRepository.findAllSummaries()).thenReturn(List.of(c1, c2, c3, c4));
 
         // when / then
         mockMvc.perform(get("/api/manager/reports/pipeline-stats")
@@ -68,13 +102,12 @@ class ReportsControllerTest {
         when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
 
         // candidates
-        Candidate c1 = mockCandidateWithSkills(1L, "Alice", "a@mail.com", "111", CandidateStatus.NEW, "java");
-        Candidate c2 = mockCandidateWithSkills(2L, "Bob", "b@mail.com", "222", CandidateStatus.IN_REVIEW, "java sql");
+        CandidateSummary c1 = mockCandidateWithSkills(1L, "Alice", "a@mail.com", "111", CandidateStatus.NEW, "java");
+        CandidateSummary c2 = mockCandidateWithSkills(2L, "Bob", "b@mail.com", "222", CandidateStatus.IN_REVIEW, "java sql");
 
-        when(candidateRepository.findAll()).thenReturn(List.of(c1, c2));
+        when(candidateRepository.findAllSummaries()).thenReturn(List.of(c1, c2));
 
-        when(scoreService.score(eq("java"), anyString())).thenReturn(50);
-        when(scoreService.score(eq("java sql"), anyString())).thenReturn(100);
+        when(scoreService.scoresByCandidate("java sql")).thenReturn(Map.of(1L, 50, 2L, 100));
 
         // when / then
         mockMvc.perform(get("/api/manager/reports/top-candidates")
@@ -93,34 +126,106 @@ class ReportsControllerTest {
                         "Alice,a@mail.com,111,NEW,50")));
     }
 
+    @Test
+    void exportStreamsNdjsonWithPositionSkills() throws Exception {
+        Position position = mock(Position.class);
+        when(position.getRequiredSkills()).thenReturn("java sql");
+        when(positionRepository.findById(1L)).thenReturn(Optional.of(position));
+        when(exportService.export(any(), eq(CandidateExportService.Format.NDJSON), any())).thenAnswer(inv -> {
+            CandidateExportService.Filter filter = inv.getArgument(0);
+            OutputStream out = inv.getArgument(2);
+            out.write(("{\"required\":\"" + filter.requiredSkills() + "\"}\n").getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult started = mockMvc.perform(get("/api/manager/reports/export")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("position_id", "1")
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"candidates.ndjson\""))
+                .andExpect(content().string("{\"required\":\"java sql\"}\n"));
+    }
+
+    @Test
+    void exportRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/manager/reports/export")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
     // ---------------- helpers ----------------
 
-    private Candidate mockCandidate(Long id, CandidateStatus status) {
-        Candidate c = mock(Candidate.class);
+    @Test
+    void scoreHistogramReturnsTenPointBuckets() throws Exception {
+        Position position = new Position("Backend", "java sql", 70, 30);
+        when(positionRepository.findById(5L)).thenReturn(Optional.of(position));
+        long[] counts = new long[10];
+        counts[0] = 4;
+        counts[9] = 2;
+        when(scoreHistogramService.histogram(eq(new CandidateExportService.Filter(
+                "ann", CandidateStatus.NEW, null, "java sql", null)))).thenReturn(counts);
+
+        mockMvc.perform(get("/api/manager/reports/score-histogram")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("position_id", "5")
+                        .param("q", "Ann")
+                        .param("status", "NEW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position_id").value(5))
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.buckets.length()").value(10))
+                .andExpect(jsonPath("$.buckets[0].min_score").value(0))
+                .andExpect(jsonPath("$.buckets[0].max_score").value(9))
+                .andExpect(jsonPath("$.buckets[0].candidates").value(4))
+                .andExpect(jsonPath("$.buckets[9].max_score").value(100))
+                .andExpect(jsonPath("$.buckets[9].candidates").value(2));
+    }
+
+    @Test
+    void scoreHistogramNeedsAKnownPosition() throws Exception {
+        mockMvc.perform(get("/api/manager/reports/score-histogram")
+                        .with(httpBasic("manager", "managerPass")))
+                .andExpect(status().isBadRequest());
+
+        when(positionRepository.findById(9L)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/api/manager/reports/score-histogram")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("position_id", "9"))
+                .andExpect(status().isNotFound());
+    }
+
+    private CandidateSummary mockCandidate(Long id, CandidateStatus status) {
+        CandidateSummary c = mock(CandidateSummary.class);
         when(c.getId()).thenReturn(id);
         when(c.getStatus()).thenReturn(status);
         when(c.getUploadDate()).thenReturn(Instant.now());
         when(c.getFullName()).thenReturn("X");
         when(c.getEmail()).thenReturn("x@mail.com");
         when(c.getPhone()).thenReturn("000");
-        when(c.getSkills()).thenReturn("java");
         when(c.getYearsOfExperience()).thenReturn(1);
         return c;
     }
 
-    private Candidate mockCandidateWithSkills(Long id,
+    private CandidateSummary mockCandidateWithSkills(Long id,
                                               String name,
                                               String email,
                                               String phone,
                                               CandidateStatus status,
                                               String skills) {
-        Candidate c = mock(Candidate.class);
+        CandidateSummary c = mock(CandidateSummary.class);
         when(c.getId()).thenReturn(id);
         when(c.getFullName()).thenReturn(name);
         when(c.getEmail()).thenReturn(email);
         when(c.getPhone()).thenReturn(phone);
         when(c.getStatus()).thenReturn(status);
-        when(c.getSkills()).thenReturn(skills);
         when(c.getUploadDate()).thenReturn(Instant.now());
         when(c.getYearsOfExperience()).thenReturn(1);
         return c;
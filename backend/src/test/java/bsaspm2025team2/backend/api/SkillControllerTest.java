@@ -0,0 +1,87 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.config.SecurityConfig;
+import bsaspm2025team2.backend.domain.Skill;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.service.SkillService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SkillController.class)
+@Import(SecurityConfig.class)
+class SkillControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    SkillService skillService;
+
+    @MockitoBean
+    SkillDictionary skillDictionary;
+
+    @BeforeEach
+    void ignoreStartupReload() {
+        // the dictionary also reloads on ApplicationReadyEvent
+        clearInvocations(skillDictionary);
+    }
+
+    @Test
+    void managerCanCreateSkill_andDictionaryIsReloaded() throws Exception {
+        when(skillService.create(eq("Python"), anyList())).thenAnswer(inv -> {
+            Skill s = new Skill(inv.getArgument(0), String.join(",", inv.<List<String>>getArgument(1)));
+            ReflectionTestUtils.setField(s, "id", 15L);
+            return s;
+        });
+
+        mockMvc.perform(post("/api/manager/skills")
+                        .with(httpBasic("manager", "managerPass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Python\", \"aliases\": [\"py\", \" python3 \"]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(15))
+                .andExpect(jsonPath("$.aliases[1]").value("python3"));
+
+        verify(skillDictionary).reload();
+    }
+
+    @Test
+    void aliasUsedByAnotherSkill_returns400() throws Exception {
+        Skill postgres = new Skill("postgresql", "postgres");
+        ReflectionTestUtils.setField(postgres, "id", 6L);
+        when(skillService.list()).thenReturn(List.of(postgres));
+
+        mockMvc.perform(post("/api/manager/skills")
+                        .with(httpBasic("manager", "managerPass"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"pg\", \"aliases\": [\"Postgres\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.aliases").exists());
+
+        verify(skillService, never()).create(any(), any());
+        verify(skillDictionary, never()).reload();
+    }
+
+    @Test
+    void hrCannotManageSkills() throws Exception {
+        mockMvc.perform(get("/api/manager/skills").with(httpBasic("hr", "hrPass")))
+                .andExpect(status().isForbidden());
+    }
+}
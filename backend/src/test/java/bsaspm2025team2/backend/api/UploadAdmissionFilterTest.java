@@ -0,0 +1,65 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.util.AdmissionLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadAdmissionFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdmissionLimiter limiter = new AdmissionLimiter(2, 100, 0);
+    private final UploadAdmissionFilter filter = new UploadAdmissionFilter(
+            limiter, 50, Duration.ZERO, Duration.ofSeconds(7), new ObjectMapper(), registry);
+
+    @Test
+    void saturatedUploads_get429WithRetryAfter_andOtherRequestsPass() throws Exception {
+        AdmissionLimiter.Permit running = limiter.acquire(10, 0, TimeUnit.MILLISECONDS);
+        limiter.acquire(10, 0, TimeUnit.MILLISECONDS);
+
+        MockHttpServletResponse rejected = upload("/api/hr/candidates/upload-resume", 10);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("7");
+        assertThat(rejected.getContentAsString()).contains("TOO_MANY_REQUESTS");
+        assertThat(registry.get("uploads.admission.rejected").tag("reason", "concurrency").counter().count())
+                .isEqualTo(1.0);
+
+        // chunks stream to disk and are not limited
+        MockHttpServletRequest chunk = new MockHttpServletRequest("PUT", "/api/hr/candidates/uploads/abc");
+        MockHttpServletResponse passed = new MockHttpServletResponse();
+        filter.doFilter(chunk, passed, new MockFilterChain());
+        assertThat(passed.getStatus()).isEqualTo(200);
+
+        limiter.release(running);
+        assertThat(upload("/api/hr/candidates/uploads/abc/complete", 0).getStatus()).isEqualTo(200);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(registry.get("uploads.admission.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void inFlightBytesOverBudget_areRejected() throws Exception {
+        limiter.acquire(80, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(upload("/api/hr/candidates/upload-resume", 30).getStatus()).isEqualTo(429);
+        assertThat(registry.get("uploads.admission.rejected").tag("reason", "memory").counter().count())
+                .isEqualTo(1.0);
+        assertThat(upload("/api/hr/candidates/upload-resume", 20).getStatus()).isEqualTo(200);
+        assertThat(registry.get("uploads.admission.in_flight.bytes").gauge().value()).isEqualTo(80.0);
+    }
+
+    private MockHttpServletResponse upload(String uri, int contentLength) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(new byte[contentLength]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package bsaspm2025team2.backend.api;
+
+import bsaspm2025team2.backend.config.SecurityConfig;
+import bsaspm2025team2.backend.repository.UploadRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UploadsTimeseriesController.class)
+@Import(SecurityConfig.class)
+class UploadsTimeseriesControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    UploadRollupRepository uploadRollups;
+
+    @Test
+    void weeklySeries_sumsDays_andFillsEmptyWeeks() throws Exception {
+        // 2026-01-05 and 2026-01-19 are Mondays
+        LocalDate from = LocalDate.parse("2026-01-07");
+        LocalDate to = LocalDate.parse("2026-01-20");
+        when(uploadRollups.findBetween(from, to)).thenReturn(List.of(
+                new UploadRollupRepository.DayCount(LocalDate.parse("2026-01-07"), 3, 300),
+                new UploadRollupRepository.DayCount(LocalDate.parse("2026-01-09"), 2, 200),
+                new UploadRollupRepository.DayCount(LocalDate.parse("2026-01-20"), 1, 100)));
+
+        mockMvc.perform(get("/api/manager/reports/uploads-timeseries")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("granularity", "week")
+                        .param("from", "2026-01-07")
+                        .param("to", "2026-01-20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("week"))
+                .andExpect(jsonPath("$.total_uploads").value(6))
+                .andExpect(jsonPath("$.points.length()").value(3))
+                .andExpect(jsonPath("$.points[0].period_start").value("2026-01-05"))
+                .andExpect(jsonPath("$.points[0].uploads").value(5))
+                .andExpect(jsonPath("$.points[0].bytes").value(500))
+                .andExpect(jsonPath("$.points[1].uploads").value(0))
+                .andExpect(jsonPath("$.points[2].period_start").value("2026-01-19"))
+                .andExpect(jsonPath("$.points[2].uploads").value(1));
+    }
+
+    @Test
+    void invalidParams_return400() throws Exception {
+        mockMvc.perform(get("/api/manager/reports/uploads-timeseries")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("granularity", "month"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.granularity").exists());
+
+        mockMvc.perform(get("/api/manager/reports/uploads-timeseries")
+                        .with(httpBasic("manager", "managerPass"))
+                        .param("from", "2026-02-01")
+                        .param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.from").exists());
+
+        verifyNoInteractions(uploadRollups);
+    }
+}
@@ -0,0 +1,103 @@
+package bsaspm2025team2.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ReplicaLagMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.clear();
+        if (monitor != null) monitor.close();
+    }
+
+    @Test
+    void readOnlyWorkOfAllowedRequests_goesToReplica_untilItLags() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE lag (seconds INT)");
+        new JdbcTemplate(replica).execute("INSERT INTO lag VALUES (0)");
+        monitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM lag", Duration.ofSeconds(10), Duration.ofHours(1), registry);
+        DataSource routing = routing(primary, replica);
+
+        assertThat(whoAmI(routing, true)).isEqualTo("primary");   // not a @ReplicaReads request
+
+        ReplicaRouting.allow();
+        assertThat(whoAmI(routing, true)).isEqualTo("replica");
+        assertThat(whoAmI(routing, false)).isEqualTo("primary");  // writes and read-write transactions
+
+        new JdbcTemplate(replica).update("UPDATE lag SET seconds = 30");
+        monitor.check();
+        assertThat(whoAmI(routing, true)).isEqualTo("primary");
+        assertThat(registry.get("datasource.replica.available").gauge().value()).isZero();
+
+        new JdbcTemplate(replica).update("UPDATE lag SET seconds = 1");
+        monitor.check();
+        assertThat(whoAmI(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void onPrimary_disallowsTheReplicaForTheWork() {
+        DataSource primary = database("primary3");
+        DataSource replica = database("replica3");
+        monitor = new ReplicaLagMonitor(replica, "SELECT 0", Duration.ofSeconds(10), Duration.ofHours(1), registry);
+        DataSource routing = routing(primary, replica);
+
+        ReplicaRouting.allow();
+        assertThat(ReplicaRouting.onPrimary(() -> whoAmI(routing, true))).isEqualTo("primary");
+        // restored afterwards
+        assertThat(whoAmI(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplica_fallsBackToPrimary() {
+        DataSource primary = database("primary2");
+        DataSource replica = database("replica2");
+        monitor = new ReplicaLagMonitor(replica, "SELECT 0", Duration.ofSeconds(10), Duration.ofHours(1), registry);
+        assertThat(monitor.isAvailable()).isTrue();
+
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:replica2;IFEXISTS=TRUE;ACCESS_MODE_DATA=r");
+        broken.setUser("nobody");
+        DataSource routing = routing(primary, broken);
+
+        ReplicaRouting.allow();
+        assertThat(whoAmI(routing, true)).isEqualTo("primary");
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(registry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    private DataSource routing(DataSource primary, DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, monitor, registry));
+    }
+
+    private static String whoAmI(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name.replaceAll("\\d", ""));
+        return ds;
+    }
+}
@@ -0,0 +1,91 @@
+package bsaspm2025team2.backend.extraction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineScannerTest {
+
+    // building blocks biased towards line breaks and whitespace edge cases
+    private static final String[] PIECES = {
+            "John", "Smith", " ", "  ", "\t", "\n", "\r", "\r\n", "\n\r", "\u000B", "\f",
+            "\u0085", "\u2028", "\u2029", "\u00A0", "7", "@", "-", "•", "x", ""
+    };
+
+    @Test
+    void lines_matchSplit() {
+        for (String text : samples()) {
+            List<String> scanned = new ArrayList<>();
+            LineScanner scanner = new LineScanner(text);
+            while (scanner.next()) scanned.add(scanner.line());
+
+            assertThat(scanned).as("lines of %s", escape(text)).isEqualTo(splitLines(text));
+        }
+    }
+
+    @Test
+    void lastLines_matchSplitOfPrefix() {
+        for (String text : samples()) {
+            for (int limit = 0; limit <= text.length(); limit++) {
+                List<String> all = splitLines(text.substring(0, limit));
+                List<String> expected = all.subList(Math.max(0, all.size() - 3), all.size());
+
+                assertThat(LineScanner.lastLines(text, limit, 3))
+                        .as("last lines of %s up to %d", escape(text), limit)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void digitsAndWords_matchRegex() {
+        for (String text : samples()) {
+            for (String line : splitLines(text)) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) continue;
+
+                assertThat(LineScanner.hasDigit(trimmed)).isEqualTo(trimmed.matches(".*\\d.*"));
+                assertThat(LineScanner.wordCount(trimmed)).isEqualTo(trimmed.split("\\s+").length);
+            }
+        }
+    }
+
+    // text.split("\\R") gives [""] for an empty string; the scanner gives no lines, which the callers treat the same
+    private static List<String> splitLines(String text) {
+        if (text.isEmpty()) return List.of();
+        List<String> lines = Arrays.asList(text.split("\\R"));
+        return lines.size() == 1 && lines.get(0).isEmpty() ? List.of() : lines;
+    }
+
+    private static List<String> samples() {
+        List<String> samples = new ArrayList<>(List.of(
+                "John Smith\njohn@mail.com",
+                "\r\n\r\nJohn Smith\r\n",
+                "a\r\rb\n\n",
+                "\n",
+                "only one line"
+        ));
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder sb = new StringBuilder();
+            int n = random.nextInt(12);
+            for (int j = 0; j < n; j++) sb.append(PIECES[random.nextInt(PIECES.length)]);
+            samples.add(sb.toString());
+        }
+        return samples;
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c < 0x20 || c > 0x7E) sb.append(String.format("\\u%04X", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
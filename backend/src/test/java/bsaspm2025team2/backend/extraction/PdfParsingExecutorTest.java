@@ -0,0 +1,117 @@
+package bsaspm2025team2.backend.extraction;
+
+import bsaspm2025team2.backend.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PdfParsingExecutorTest {
+
+    private final PdfTextExtractor extractor = mock(PdfTextExtractor.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PdfParsingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void returnsResultFromWorker() throws Exception {
+        executor = executor(2, 4, Duration.ofSeconds(5), 10);
+        PdfExtractionResult ok = new PdfExtractionResult("text", 1, 1, PdfExtractionResult.Limit.NONE);
+        when(extractor.extract(any())).thenReturn(ok);
+
+        assertThat(executor.extract(Path.of("cv.pdf"))).isEqualTo(ok);
+    }
+
+    @Test
+    void slowDocument_isCancelledAfterTimeout() throws Exception {
+        executor = executor(1, 4, Duration.ofMillis(100), 10);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(extractor.extract(any())).thenAnswer(inv -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        assertThrows(PdfParsingTimeoutException.class, () -> executor.extract(Path.of("slow.pdf")));
+
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("pdf.parsing.timeouts").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void fullQueue_rejectsImmediately() throws Exception {
+        executor = executor(1, 1, Duration.ofSeconds(5), 10);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(extractor.extract(any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return new PdfExtractionResult("", 1, 1, PdfExtractionResult.Limit.NONE);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> executor.extract(Path.of("a.pdf")));
+            assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> executor.extract(Path.of("b.pdf")));
+            waitForQueueDepth(1);
+
+            PdfParsingRejectedException ex = assertThrows(PdfParsingRejectedException.class,
+                    () -> executor.extract(Path.of("c.pdf")));
+            assertThat(ex.getReason()).isEqualTo(PdfParsingRejectedException.Reason.QUEUE_FULL);
+            assertThat(registry.get("pdf.parsing.rejected").tag("reason", "queue_full").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void repeatedFailures_openCircuit() throws Exception {
+        executor = executor(1, 4, Duration.ofSeconds(5), 3);
+        when(extractor.extract(any())).thenThrow(new IOException("broken pdf"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, () -> executor.extract(Path.of("bad.pdf")));
+        }
+
+        assertThat(executor.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        PdfParsingRejectedException ex = assertThrows(PdfParsingRejectedException.class,
+                () -> executor.extract(Path.of("next.pdf")));
+        assertThat(ex.getReason()).isEqualTo(PdfParsingRejectedException.Reason.CIRCUIT_OPEN);
+        assertThat(registry.get("pdf.parsing.circuit.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    private PdfParsingExecutor executor(int threads, int queue, Duration timeout, int minimumCalls) {
+        return new PdfParsingExecutor("uploads", extractor, registry, threads, queue, timeout,
+                10, minimumCalls, 0.5, Duration.ofMinutes(1));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (registry.get("pdf.parsing.queue.depth").gauge().value() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package bsaspm2025team2.backend.extraction;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PdfTextExtractorTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void bounded_readsOnlyFirstPages() throws Exception {
+        Path pdf = writePdf(10);
+        PdfTextExtractor extractor = extractor(PdfTextExtractor.Mode.BOUNDED, 3, 100_000);
+
+        PdfExtractionResult result = extractor.extract(pdf);
+
+        assertThat(result.pageCount()).isEqualTo(10);
+        assertThat(result.pagesRead()).isEqualTo(3);
+        assertThat(result.limit()).isEqualTo(PdfExtractionResult.Limit.PAGES);
+        assertThat(result.text()).contains("Page 1 line").contains("Page 3 line").doesNotContain("Page 4 line");
+    }
+
+    @Test
+    void bounded_capsTextLength() throws Exception {
+        Path pdf = writePdf(2);
+        PdfTextExtractor extractor = extractor(PdfTextExtractor.Mode.BOUNDED, 5, 50);
+
+        PdfExtractionResult result = extractor.extract(pdf);
+
+        assertThat(result.text()).hasSize(50).startsWith("Page 1 line 1");
+        assertThat(result.limit()).isEqualTo(PdfExtractionResult.Limit.TEXT);
+    }
+
+    @Test
+    void full_readsEverything() throws Exception {
+        Path pdf = writePdf(4);
+        PdfTextExtractor extractor = extractor(PdfTextExtractor.Mode.FULL, 1, 10);
+
+        PdfExtractionResult result = extractor.extract(pdf);
+
+        assertThat(result.pagesRead()).isEqualTo(4);
+        assertThat(result.truncated()).isFalse();
+        assertThat(result.text()).contains("Page 4 line");
+    }
+
+    @Test
+    void missingFile_throws() {
+        PdfTextExtractor extractor = extractor(PdfTextExtractor.Mode.BOUNDED, 3, 1000);
+        assertThrows(IOException.class, () -> extractor.extract(tmp.resolve("missing.pdf")));
+    }
+
+    private PdfTextExtractor extractor(PdfTextExtractor.Mode mode, int maxPages, int maxChars) {
+        return new PdfTextExtractor(mode, maxPages, maxChars, DataSize.ofMegabytes(1), Duration.ofSeconds(10));
+    }
+
+    private Path writePdf(int pages) throws IOException {
+        Path target = tmp.resolve("doc-" + pages + ".pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                    cs.beginText();
+                    cs.setFont(PDType1Font.HELVETICA, 12);
+                    cs.setLeading(14f);
+                    cs.newLineAtOffset(50, 700);
+                    for (int line = 1; line <= 5; line++) {
+                        cs.showText("Page " + p + " line " + line);
+                        cs.newLine();
+                    }
+                    cs.endText();
+                }
+            }
+            document.save(target.toFile());
+        }
+        return target;
+    }
+}
@@ -0,0 +1,66 @@
+package bsaspm2025team2.backend.extraction;
+
+import bsaspm2025team2.backend.repository.SkillRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SkillMatcherTest {
+
+    private final SkillMatcher matcher = new SkillMatcher(List.of(
+            new SkillMatcher.Entry(1, "java", List.of()),
+            new SkillMatcher.Entry(2, "spring boot", List.of("springboot")),
+            new SkillMatcher.Entry(3, "postgresql", List.of("postgres", "pg sql")),
+            new SkillMatcher.Entry(4, "sql", List.of())
+    ));
+
+    @Test
+    void find_returnsCanonicalSkillsInDictionaryOrder() {
+        List<SkillMatcher.Entry> found = matcher.find("Postgres, SQL and JAVA; some Spring Boot");
+
+        assertThat(found).extracting(SkillMatcher.Entry::name)
+                .containsExactly("java", "spring boot", "postgresql", "sql");
+    }
+
+    @Test
+    void find_matchesOverlappingSubstrings_likeContains() {
+        // "javascript" contains "java", "postgresql" contains "sql" - same as String.contains
+        assertThat(matcher.find("javascript")).extracting(SkillMatcher.Entry::name).containsExactly("java");
+        assertThat(matcher.find("xpostgresqlx")).extracting(SkillMatcher.Entry::name)
+                .containsExactly("postgresql", "sql");
+    }
+
+    @Test
+    void find_sameAsContainsForBuiltInSkills() {
+        SkillMatcher builtIn = SkillDictionary.builtIn().current();
+        String text = "Experienced in Spring Boot, Hibernate/JPA, Kubernetes, git, RESTful microservices";
+
+        List<String> expected = SkillDictionary.BUILT_IN_SKILLS.stream()
+                .filter(text.toLowerCase()::contains)
+                .toList();
+        assertThat(builtIn.find(text)).extracting(SkillMatcher.Entry::name).isEqualTo(expected);
+    }
+
+    @Test
+    void skillIdOfPhrase_resolvesSingleAndMultiWordNamesAndAliases() {
+        assertThat(matcher.skillIdOfPhrase("postgres")).isEqualTo(3L);
+        assertThat(matcher.skillIdOfPhrase("postgresql")).isEqualTo(3L);
+        assertThat(matcher.skillIdOfPhrase("springboot")).isEqualTo(2L);
+        assertThat(matcher.skillIdOfPhrase("spring boot")).isEqualTo(2L);
+        assertThat(matcher.skillIdOfPhrase("pg sql")).isEqualTo(3L);
+        assertThat(matcher.skillIdOfPhrase("python")).isNull();
+        assertThat(matcher.maxPhraseTokens()).isEqualTo(2);
+    }
+
+    @Test
+    void noCuratedSkills_matchNothing() {
+        SkillMatcher empty = SkillDictionary.compile(List.of());
+
+        assertThat(empty.find("java, spring boot")).isEmpty();
+        assertThat(empty.skillIdOfPhrase("java")).isNull();
+        assertThat(new SkillDictionary(mock(SkillRepository.class)).current().entries()).isEmpty();
+    }
+}
@@ -0,0 +1,328 @@
+package bsaspm2025team2.backend.loadtest;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a mixed HR/manager workload against a running backend and prints
+ * p50/p99 latency and throughput per endpoint.
+ *
+ * Usage (from backend/, backend already running on Postgres, e.g. with the "loadtest" profile):
+ *   ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=bsaspm2025team2.backend.loadtest.LoadDriver \
+ *     -Dexec.args="--base-url=http://localhost:8080 --threads=16 --duration=60s"
+ *
+ * Options:
+ *   --base-url          backend root (default http://localhost:8080)
+ *   --threads           concurrent virtual users (default 8)
+ *   --warmup            not recorded (default 10s)
+ *   --duration          recorded window (default 60s)
+ *   --mix               weights, e.g. "upload:5,list:40,card:25,reports:20,export:10"
+ *   --seed              random seed for request parameters
+ */
+public class LoadDriver {
+
+    private static final Pattern CANDIDATE_ID = Pattern.compile("\"candidate_id\"\\s*:\\s*(\\d+)");
+    private static final Pattern POSITION_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final String HR_AUTH = basic("hr", "hrPass");
+    private static final String MANAGER_AUTH = basic("manager", "managerPass");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final Map<String, Integer> mix;
+    private final List<Long> candidateIds;
+    private final List<Long> positionIds;
+
+    LoadDriver(String baseUrl, Map<String, Integer> mix, List<Long> candidateIds, List<Long> positionIds) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.candidateIds = candidateIds;
+        this.positionIds = positionIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        CliArgs cli = new CliArgs(args);
+
+        String baseUrl = cli.get("base-url", "http://localhost:8080");
+        int threads = cli.getInt("threads", 8);
+        Duration warmup = cli.getDuration("warmup", Duration.ofSeconds(10));
+        Duration duration = cli.getDuration("duration", Duration.ofSeconds(60));
+        Map<String, Integer> mix = parseMix(cli.get("mix", "upload:5,list:40,card:25,reports:20,export:10"));
+        long seed = cli.getLong("seed", 7L);
+
+        LoadDriver bootstrap = new LoadDriver(baseUrl, mix, List.of(), List.of());
+        List<Long> candidateIds = bootstrap.fetchIds("/api/hr/candidates?limit=100", HR_AUTH, CANDIDATE_ID);
+        List<Long> positionIds = bootstrap.fetchIds("/api/positions", HR_AUTH, POSITION_ID);
+        System.out.printf("Target %s: %d candidate ids, %d position ids sampled%n",
+                baseUrl, candidateIds.size(), positionIds.size());
+
+        LoadDriver driver = new LoadDriver(baseUrl, mix, candidateIds, positionIds);
+
+        long now = System.nanoTime();
+        long recordFrom = now + warmup.toNanos();
+        long stopAt = recordFrom + duration.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long workerSeed = seed + t;
+            futures.add(pool.submit(() -> driver.runWorker(new Random(workerSeed), recordFrom, stopAt)));
+        }
+
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        for (Future<Map<String, Samples>> f : futures) {
+            f.get().forEach((endpoint, s) -> merged.computeIfAbsent(endpoint, k -> new Samples()).addAll(s));
+        }
+        pool.shutdown();
+
+        printReport(merged, duration);
+    }
+
+    private Map<String, Samples> runWorker(Random random, long recordFrom, long stopAt) {
+        Map<String, Samples> samples = new HashMap<>();
+        SyntheticResumeFactory factory = new SyntheticResumeFactory(random.nextLong());
+        int seq = 0;
+
+        while (System.nanoTime() < stopAt) {
+            String op = pickOp(random);
+            long start = System.nanoTime();
+            String endpoint;
+            boolean ok;
+            try {
+                switch (op) {
+                    case "upload" -> {
+                        endpoint = "POST /upload-resume";
+                        byte[] pdf = factory.toPdf(factory.nextCandidate(++seq));
+                        ok = upload(pdf);
+                    }
+                    case "list" -> {
+                        endpoint = "GET /candidates";
+                        ok = get(listQuery(random), HR_AUTH);
+                    }
+                    case "card" -> {
+                        endpoint = "GET /candidates/{id}";
+                        ok = get(cardQuery(random), HR_AUTH);
+                    }
+                    case "reports" -> {
+                        boolean stats = random.nextBoolean();
+                        endpoint = stats ? "GET /reports/pipeline-stats" : "GET /reports/top-candidates";
+                        ok = get(reportQuery(random, stats), MANAGER_AUTH);
+                    }
+                    case "export" -> {
+                        endpoint = "GET /reports/top-candidates (csv)";
+                        ok = get("/api/manager/reports/top-candidates?n=100&download=csv" + positionParam(random), MANAGER_AUTH);
+                    }
+                    default -> throw new IllegalStateException("Unknown op " + op);
+                }
+            } catch (IOException ex) {
+                endpoint = op;
+                ok = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            long end = System.nanoTime();
+            if (start >= recordFrom && end <= stopAt) {
+                samples.computeIfAbsent(endpoint, k -> new Samples()).add(end - start, ok);
+            }
+        }
+        return samples;
+    }
+
+    // ----------------- requests -----------------
+
+    private boolean get(String pathAndQuery, String auth) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .header("Authorization", auth)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        HttpResponse<byte[]> res = http.send(req, HttpResponse.BodyHandlers.ofByteArray());
+        return res.statusCode() / 100 == 2;
+    }
+
+    private boolean upload(byte[] pdf) throws IOException, InterruptedException {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pdf.length + 256);
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"resume.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(pdf);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        HttpRequest req = HttpRequest.newBuilder(URI.create(baseUrl + "/api/hr/candidates/upload-resume"))
+                .header("Authorization", HR_AUTH)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        HttpResponse<byte[]> res = http.send(req, HttpResponse.BodyHandlers.ofByteArray());
+        return res.statusCode() / 100 == 2;
+    }
+
+    private List<Long> fetchIds(String pathAndQuery, String auth, Pattern idPattern) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .header("Authorization", auth)
+                .GET()
+                .build();
+        HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() / 100 != 2) {
+            throw new IllegalStateException("GET " + pathAndQuery + " failed: HTTP " + res.statusCode());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Matcher m = idPattern.matcher(res.body());
+        while (m.find()) {
+            ids.add(Long.parseLong(m.group(1)));
+        }
+        return ids;
+    }
+
+    // ----------------- parameter generation -----------------
+
+    private String listQuery(Random random) {
+        StringBuilder sb = new StringBuilder("/api/hr/candidates?limit=20&offset=").append(20 * random.nextInt(5));
+        if (random.nextInt(3) == 0) sb.append("&status=").append(randomStatus(random));
+        if (random.nextInt(4) == 0) sb.append("&min_years=").append(random.nextInt(8));
+        if (random.nextInt(5) == 0) sb.append("&q=").append(new String[]{"john", "cohen", "@example", "972"}[random.nextInt(4)]);
+        String position = positionParam(random);
+        if (!position.isEmpty()) {
+            sb.append(position).append("&sort=score_desc");
+            if (random.nextBoolean()) sb.append("&min_score=").append(10 * random.nextInt(8));
+        }
+        return sb.toString();
+    }
+
+    private String cardQuery(Random random) {
+        if (candidateIds.isEmpty()) return "/api/hr/candidates/1";
+        long id = candidateIds.get(random.nextInt(candidateIds.size()));
+        return "/api/hr/candidates/" + id + "?" + positionParam(random).replaceFirst("^&", "");
+    }
+
+    private String reportQuery(Random random, boolean stats) {
+        String base = stats ? "/api/manager/reports/pipeline-stats?" : "/api/manager/reports/top-candidates?n=10";
+        StringBuilder sb = new StringBuilder(base);
+        if (random.nextInt(3) == 0) sb.append("&min_years=").append(random.nextInt(8));
+        sb.append(positionParam(random));
+        return sb.toString();
+    }
+
+    private String positionParam(Random random) {
+        if (positionIds.isEmpty() || random.nextBoolean()) return "";
+        return "&position_id=" + positionIds.get(random.nextInt(positionIds.size()));
+    }
+
+    private static String randomStatus(Random random) {
+        CandidateStatus[] values = CandidateStatus.values();
+        return values[random.nextInt(values.length)].name();
+    }
+
+    private String pickOp(Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int r = random.nextInt(total);
+        for (Map.Entry<String, Integer> e : mix.entrySet()) {
+            r -= e.getValue();
+            if (r < 0) return e.getKey();
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private static Map<String, Integer> parseMix(String raw) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : raw.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1]);
+            if (weight > 0) mix.put(kv[0], weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("--mix has no positive weights");
+        return mix;
+    }
+
+    private static String basic(String user, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ----------------- reporting -----------------
+
+    private static void printReport(Map<String, Samples> results, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%n%-36s %8s %8s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        results.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    Samples s = e.getValue();
+                    long[] sorted = s.sortedLatencies();
+                    System.out.printf("%-36s %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                            e.getKey(),
+                            sorted.length,
+                            s.errors,
+                            sorted.length / seconds,
+                            percentile(sorted, 0.50) / 1_000_000.0,
+                            percentile(sorted, 0.99) / 1_000_000.0,
+                            (sorted.length == 0 ? 0 : sorted[sorted.length - 1]) / 1_000_000.0);
+                });
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long nanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!ok) errors++;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        long[] sortedLatencies() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
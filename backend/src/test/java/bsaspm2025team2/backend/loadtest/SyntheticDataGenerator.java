@@ -0,0 +1,218 @@
+package bsaspm2025team2.backend.loadtest;
+
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.extraction.SkillMatcher;
+import bsaspm2025team2.backend.loadtest.SyntheticResumeFactory.SyntheticCandidate;
+import bsaspm2025team2.backend.loadtest.SyntheticResumeFactory.SyntheticPosition;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import bsaspm2025team2.backend.repository.UploadRollupRepository;
+import bsaspm2025team2.backend.service.CandidateSkillIndexer;
+import bsaspm2025team2.backend.service.ScoreService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Seeds candidates, documents and positions straight into the Flyway schema
+ * with batched JDBC inserts (the backend does not have to be running).
+ * candidate_skills is filled per batch, as the backend would do on upload.
+ *
+ * Usage (from backend/):
+ *   ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=bsaspm2025team2.backend.loadtest.SyntheticDataGenerator \
+ *     -Dexec.args="--candidates=50000 --positions=200 --pdfs=true"
+ *
+ * Options:
+ *   --jdbc-url, --user, --password   target DB (default: local docker-compose Postgres)
+ *   --candidates, --positions        how many rows to create
+ *   --batch-size                     rows per JDBC batch/commit (default 500)
+ *   --pdfs                           also render a real PDF per document into --storage
+ *   --storage                        storage base path, same as app.storage.base-path
+ *   --seed                           random seed, same seed -> same data
+ */
+public class SyntheticDataGenerator {
+
+    private static final String INSERT_CANDIDATE = """
+            INSERT INTO candidates (status, upload_date, full_name, email, phone, skills,
+                                    years_of_experience, is_draft)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_DOCUMENT = """
+            INSERT INTO documents (candidate_id, upload_date, original_filename, file_size,
+                                   content_type, storage_path)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_POSITION = """
+            INSERT INTO positions (name, required_skills, skills_weight, experience_weight)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    public static void main(String[] args) throws Exception {
+        CliArgs cli = new CliArgs(args);
+
+        String jdbcUrl = cli.get("jdbc-url", "jdbc:postgresql://localhost:5432/recruiting");
+        String user = cli.get("user", "recruiting");
+        String password = cli.get("password", "recruiting");
+        int candidates = cli.getInt("candidates", 10_000);
+        int positions = cli.getInt("positions", 50);
+        int batchSize = cli.getInt("batch-size", 500);
+        boolean pdfs = cli.getBoolean("pdfs", false);
+        Path storage = Paths.get(cli.get("storage", "./data/resumes")).toAbsolutePath().normalize();
+        long seed = cli.getLong("seed", 42L);
+
+        SyntheticResumeFactory factory = new SyntheticResumeFactory(seed);
+        if (pdfs) {
+            Files.createDirectories(storage);
+        }
+
+        long started = System.nanoTime();
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, user, password)) {
+            conn.setAutoCommit(false);
+
+            insertPositions(conn, factory, positions, batchSize);
+            insertCandidates(conn, factory, candidates, batchSize, pdfs, storage);
+
+            // the inserts bypass the upload path that maintains the rollups
+            new UploadRollupRepository(new JdbcTemplate(new SingleConnectionDataSource(conn, true))).rebuild();
+            conn.commit();
+        }
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("Seeded %d candidates (+documents) and %d positions in %.1fs (%.0f candidates/s)%n",
+                candidates, positions, seconds, candidates / Math.max(seconds, 0.001));
+    }
+
+    private static void insertPositions(Connection conn,
+                                        SyntheticResumeFactory factory,
+                                        int count,
+                                        int batchSize) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_POSITION)) {
+            for (int i = 1; i <= count; i++) {
+                SyntheticPosition p = factory.nextPosition(i);
+                ps.setString(1, p.name());
+                ps.setString(2, p.requiredSkills());
+                ps.setInt(3, p.skillsWeight());
+                ps.setInt(4, p.experienceWeight());
+                ps.addBatch();
+
+                if (i % batchSize == 0 || i == count) {
+                    ps.executeBatch();
+                    conn.commit();
+                }
+            }
+        }
+    }
+
+    private static void insertCandidates(Connection conn,
+                                         SyntheticResumeFactory factory,
+                                         int count,
+                                         int batchSize,
+                                         boolean pdfs,
+                                         Path storage) throws SQLException, IOException {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        SkillDictionary dictionary = SkillDictionary.of(loadDictionary(jdbc));
+        CandidateSkillIndexer indexer = new CandidateSkillIndexer(new CandidateSkillRepository(jdbc), dictionary,
+                new ScoreService(dictionary), event -> { });
+
+        try (PreparedStatement candidatePs = conn.prepareStatement(INSERT_CANDIDATE, new String[]{"id"});
+             PreparedStatement documentPs = conn.prepareStatement(INSERT_DOCUMENT)) {
+
+            List<SyntheticCandidate> batch = new ArrayList<>(batchSize);
+            for (int i = 1; i <= count; i++) {
+                SyntheticCandidate c = factory.nextCandidate(i);
+                batch.add(c);
+
+                Timestamp uploaded = Timestamp.from(c.uploadDate());
+                candidatePs.setString(1, c.status().name());
+                candidatePs.setTimestamp(2, uploaded);
+                candidatePs.setString(3, c.fullName());
+                candidatePs.setString(4, c.email());
+                candidatePs.setString(5, c.phone());
+                candidatePs.setString(6, c.skillsText());
+                candidatePs.setObject(7, c.yearsOfExperience(), Types.INTEGER);
+                candidatePs.setBoolean(8, c.draft());
+                candidatePs.addBatch();
+
+                if (batch.size() == batchSize || i == count) {
+                    candidatePs.executeBatch();
+                    List<Long> ids = generatedIds(candidatePs);
+                    Map<Long, String> skills = new HashMap<>();
+                    for (int j = 0; j < batch.size(); j++) {
+                        addDocument(documentPs, factory, ids.get(j), batch.get(j), pdfs, storage);
+                        skills.put(ids.get(j), batch.get(j).skillsText() == null ? "" : batch.get(j).skillsText());
+                    }
+                    documentPs.executeBatch();
+                    indexer.index(skills, dictionary.current());
+                    conn.commit();
+
+                    batch.clear();
+                    if (i % (batchSize * 20) == 0) {
+                        System.out.printf("  %d / %d candidates%n", i, count);
+                    }
+                }
+            }
+        } catch (SQLException | IOException | RuntimeException ex) {
+            conn.rollback();
+            throw ex;
+        }
+    }
+
+    private static void addDocument(PreparedStatement ps,
+                                    SyntheticResumeFactory factory,
+                                    long candidateId,
+                                    SyntheticCandidate c,
+                                    boolean pdfs,
+                                    Path storage) throws SQLException, IOException {
+        String storageKey = UUID.randomUUID() + ".pdf";
+        long size = 0;
+        if (pdfs) {
+            byte[] pdf = factory.toPdf(c);
+            Files.write(storage.resolve(storageKey), pdf);
+            size = pdf.length;
+        }
+
+        ps.setLong(1, candidateId);
+        ps.setTimestamp(2, Timestamp.from(c.uploadDate()));
+        ps.setString(3, c.fullName().replace(' ', '_') + "_CV.pdf");
+        ps.setLong(4, size);
+        ps.setString(5, "application/pdf");
+        ps.setString(6, storageKey);
+        ps.addBatch();
+    }
+
+    // curated skills as the backend compiles them (no curated rows = nothing matches)
+    private static SkillMatcher loadDictionary(JdbcTemplate jdbc) {
+        return new SkillMatcher(jdbc.query(
+                "SELECT id, name, aliases FROM skills WHERE curated ORDER BY id",
+                (rs, i) -> new SkillMatcher.Entry(rs.getLong("id"), rs.getString("name"),
+                        SkillDictionary.parseAliases(rs.getString("aliases")))));
+    }
+
+    private static List<Long> generatedIds(PreparedStatement ps) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
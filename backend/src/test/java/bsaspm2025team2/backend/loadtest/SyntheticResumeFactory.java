@@ -0,0 +1,195 @@
+package bsaspm2025team2.backend.loadtest;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic source of fake candidates, positions and resume PDFs.
+ * Same seed -> same data, so load runs are comparable between builds.
+ */
+public class SyntheticResumeFactory {
+
+    private static final String[] FIRST_NAMES = {
+            "John", "Jane", "Alice", "Bob", "Maria", "David", "Olga", "Ivan", "Sara", "Michael",
+            "Anna", "Daniel", "Noa", "Yosef", "Elena", "Tom", "Lior", "Dana", "Peter", "Rachel"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Doe", "Cohen", "Levi", "Petrov", "Miller", "Brown", "Ivanova", "Katz", "Wilson",
+            "Mizrahi", "Taylor", "Friedman", "Novak", "Garcia", "Schwartz", "Klein", "Adler", "Baker", "Stone"
+    };
+
+    private static final String[] TITLES = {
+            "Software Engineer", "Backend Developer", "Java Developer", "DevOps Engineer",
+            "Full Stack Developer", "Data Engineer", "QA Automation Engineer"
+    };
+
+    // ordered from most to least common; picked with a Zipf-like weight
+    private static final String[] SKILLS = {
+            "java", "sql", "git", "spring", "rest", "docker", "postgresql", "maven", "spring boot",
+            "hibernate", "jpa", "microservices", "kubernetes", "flyway", "python", "javascript",
+            "react", "typescript", "kafka", "redis", "aws", "linux", "go", "c++", "terraform"
+    };
+
+    private static final String[] POSITION_NAMES = {
+            "Backend Intern", "Junior Java Developer", "Senior Backend Engineer", "Platform Engineer",
+            "Data Engineer", "Full Stack Developer", "DevOps Engineer", "Team Lead"
+    };
+
+    private final Random random;
+    private final double[] skillWeights;
+    private final double skillWeightTotal;
+
+    public SyntheticResumeFactory(long seed) {
+        this.random = new Random(seed);
+        this.skillWeights = new double[SKILLS.length];
+        double total = 0;
+        for (int i = 0; i < SKILLS.length; i++) {
+            skillWeights[i] = 1.0 / (i + 1);
+            total += skillWeights[i];
+        }
+        this.skillWeightTotal = total;
+    }
+
+    public record SyntheticCandidate(
+            String fullName,
+            String email,
+            String phone,
+            List<String> skills,
+            int yearsOfExperience,
+            CandidateStatus status,
+            boolean draft,
+            Instant uploadDate
+    ) {
+        public String skillsText() {
+            return String.join(", ", skills);
+        }
+    }
+
+    public record SyntheticPosition(
+            String name,
+            String requiredSkills,
+            int skillsWeight,
+            int experienceWeight
+    ) { }
+
+    public SyntheticCandidate nextCandidate(int seq) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+        String email = (first + "." + last + "." + seq + "@example.com").toLowerCase();
+        String phone = "+9725" + String.format("%08d", random.nextInt(100_000_000));
+
+        return new SyntheticCandidate(
+                first + " " + last,
+                email,
+                phone,
+                pickSkills(2 + random.nextInt(7)),
+                nextYears(),
+                nextStatus(),
+                random.nextDouble() < 0.3,
+                Instant.now().minus(Duration.ofMinutes(random.nextInt(365 * 24 * 60)))
+        );
+    }
+
+    public SyntheticPosition nextPosition(int seq) {
+        String name = POSITION_NAMES[random.nextInt(POSITION_NAMES.length)] + " #" + seq;
+        int skillsWeight = 10 * (3 + random.nextInt(6));
+        return new SyntheticPosition(
+                name,
+                String.join(", ", pickSkills(2 + random.nextInt(5))),
+                skillsWeight,
+                100 - skillsWeight
+        );
+    }
+
+    /**
+     * Renders a simple one- or two-page resume that the real extraction pipeline
+     * can parse back (name on the first line, email/phone, years and skill bullets).
+     */
+    public byte[] toPdf(SyntheticCandidate c) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(c.fullName());
+        lines.add(TITLES[Math.abs(c.email().hashCode()) % TITLES.length]);
+        lines.add(c.email());
+        lines.add(c.phone());
+        lines.add("");
+        lines.add(c.yearsOfExperience() + " years of experience in software development.");
+        lines.add("");
+        lines.add("Skills:");
+        for (String skill : c.skills()) {
+            lines.add("- " + skill);
+        }
+        lines.add("");
+        lines.add("Experience:");
+        int paragraphs = 3 + random.nextInt(60);
+        for (int i = 0; i < paragraphs; i++) {
+            lines.add("- Worked on project " + (i + 1) + " using " + c.skills().get(i % c.skills().size()));
+        }
+
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            int perPage = 45;
+            for (int from = 0; from < lines.size(); from += perPage) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                    cs.beginText();
+                    cs.setFont(PDType1Font.HELVETICA, 11);
+                    cs.setLeading(15f);
+                    cs.newLineAtOffset(50, 780);
+                    for (int i = from; i < Math.min(from + perPage, lines.size()); i++) {
+                        cs.showText(lines.get(i));
+                        cs.newLine();
+                    }
+                    cs.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private List<String> pickSkills(int count) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            double r = random.nextDouble() * skillWeightTotal;
+            for (int i = 0; i < SKILLS.length; i++) {
+                r -= skillWeights[i];
+                if (r <= 0) {
+                    picked.add(SKILLS[i]);
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private int nextYears() {
+        // skewed towards juniors, long tail up to ~25 years
+        double y = -Math.log(1 - random.nextDouble()) * 5.0;
+        return (int) Math.min(25, Math.round(y));
+    }
+
+    private CandidateStatus nextStatus() {
+        double r = random.nextDouble();
+        if (r < 0.55) return CandidateStatus.NEW;
+        if (r < 0.80) return CandidateStatus.IN_REVIEW;
+        if (r < 0.95) return CandidateStatus.REJECTED;
+        return CandidateStatus.HIRED;
+    }
+}
@@ -0,0 +1,72 @@
+package bsaspm2025team2.backend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(registry, Duration.ofSeconds(1));
+    private final HibernateRequestStatsInterceptor interceptor = new HibernateRequestStatsInterceptor();
+    private final DataSource dataSource = new StatementCountingDataSource(mockDataSource());
+
+    @Test
+    void recordsQueriesAndEntitiesPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/hr/candidates");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/hr/candidates");
+
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                // JdbcTemplate and Hibernate both end up here
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.prepareStatement("select 1");
+                    connection.createStatement();
+                    connection.getAutoCommit();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                interceptor.onLoad(new Object(), (Object) 1L, null, null, null);
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+        assertThat(registry.get("http.server.requests.db.queries").tag("uri", "/api/hr/candidates")
+                .summary().totalAmount()).isEqualTo(2.0);
+        assertThat(registry.get("http.server.requests.db.entities").tag("uri", "/api/hr/candidates")
+                .summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void statementsOutsideRequestAreIgnored() throws Exception {
+        dataSource.getConnection().prepareStatement("select 1");
+        assertThat(registry.find("http.server.requests.db.queries").summary()).isNull();
+    }
+
+    private static DataSource mockDataSource() {
+        try {
+            DataSource target = mock(DataSource.class);
+            when(target.getConnection()).thenReturn(mock(Connection.class));
+            return target;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
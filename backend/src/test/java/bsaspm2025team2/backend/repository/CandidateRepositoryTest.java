@@ -0,0 +1,46 @@
+package bsaspm2025team2.backend.repository;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.util.OffsetBasedPageRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CandidateRepositoryTest {
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Test
+    void summaryPageByStatus_returnsOnlyThatStatus_newestFirst() {
+        Candidate older = save("Anna", CandidateStatus.REJECTED, "2026-01-01T00:00:00Z");
+        save("Bob", CandidateStatus.NEW, "2026-01-02T00:00:00Z");
+        Candidate newer = save("Carl", CandidateStatus.REJECTED, "2026-01-03T00:00:00Z");
+        save("Dora", CandidateStatus.IN_REVIEW, "2026-01-04T00:00:00Z");
+
+        assertThat(candidateRepository.findSummaryPageByStatus(CandidateStatus.REJECTED, new OffsetBasedPageRequest(0, 20, null)))
+                .extracting(CandidateSummary::getId)
+                .containsExactly(newer.getId(), older.getId());
+        assertThat(candidateRepository.findSummaryPageByStatus(CandidateStatus.REJECTED, new OffsetBasedPageRequest(1, 1, null)))
+                .extracting(CandidateSummary::getId)
+                .containsExactly(older.getId());
+        assertThat(candidateRepository.findSummaryPageByStatus(CandidateStatus.HIRED, new OffsetBasedPageRequest(0, 20, null)))
+                .isEmpty();
+    }
+
+    private Candidate save(String name, CandidateStatus status, String uploadDate) {
+        Candidate c = new Candidate(status, Instant.parse(uploadDate));
+        c.setFullName(name);
+        return candidateRepository.saveAndFlush(c);
+    }
+}
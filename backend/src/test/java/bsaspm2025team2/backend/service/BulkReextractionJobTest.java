@@ -0,0 +1,178 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Document;
+import bsaspm2025team2.backend.domain.JobCheckpoint;
+import bsaspm2025team2.backend.domain.JobFailure;
+import bsaspm2025team2.backend.extraction.CandidateFieldExtractionService;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.DocumentRepository;
+import bsaspm2025team2.backend.repository.JobCheckpointRepository;
+import bsaspm2025team2.backend.repository.JobFailureRepository;
+import bsaspm2025team2.backend.storage.DocumentTextStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkReextractionJobTest {
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+    private final JobCheckpointRepository checkpointRepository = mock(JobCheckpointRepository.class);
+    private final DocumentTextStore documentTextStore = mock(DocumentTextStore.class);
+    private final JobFailureRepository failureRepository = mock(JobFailureRepository.class);
+    private final ResumeReextractionService reextractionService = mock(ResumeReextractionService.class);
+
+    private final BulkReextractionJob job = new BulkReextractionJob(
+            documentRepository,
+            candidateRepository,
+            checkpointRepository,
+            failureRepository,
+            documentTextStore,
+            reextractionService,
+            new CandidateFieldExtractionService(),
+            mock(CandidateSkillIndexer.class),
+            mock(PlatformTransactionManager.class),
+            2,
+            2,
+            0
+    );
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    void processesAllBatches_fillsOnlyDraftOrEmptyFields_andClearsCheckpoint() throws Exception {
+        Candidate draft = candidate(1L, true, null);
+        Candidate confirmed = candidate(2L, false, "kept@hr.com");
+        Candidate noText = candidate(3L, true, null);
+        Document d1 = document(10L, draft);
+        Document d2 = document(11L, confirmed);
+        Document d3 = document(12L, noText);
+
+        when(checkpointRepository.findById(BulkReextractionJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(documentRepository.countByIdGreaterThan(0L)).thenReturn(3L);
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(d1, d2));
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(11L), any())).thenReturn(List.of(d3));
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(12L), any())).thenReturn(List.of());
+        when(documentTextStore.loadAll(any())).thenReturn(Map.of(
+                10L, "Anna Lee\nanna@mail.com",
+                11L, "Bob Stone\nbob@mail.com"
+        ));
+        when(reextractionService.loadText(d3)).thenReturn("Carl Diaz\ncarl@mail.com");
+        when(candidateRepository.findAllById(any())).thenReturn(List.of(draft, confirmed)).thenReturn(List.of(noText));
+
+        job.start(false);
+        BulkReextractionJob.Progress progress = awaitFinished();
+
+        assertThat(progress.state()).isEqualTo(BulkReextractionJob.State.COMPLETED);
+        assertThat(progress.processed()).isEqualTo(3);
+        assertThat(progress.updated()).isEqualTo(3);
+        assertThat(progress.lastDocumentId()).isEqualTo(12L);
+        assertThat(draft.getEmail()).isEqualTo("anna@mail.com");
+        assertThat(confirmed.getEmail()).isEqualTo("kept@hr.com");
+        assertThat(confirmed.getFullName()).isEqualTo("Bob Stone");
+        assertThat(noText.getEmail()).isEqualTo("carl@mail.com");
+        verify(checkpointRepository, times(2)).save(any(JobCheckpoint.class));
+        verify(checkpointRepository).deleteById(BulkReextractionJob.JOB_NAME);
+    }
+
+    @Test
+    void resumesAfterCheckpoint() throws Exception {
+        when(checkpointRepository.findById(BulkReextractionJob.JOB_NAME))
+                .thenReturn(Optional.of(new JobCheckpoint(BulkReextractionJob.JOB_NAME, 500L)));
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(500L), any())).thenReturn(List.of());
+
+        job.start(false);
+        awaitFinished();
+
+        verify(documentRepository).findByIdGreaterThanOrderByIdAsc(eq(500L), any());
+        verify(documentRepository, never()).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+    }
+
+    @Test
+    void failedDocument_isRecordedWithCheckpoint_andRetriedByTheNextRun() throws Exception {
+        Candidate broken = candidate(1L, true, null);
+        Candidate ok = candidate(2L, true, null);
+        Document d1 = document(10L, broken);
+        Document d2 = document(11L, ok);
+
+        when(checkpointRepository.findById(BulkReextractionJob.JOB_NAME)).thenReturn(Optional.empty());
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(d1, d2));
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(11L), any())).thenReturn(List.of());
+        when(documentTextStore.loadAll(any())).thenReturn(Map.of(11L, "Bob Stone\nbob@mail.com"));
+        when(reextractionService.loadText(d1)).thenThrow(new IllegalStateException("unreadable pdf"));
+        when(candidateRepository.findAllById(any())).thenReturn(List.of(ok));
+
+        job.start(false);
+        BulkReextractionJob.Progress progress = awaitFinished();
+
+        assertThat(progress.failed()).isEqualTo(1);
+        assertThat(progress.failedDocumentIds()).containsExactly(10L);
+        ArgumentCaptor<List<JobFailure>> saved = failuresCaptor();
+        verify(failureRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(JobFailure::getDocumentId).containsExactly(10L);
+        assertThat(saved.getValue().get(0).getError()).contains("unreadable pdf");
+
+        // next run: the failure is retried first, and dropped once it succeeds
+        reset(failureRepository, reextractionService);
+        when(failureRepository.findByJobNameOrderByDocumentIdAsc(BulkReextractionJob.JOB_NAME))
+                .thenReturn(List.of(new JobFailure(BulkReextractionJob.JOB_NAME, 10L, "unreadable pdf")));
+        when(checkpointRepository.findById(BulkReextractionJob.JOB_NAME))
+                .thenReturn(Optional.of(new JobCheckpoint(BulkReextractionJob.JOB_NAME, 11L)));
+        when(documentRepository.findAllById(List.of(10L))).thenReturn(List.of(d1));
+        when(reextractionService.loadText(d1)).thenReturn("Anna Lee\nanna@mail.com");
+        when(candidateRepository.findAllById(any())).thenReturn(List.of(broken));
+
+        job.start(false);
+        progress = awaitFinished();
+
+        assertThat(progress.failed()).isZero();
+        assertThat(progress.failedDocumentIds()).isEmpty();
+        assertThat(broken.getEmail()).isEqualTo("anna@mail.com");
+        verify(failureRepository).deleteAllById(List.of(new JobFailure.Key(BulkReextractionJob.JOB_NAME, 10L)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<JobFailure>> failuresCaptor() {
+        return ArgumentCaptor.forClass((Class<List<JobFailure>>) (Class<?>) List.class);
+    }
+
+    private BulkReextractionJob.Progress awaitFinished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        BulkReextractionJob.Progress p = job.progress();
+        while (p.state() == BulkReextractionJob.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            p = job.progress();
+        }
+        return p;
+    }
+
+    private static Candidate candidate(Long id, boolean draft, String email) {
+        Candidate c = new Candidate(CandidateStatus.NEW, Instant.now());
+        ReflectionTestUtils.setField(c, "id", id);
+        c.setDraft(draft);
+        c.setEmail(email);
+        return c;
+    }
+
+    private static Document document(Long id, Candidate candidate) {
+        Document d = new Document(candidate, Instant.now(), "cv.pdf", 10, "application/pdf", id + ".pdf");
+        ReflectionTestUtils.setField(d, "id", id);
+        return d;
+    }
+}
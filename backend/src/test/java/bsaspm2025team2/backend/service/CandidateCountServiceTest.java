@@ -0,0 +1,135 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CandidateCountServiceTest {
+
+    private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+
+    @Test
+    void exactCounts_areLoadedOnce_andFollowWrites() {
+        when(candidateRepository.countByStatus()).thenReturn(List.of(
+                statusCount(CandidateStatus.NEW, 5),
+                statusCount(CandidateStatus.REJECTED, 2)));
+        CandidateStatusCounts statusCounts = new CandidateStatusCounts(candidateRepository, Duration.ofMinutes(5));
+        CandidateCountService counts = new CandidateCountService(statusCounts, h2(), 1_000_000, Duration.ofMinutes(5));
+
+        assertThat(counts.count(null)).isEqualTo(new CandidateCountService.Count(7, true));
+        assertThat(counts.count(CandidateStatus.NEW)).isEqualTo(new CandidateCountService.Count(5, true));
+
+        statusCounts.candidateCreated(CandidateStatus.NEW);
+        statusCounts.statusChanged(CandidateStatus.NEW, CandidateStatus.IN_REVIEW);
+        statusCounts.statusChanged(CandidateStatus.REJECTED, CandidateStatus.REJECTED);
+
+        assertThat(counts.count(null).value()).isEqualTo(8);
+        assertThat(counts.count(CandidateStatus.NEW).value()).isEqualTo(5);
+        assertThat(counts.count(CandidateStatus.IN_REVIEW).value()).isEqualTo(1);
+        assertThat(counts.count(CandidateStatus.REJECTED).value()).isEqualTo(2);
+        verify(candidateRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    void countsAreReloadedAfterResyncInterval() {
+        when(candidateRepository.countByStatus())
+                .thenReturn(List.of(statusCount(CandidateStatus.NEW, 1)))
+                .thenReturn(List.of(statusCount(CandidateStatus.NEW, 3)));
+        CandidateCountService counts = new CandidateCountService(
+                new CandidateStatusCounts(candidateRepository, Duration.ZERO), h2(), 1_000_000, Duration.ZERO);
+
+        assertThat(counts.count(null).value()).isEqualTo(1);
+        assertThat(counts.count(null).value()).isEqualTo(3);
+    }
+
+    @Test
+    void estimates_areReadOncePerResyncInterval() throws Exception {
+        Statement statement = mock(Statement.class);
+        ResultSet reltuples = mock(ResultSet.class);
+        ResultSetMetaData oneColumn = mock(ResultSetMetaData.class);
+        when(oneColumn.getColumnCount()).thenReturn(1);
+        when(reltuples.getMetaData()).thenReturn(oneColumn);
+        when(reltuples.next()).thenReturn(true, false);
+        when(reltuples.getLong(1)).thenReturn(2_000_000L);
+        ResultSet noStats = mock(ResultSet.class);
+        when(statement.executeQuery(contains("pg_class"))).thenReturn(reltuples);
+        when(statement.executeQuery(contains("pg_stats"))).thenReturn(noStats);
+        CandidateCountService counts = new CandidateCountService(
+                new CandidateStatusCounts(candidateRepository, Duration.ofMinutes(5)),
+                postgres(statement), 1_000_000, Duration.ofMinutes(5));
+
+        assertThat(counts.count(null)).isEqualTo(new CandidateCountService.Count(2_000_000, false));
+        assertThat(counts.count(CandidateStatus.NEW)).isEqualTo(new CandidateCountService.Count(500_000, false));
+        assertThat(counts.count(null)).isEqualTo(new CandidateCountService.Count(2_000_000, false));
+
+        verify(statement, times(1)).executeQuery(contains("pg_class"));
+        verify(statement, times(1)).executeQuery(contains("pg_stats"));
+        verifyNoInteractions(candidateRepository);
+    }
+
+    @Test
+    void statusMissingFromMostCommonValues_getsTheRemainingFrequency() {
+        // NEW 60%, REJECTED 30%; IN_REVIEW and HIRED share the other 10%
+        CandidateCountService.StatusStats stats = new CandidateCountService.StatusStats(
+                0, 4, Map.of("NEW", 0.6, "REJECTED", 0.3));
+
+        Map<CandidateStatus, Long> estimates = CandidateCountService.statusEstimates(1_000_000, stats);
+
+        assertThat(estimates.get(CandidateStatus.NEW)).isEqualTo(600_000);
+        assertThat(estimates.get(CandidateStatus.REJECTED)).isEqualTo(300_000);
+        assertThat(estimates.get(CandidateStatus.IN_REVIEW)).isEqualTo(50_000);
+        assertThat(estimates.get(CandidateStatus.HIRED)).isEqualTo(50_000);
+    }
+
+    @Test
+    void withoutStatistics_statusesGetAnEvenShare() {
+        Map<CandidateStatus, Long> estimates = CandidateCountService.statusEstimates(1_000_000, null);
+
+        assertThat(estimates).containsOnlyKeys(CandidateStatus.values());
+        assertThat(estimates.values()).containsOnly(250_000L);
+    }
+
+    private static CandidateRepository.StatusCount statusCount(CandidateStatus status, long count) {
+        return new CandidateRepository.StatusCount() {
+            @Override
+            public CandidateStatus getStatus() { return status; }
+
+            @Override
+            public long getCount() { return count; }
+        };
+    }
+
+    // not Postgres: no planner estimates, always exact
+    private static DataSource postgres(Statement statement) throws Exception {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:counts");
+        ds.setUser("sa");
+        return ds;
+    }
+}
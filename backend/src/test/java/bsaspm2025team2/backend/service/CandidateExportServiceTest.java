@@ -0,0 +1,112 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CandidateExportService.class, CandidateSkillRepository.class, CandidateSkillIndexer.class,
+        ScoreService.class, SkillDictionary.class})
+class CandidateExportServiceTest {
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    CandidateSkillIndexer indexer;
+
+    @Autowired
+    CandidateExportService exportService;
+
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        candidates.add(save("Anna, \"Senior\"", "anna@mail.com", CandidateStatus.NEW, "java, sql"));
+        candidates.add(save("Bob", "bob@mail.com", CandidateStatus.IN_REVIEW, "java"));
+        candidates.add(save("Carl", "carl@mail.com", CandidateStatus.NEW, "python"));
+        indexer.indexAll(candidates);
+    }
+
+    @Test
+    void csvContainsScoredAndFilteredRows() throws IOException {
+        String csv = export(new CandidateExportService.Filter(null, null, null, "java sql", 50), CandidateExportService.Format.CSV);
+
+        assertThat(csv.split("\n")).containsExactly(
+                "candidate_id,full_name,email,phone,status,years_of_experience,upload_date,score",
+                candidates.get(0).getId() + ",\"Anna, \"\"Senior\"\"\",anna@mail.com,,NEW,3," + candidates.get(0).getUploadDate() + ",100",
+                candidates.get(1).getId() + ",Bob,bob@mail.com,,IN_REVIEW,3," + candidates.get(1).getUploadDate() + ",50"
+        );
+    }
+
+    @Test
+    void ndjsonAppliesStatusAndTextFilters() throws IOException {
+        String ndjson = export(new CandidateExportService.Filter("CARL", CandidateStatus.NEW, 2, null, null),
+                CandidateExportService.Format.NDJSON);
+
+        assertThat(ndjson.split("\n")).hasSize(1);
+        assertThat(ndjson).contains("\"candidate_id\":" + candidates.get(2).getId(), "\"score\":0");
+    }
+
+    @Test
+    void failedWriteStopsTheExport() {
+        int[] writes = {0};
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                // header goes through, then the client is gone
+                if (++writes[0] > 1) throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> exportService.export(
+                new CandidateExportService.Filter(null, null, null, null, null), CandidateExportService.Format.CSV, disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    private String export(CandidateExportService.Filter filter, CandidateExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(filter, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Candidate save(String name, String email, CandidateStatus status, String skills) {
+        Candidate c = new Candidate(status, Instant.parse("2026-01-01T00:00:00Z"));
+        c.setFullName(name);
+        c.setEmail(email);
+        c.setSkills(skills);
+        c.setYearsOfExperience(3);
+        return candidateRepository.saveAndFlush(c);
+    }
+}
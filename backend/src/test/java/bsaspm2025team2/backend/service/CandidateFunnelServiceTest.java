@@ -0,0 +1,105 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.api.dto.FunnelReportResponse;
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.repository.CandidateFunnelRepository;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CandidateFunnelRepository.class, CandidateFunnelService.class})
+class CandidateFunnelServiceTest {
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    CandidateFunnelService funnelService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void transitionsAreRolledUp_andReportedPerPosition() {
+        Instant now = Instant.now();
+        Candidate a = candidate(now.minus(Duration.ofHours(3)));
+        Candidate b = candidate(now.minus(Duration.ofHours(5)));
+        Candidate c = candidate(now.minus(Duration.ofMinutes(10)));
+
+        change(a, CandidateStatus.IN_REVIEW, 7L);
+        change(b, CandidateStatus.IN_REVIEW, 7L);
+        change(c, CandidateStatus.REJECTED, 7L);
+        change(a, CandidateStatus.HIRED, 7L);
+        change(b, CandidateStatus.REJECTED, null);
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM candidate_status_events", Long.class)).isEqualTo(5);
+        // one rollup row per (day, position, transition)
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM funnel_transitions_daily", Long.class)).isEqualTo(4);
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        FunnelReportResponse report = funnelService.report(today.minusDays(1), today, 7L);
+
+        assertThat(report.positions()).hasSize(1);
+        FunnelReportResponse.PositionFunnel funnel = report.positions().get(0);
+        assertThat(funnel.position_id()).isEqualTo(7L);
+
+        FunnelReportResponse.Stage fromNew = funnel.stages().get(0);
+        assertThat(fromNew.stage()).isEqualTo("NEW");
+        assertThat(fromNew.left()).isEqualTo(3);
+        assertThat(fromNew.transitions()).containsExactly(Map.entry("IN_REVIEW", 2L), Map.entry("REJECTED", 1L));
+        assertThat(fromNew.conversion()).containsEntry("IN_REVIEW", 0.6667).containsEntry("REJECTED", 0.3333);
+        // 10 min, 3h, 5h in NEW -> median in the [2h, 4h) bucket
+        assertThat(fromNew.median_hours_in_stage()).isBetween(2.0, 4.0);
+
+        FunnelReportResponse.Stage fromReview = funnel.stages().get(1);
+        assertThat(fromReview.stage()).isEqualTo("IN_REVIEW");
+        assertThat(fromReview.conversion()).containsExactly(Map.entry("HIRED", 1.0));
+        // spent well under an hour in review
+        assertThat(fromReview.median_hours_in_stage()).isLessThan(1.0);
+
+        FunnelReportResponse all = funnelService.report(today.minusDays(1), today, null);
+        assertThat(all.positions()).extracting(FunnelReportResponse.PositionFunnel::position_id)
+                .containsExactly(null, 7L);
+        assertThat(funnelService.report(today.plusDays(1), today.plusDays(2), null).positions()).isEmpty();
+    }
+
+    @Test
+    void bucketsAndMedian() {
+        assertThat(CandidateFunnelService.bucket(Duration.ofMinutes(59).toMillis())).isZero();
+        assertThat(CandidateFunnelService.bucket(Duration.ofHours(1).toMillis())).isEqualTo(1);
+        assertThat(CandidateFunnelService.bucket(Duration.ofHours(3).toMillis())).isEqualTo(2);
+        assertThat(CandidateFunnelService.bucket(Duration.ofDays(3650).toMillis())).isEqualTo(CandidateFunnelService.MAX_BUCKET);
+
+        long[] histogram = new long[CandidateFunnelService.MAX_BUCKET + 1];
+        assertThat(CandidateFunnelService.medianHours(histogram)).isNull();
+        histogram[3] = 4; // [4h, 8h)
+        assertThat(CandidateFunnelService.medianHours(histogram)).isEqualTo(6.0);
+    }
+
+    private Candidate candidate(Instant uploadDate) {
+        return candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, uploadDate));
+    }
+
+    private void change(Candidate candidate, CandidateStatus to, Long positionId) {
+        CandidateStatus from = candidate.getStatus();
+        candidate.setStatus(to);
+        funnelService.statusChanged(candidateRepository.saveAndFlush(candidate), from, positionId);
+    }
+}
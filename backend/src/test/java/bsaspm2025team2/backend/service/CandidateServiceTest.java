@@ -0,0 +1,98 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.api.dto.UpdateCandidateRequest;
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.repository.CandidateFunnelRepository;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CandidateService.class, CandidateStatusCounts.class, CandidateFunnelRepository.class, CandidateFunnelService.class,
+        CandidateSkillRepository.class, CandidateSkillIndexer.class, ScoreService.class, SkillDictionary.class})
+class CandidateServiceTest {
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    PositionRepository positionRepository;
+
+    @Autowired
+    CandidateService candidateService;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void statusChange_savesTheCard_andRecordsTheFunnelAgainstThePosition() {
+        Candidate candidate = candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, Instant.now()));
+        Position position = positionRepository.saveAndFlush(new Position("Backend", "java", 70, 30));
+
+        Candidate saved = candidateService.updateCandidate(candidate.getId(),
+                request(CandidateStatus.IN_REVIEW, "john@doe.com", "+12345678901"), position.getId());
+        candidateRepository.flush();
+
+        assertThat(saved.isDraft()).isFalse();
+        assertThat(saved.getStatus()).isEqualTo(CandidateStatus.IN_REVIEW);
+        assertThat(saved.getEmail()).isEqualTo("john@doe.com");
+        assertThat(jdbc.queryForObject(
+                "SELECT position_id FROM candidate_status_events WHERE candidate_id = ?", Long.class, candidate.getId()))
+                .isEqualTo(position.getId());
+    }
+
+    @Test
+    void unknownPosition_isNotAttributed_andSameStatusWritesNoEvent() {
+        Candidate moved = candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, Instant.now()));
+        Candidate kept = candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, Instant.now()));
+
+        candidateService.updateCandidate(moved.getId(), request(CandidateStatus.REJECTED, "a@mail.com", "1"), 999L);
+        candidateService.updateCandidate(kept.getId(), request(CandidateStatus.NEW, "b@mail.com", "2"), 999L);
+
+        assertThat(jdbc.queryForList("SELECT position_id FROM candidate_status_events WHERE candidate_id = ?",
+                Long.class, moved.getId())).containsExactly((Long) null);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM candidate_status_events WHERE candidate_id = ?",
+                Long.class, kept.getId())).isZero();
+    }
+
+    @Test
+    void missingRequiredFields_failWithoutChangingTheCandidate() {
+        Candidate candidate = candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, Instant.now()));
+
+        assertThatThrownBy(() -> candidateService.updateCandidate(candidate.getId(), request(null, " ", ""), null))
+                .isInstanceOfSatisfying(ValidationException.class, ex -> assertThat(ex.getErrors())
+                        .containsOnlyKeys("status", "email", "phone"));
+
+        assertThat(candidateRepository.findById(candidate.getId()).orElseThrow().isDraft()).isTrue();
+    }
+
+    @Test
+    void unknownCandidate_isNotFound() {
+        assertThatThrownBy(() -> candidateService.updateCandidate(-1L, request(CandidateStatus.NEW, "a@mail.com", "1"), null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode().value()).isEqualTo(404));
+    }
+
+    private static UpdateCandidateRequest request(CandidateStatus status, String email, String phone) {
+        return new UpdateCandidateRequest(status, "John Doe", email, phone, "java", 3);
+    }
+}
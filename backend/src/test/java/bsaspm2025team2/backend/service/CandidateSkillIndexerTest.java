@@ -0,0 +1,118 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Skill;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import bsaspm2025team2.backend.repository.SkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CandidateSkillRepository.class, CandidateSkillIndexer.class, ScoreService.class, SkillDictionary.class})
+@RecordApplicationEvents
+class CandidateSkillIndexerTest {
+
+    private static final List<String> SKILLS = List.of(
+            "Java, Spring, SQL",
+            "postgres docker",
+            "PostgreSQL; Kubernetes; Python",
+            "python go rust",
+            "",
+            "- 5 years Java\n- Spring Boot microservices"
+    );
+
+    private static final List<String> POSITIONS = List.of(
+            "java spring sql docker",
+            "postgresql python",
+            "Go, Rust, Haskell",
+            "java"
+    );
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    SkillRepository skillRepository;
+
+    @Autowired
+    SkillDictionary skillDictionary;
+
+    @Autowired
+    CandidateSkillIndexer indexer;
+
+    @Autowired
+    ScoreService scoreService;
+
+    @Autowired
+    ApplicationEvents events;
+
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        skillRepository.save(new Skill("java", null));
+        skillRepository.save(new Skill("postgresql", "postgres"));
+        skillRepository.save(new Skill("spring boot", "springboot"));
+        skillRepository.flush();
+        skillDictionary.reload();
+
+        for (String skills : SKILLS) {
+            Candidate c = new Candidate(CandidateStatus.NEW, Instant.now());
+            c.setSkills(skills);
+            candidates.add(candidateRepository.saveAndFlush(c));
+        }
+        indexer.indexAll(candidates);
+    }
+
+    @Test
+    void sqlScores_matchInMemoryScore() {
+        for (String required : POSITIONS) {
+            Map<Long, Integer> scores = scoreService.scoresByCandidate(required);
+
+            for (Candidate c : candidates) {
+                assertThat(scores.getOrDefault(c.getId(), 0))
+                        .as("'%s' vs '%s'", c.getSkills(), required)
+                        .isEqualTo(scoreService.score(c.getSkills(), required));
+            }
+        }
+    }
+
+    @Test
+    void reindexReplacesPreviousSkills() {
+        Candidate c = candidates.get(0);
+        c.setSkills("python");
+        indexer.index(candidateRepository.saveAndFlush(c));
+
+        assertThat(scoreService.scoresByCandidate("java")).doesNotContainKey(c.getId());
+        assertThat(scoreService.scoresByCandidate("python")).containsEntry(c.getId(), 100);
+    }
+
+    @Test
+    void indexingPublishesReportDataChanged() {
+        events.clear();
+        indexer.index(Map.of(candidates.get(0).getId(), "python"), skillDictionary.current());
+
+        // plain JDBC rows - no entity listener would see them
+        assertThat(events.stream(ReportDataChangedEvent.class))
+                .containsExactly(new ReportDataChangedEvent("candidate_skills"));
+    }
+}
@@ -0,0 +1,174 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.CandidateTombstone;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "app.sync.settle-window=0s")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CandidateSyncService.class)
+class CandidateSyncServiceTest {
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    CandidateTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    CandidateSyncService syncService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void pagesThroughChangesAndTombstones_thenReturnsOnlyNewChanges() {
+        Candidate a = save("A");
+        Candidate b = save("B");
+        tombstoneRepository.saveAndFlush(new CandidateTombstone(999L, Instant.now().truncatedTo(ChronoUnit.MICROS)));
+        Candidate c = save("C");
+
+        List<CandidateSyncService.Change> seen = new ArrayList<>();
+        CandidateSyncService.Page page = syncService.changes(null, null, 2);
+        seen.addAll(page.changes());
+        assertThat(page.hasMore()).isTrue();
+
+        page = syncService.changes(null, page.next().encode(), 2);
+        seen.addAll(page.changes());
+        assertThat(page.hasMore()).isFalse();
+
+        assertThat(seen).extracting(CandidateSyncService.Change::candidateId)
+                .containsExactly(a.getId(), b.getId(), 999L, c.getId());
+        assertThat(seen.get(2).deleted()).isTrue();
+
+        // nothing changed -> empty page, cursor stays
+        String cursor = page.next().encode();
+        CandidateSyncService.Page idle = syncService.changes(null, cursor, 2);
+        assertThat(idle.changes()).isEmpty();
+        assertThat(idle.next().encode()).isEqualTo(cursor);
+
+        // an update moves the row behind the cursor
+        b.setEmail("b@mail.com");
+        candidateRepository.saveAndFlush(b);
+        assertThat(syncService.changes(null, cursor, 2).changes())
+                .extracting(CandidateSyncService.Change::candidateId)
+                .containsExactly(b.getId());
+    }
+
+    @Test
+    void tombstonesOfTheTriggerAreStampedWithTheApplicationClock() {
+        Candidate a = save("A");
+        String cursor = syncService.changes(null, null, 10).next().encode();
+
+        // as written by the trigger on candidates
+        tombstoneRepository.saveAndFlush(new CandidateTombstone(998L, null));
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        CandidateSyncService.Page page = syncService.changes(null, cursor, 10);
+        assertThat(page.changes()).extracting(CandidateSyncService.Change::candidateId).containsExactly(998L);
+        assertThat(page.changes().get(0).changedAt()).isAfterOrEqualTo(before).isAfter(a.getUpdatedAt());
+        assertThat(tombstoneRepository.findById(998L)).get()
+                .extracting(CandidateTombstone::getDeletedAt).isEqualTo(page.changes().get(0).changedAt());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void slowTransaction_touchedAtTheEnd_isNotBehindACursorHandedOutMeanwhile() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService uploader = Executors.newSingleThreadExecutor();
+        List<Long> ids = new ArrayList<>();
+        try {
+            CountDownLatch inserted = new CountDownLatch(1);
+            CountDownLatch synced = new CountDownLatch(1);
+            // like an upload: insert, then a long parse inside the same transaction, then the final touch
+            Future<Long> slow = uploader.submit(() -> tx.execute(status -> {
+                Candidate c = candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, Instant.now()));
+                inserted.countDown();
+                await(synced);
+                c.touch();
+                return c.getId();
+            }));
+            assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+            sleep();
+
+            // a quick write commits and is synced while the slow one is still open (settle window 0 here)
+            Long quick = tx.execute(status -> save("Quick").getId());
+            ids.add(quick);
+            CandidateSyncService.Page page = syncService.changes(null, null, 10);
+            assertThat(page.changes()).extracting(CandidateSyncService.Change::candidateId).containsExactly(quick);
+
+            synced.countDown();
+            Long slowId = slow.get(5, TimeUnit.SECONDS);
+            ids.add(slowId);
+
+            assertThat(syncService.changes(null, page.next().encode(), 10).changes())
+                    .extracting(CandidateSyncService.Change::candidateId)
+                    .containsExactly(slowId);
+        } finally {
+            uploader.shutdownNow();
+            tx.executeWithoutResult(status -> candidateRepository.deleteAllById(ids));
+        }
+    }
+
+    @Test
+    void sinceSkipsOlderChanges() {
+        save("Old");
+        Instant since = Instant.now().plusMillis(1);
+        sleep();
+        Candidate fresh = save("New");
+
+        assertThat(syncService.changes(since, null, 10).changes())
+                .extracting(CandidateSyncService.Change::candidateId)
+                .containsExactly(fresh.getId());
+    }
+
+    private Candidate save(String name) {
+        Candidate c = new Candidate(CandidateStatus.NEW, Instant.now());
+        c.setFullName(name);
+        Candidate saved = candidateRepository.saveAndFlush(c);
+        sleep();
+        return saved;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // distinct updated_at values
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
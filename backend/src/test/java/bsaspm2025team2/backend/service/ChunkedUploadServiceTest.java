@@ -0,0 +1,139 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.storage.FileStorageService;
+import bsaspm2025team2.backend.validation.FileTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChunkedUploadServiceTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 resume of John Smith".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path storageDir;
+
+    private final ResumeUploadService resumeUploadService = mock(ResumeUploadService.class);
+
+    @Test
+    void interruptedChunk_resumesAtReceivedOffset_andCompletesOnce() throws Exception {
+        FileStorageService storage = new FileStorageService(storageDir.toString());
+        ChunkedUploadService service = new ChunkedUploadService(resumeUploadService, storage, Duration.ofHours(1), 10);
+
+        ChunkedUploadService.Status started = service.start("cv.pdf", CONTENT.length, null);
+        assertThat(started.offset()).isZero();
+
+        // connection drops after 10 bytes of a 20 byte chunk
+        assertThatThrownBy(() -> service.append(started.id(), 0, breaksOffAfter(10, slice(0, 20))))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(service.status(started.id()).offset()).isEqualTo(10);
+
+        assertThatThrownBy(() -> service.append(started.id(), 20, stream(slice(20, CONTENT.length))))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("409")
+                .hasMessageContaining("Expected offset 10");
+
+        assertThatThrownBy(() -> service.complete(started.id()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("incomplete");
+
+        ChunkedUploadService.Status done = service.append(started.id(), 10, stream(slice(10, CONTENT.length)));
+        assertThat(done.offset()).isEqualTo(CONTENT.length);
+
+        String partKey = "uploads/" + started.id() + ".part";
+        when(resumeUploadService.uploadStored(partKey, "cv.pdf", CONTENT.length, null)).thenAnswer(inv -> {
+            assertThat(Files.readAllBytes(storage.resolve(partKey))).isEqualTo(CONTENT);
+            return new ResumeUploadService.Upload(42L, false);
+        });
+
+        assertThat(service.complete(started.id())).isEqualTo(new ResumeUploadService.Upload(42L, false));
+        assertThat(service.complete(started.id())).isEqualTo(new ResumeUploadService.Upload(42L, true));
+        assertThat(service.status(started.id()).candidateId()).isEqualTo(42L);
+        verify(resumeUploadService, times(1)).uploadStored(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void sameIdempotencyKey_returnsOpenSession_andOversizedChunkIsRejected() {
+        FileStorageService storage = new FileStorageService(storageDir.toString());
+        ChunkedUploadService service = new ChunkedUploadService(resumeUploadService, storage, Duration.ofHours(1), 10);
+
+        ChunkedUploadService.Status first = service.start("cv.pdf", CONTENT.length, "key-1");
+        assertThat(service.start("cv.pdf", CONTENT.length, "key-1").id()).isEqualTo(first.id());
+        assertThatThrownBy(() -> service.start("cv.pdf", CONTENT.length + 1, "key-1"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("422");
+
+        byte[] tooLong = new byte[CONTENT.length + 5];
+        assertThatThrownBy(() -> service.append(first.id(), 0, stream(tooLong)))
+                .isInstanceOf(FileTooLargeException.class);
+        assertThat(service.status(first.id()).offset()).isEqualTo(CONTENT.length);
+
+        service.cancel(first.id());
+        assertThat(Files.exists(storageDir.resolve("uploads").resolve(first.id() + ".part"))).isFalse();
+        assertThatThrownBy(() -> service.status(first.id()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void maxSessions_limitsOpenSessions_notCompletedOnes() {
+        FileStorageService storage = new FileStorageService(storageDir.toString());
+        ChunkedUploadService service = new ChunkedUploadService(resumeUploadService, storage, Duration.ofHours(1), 2);
+        when(resumeUploadService.uploadStored(any(), any(), anyLong(), any()))
+                .thenReturn(new ResumeUploadService.Upload(42L, false));
+
+        for (int i = 0; i < 5; i++) {
+            ChunkedUploadService.Status started = service.start("cv" + i + ".pdf", CONTENT.length, null);
+            service.append(started.id(), 0, stream(CONTENT));
+            service.complete(started.id());
+        }
+
+        service.start("a.pdf", CONTENT.length, null);
+        service.start("b.pdf", CONTENT.length, null);
+        assertThatThrownBy(() -> service.start("c.pdf", CONTENT.length, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("503");
+    }
+
+    private static byte[] slice(int from, int to) {
+        byte[] part = new byte[to - from];
+        System.arraycopy(CONTENT, from, part, 0, part.length);
+        return part;
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static InputStream breaksOffAfter(int bytes, byte[] chunk) {
+        InputStream in = new ByteArrayInputStream(chunk, 0, bytes);
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b < 0) throw new IOException("connection reset");
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buf, int off, int len) throws IOException {
+                int n = in.read(buf, off, len);
+                if (n < 0) throw new IOException("connection reset");
+                return n;
+            }
+        };
+    }
+}
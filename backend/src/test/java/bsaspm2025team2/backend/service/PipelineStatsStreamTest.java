@@ -0,0 +1,88 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PipelineStatsStreamTest {
+
+    private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+
+    private final CandidateStatusCounts statusCounts = new CandidateStatusCounts(candidateRepository, Duration.ofHours(1));
+
+    private final PipelineStatsStream stream = new PipelineStatsStream(statusCounts,
+            Duration.ofMillis(20), Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void countsAreUpdatedIncrementally_withoutRequerying() {
+        when(candidateRepository.countByStatus()).thenReturn(List.of(
+                count(CandidateStatus.NEW, 3),
+                count(CandidateStatus.IN_REVIEW, 1)
+        ));
+        stream.subscribe();
+
+        statusCounts.candidateCreated(CandidateStatus.NEW);
+        statusCounts.statusChanged(CandidateStatus.NEW, CandidateStatus.REJECTED);
+        statusCounts.statusChanged(CandidateStatus.IN_REVIEW, CandidateStatus.IN_REVIEW);
+
+        assertThat(stream.snapshot().counts())
+                .containsEntry("NEW", 3L)
+                .containsEntry("IN_REVIEW", 1L)
+                .containsEntry("REJECTED", 1L)
+                .containsEntry("HIRED", 0L);
+        verify(candidateRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    void beforeTheFirstRead_changesAreNotCounted() {
+        when(candidateRepository.countByStatus()).thenReturn(List.of(count(CandidateStatus.NEW, 2)));
+
+        statusCounts.candidateCreated(CandidateStatus.NEW);
+
+        assertThat(stream.snapshot().counts()).containsEntry("NEW", 2L);
+    }
+
+    @Test
+    void streamAndListTotals_readTheSameCounters() {
+        when(candidateRepository.countByStatus()).thenReturn(List.of(count(CandidateStatus.NEW, 4)));
+        CandidateCountService totals = new CandidateCountService(statusCounts, h2(), 1_000_000, Duration.ofHours(1));
+        stream.subscribe();
+
+        statusCounts.statusChanged(CandidateStatus.NEW, CandidateStatus.HIRED);
+
+        assertThat(stream.snapshot().counts()).containsEntry("NEW", 3L).containsEntry("HIRED", 1L);
+        assertThat(totals.count(CandidateStatus.HIRED).value()).isEqualTo(1);
+        verify(candidateRepository, times(1)).countByStatus();
+    }
+
+    private static CandidateRepository.StatusCount count(CandidateStatus status, long count) {
+        return new CandidateRepository.StatusCount() {
+            @Override
+            public CandidateStatus getStatus() { return status; }
+
+            @Override
+            public long getCount() { return count; }
+        };
+    }
+
+    // not Postgres: exact totals
+    private static JdbcDataSource h2() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:stream-counts");
+        ds.setUser("sa");
+        return ds;
+    }
+}
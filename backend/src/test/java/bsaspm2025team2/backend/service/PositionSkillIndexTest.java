@@ -0,0 +1,81 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.repository.PositionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+class PositionSkillIndexTest {
+
+    private final PositionRepository positionRepository = mock(PositionRepository.class);
+    private final ScoreService scoreService = new ScoreService();
+    private final PositionSkillIndex index = new PositionSkillIndex(positionRepository, SkillDictionary.builtIn(), scoreService,
+            Duration.ofHours(1));
+
+    @Test
+    void bestPositions_scoreLikeScoreService_andSkipPositionsWithoutCommonSkill() {
+        Position backend = position(1L, "Backend", "java spring sql docker");
+        Position data = position(2L, "Data", "python sql");
+        Position frontend = position(3L, "Frontend", "react typescript");
+        Position javaOnly = position(4L, "Java", "Java");
+        when(positionRepository.findAll()).thenReturn(List.of(backend, data, frontend, javaOnly));
+
+        String candidate = "Java, SQL, Kubernetes";
+        List<PositionSkillIndex.Match> best = index.bestPositions(candidate, 10);
+
+        assertThat(best).extracting(PositionSkillIndex.Match::positionId).containsExactly(4L, 1L, 2L);
+        for (PositionSkillIndex.Match m : best) {
+            Position p = List.of(backend, data, frontend, javaOnly).get((int) (m.positionId() - 1));
+            assertThat(m.score()).isEqualTo(scoreService.score(candidate, p.getRequiredSkills()));
+        }
+        assertThat(index.bestPositions(candidate, 1)).extracting(PositionSkillIndex.Match::positionId).containsExactly(4L);
+    }
+
+    @Test
+    void putAndRemove_updateTheIndexWithoutReloading() {
+        Position backend = position(1L, "Backend", "java spring");
+        when(positionRepository.findAll()).thenReturn(List.of(backend));
+        assertThat(index.bestPositions("python", 10)).isEmpty();
+
+        backend.setRequiredSkills("python go");
+        index.put(backend);
+        index.put(position(2L, "Scripting", "python"));
+        assertThat(index.bestPositions("python", 10))
+                .extracting(PositionSkillIndex.Match::positionId, PositionSkillIndex.Match::score)
+                .containsExactly(tuple(2L, 100), tuple(1L, 50));
+        assertThat(index.bestPositions("java", 10)).isEmpty();
+
+        index.remove(2L);
+        assertThat(index.bestPositions("python", 10)).extracting(PositionSkillIndex.Match::positionId).containsExactly(1L);
+        verify(positionRepository, times(1)).findAll();
+    }
+
+    @Test
+    void writesElsewhere_showUpAfterTheRebuildInterval() throws Exception {
+        PositionSkillIndex expiring = new PositionSkillIndex(positionRepository, SkillDictionary.builtIn(), scoreService,
+                Duration.ofMillis(50));
+        when(positionRepository.findAll()).thenReturn(List.of(position(1L, "Backend", "java")));
+        assertThat(expiring.bestPositions("python", 10)).isEmpty();
+
+        // saved by another instance: no put() here
+        when(positionRepository.findAll()).thenReturn(List.of(position(1L, "Backend", "java"), position(2L, "Data", "python")));
+        assertThat(expiring.bestPositions("python", 10)).isEmpty();
+
+        Thread.sleep(60);
+        assertThat(expiring.bestPositions("python", 10)).extracting(PositionSkillIndex.Match::positionId).containsExactly(2L);
+    }
+
+    private static Position position(Long id, String name, String requiredSkills) {
+        Position p = new Position(name, requiredSkills, 70, 30);
+        ReflectionTestUtils.setField(p, "id", id);
+        return p;
+    }
+}
@@ -0,0 +1,114 @@
+package bsaspm2025team2.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReportCache cache = new ReportCache(registry, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+
+    @Test
+    void reportDataChangedEvent_clearsCache() {
+        AtomicInteger computations = new AtomicInteger();
+        cache.get("stats", "k", computations::incrementAndGet);
+
+        cache.dataChanged(new ReportDataChangedEvent("candidates"));
+        cache.get("stats", "k", computations::incrementAndGet);
+
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void recentlyInvalidated_forReplicaMaxLagAfterAnInvalidation() throws Exception {
+        ReportCache shortLag = new ReportCache(registry, Duration.ofMinutes(1), 100, Duration.ofMillis(50));
+        assertThat(shortLag.recentlyInvalidated()).isFalse();
+
+        shortLag.invalidate();
+        assertThat(shortLag.recentlyInvalidated()).isTrue();
+
+        Thread.sleep(60);
+        assertThat(shortLag.recentlyInvalidated()).isFalse();
+    }
+
+    @Test
+    void concurrentIdenticalRequests_computeOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("stats", "k", () -> {
+            computations.incrementAndGet();
+            computing.countDown();
+            await(release);
+            return "result";
+        }));
+        assertThat(computing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("stats", "k", () -> {
+            computations.incrementAndGet();
+            return "other";
+        }));
+        // the second caller waits for the first computation
+        Thread.sleep(50);
+        assertThat(second).isNotDone();
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        assertThat(cache.get("stats", "k", () -> "third")).isEqualTo("result");
+
+        assertThat(computations).hasValue(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("coalesced")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_dropsResults() {
+        assertThat(cache.get("stats", "k", () -> "before")).isEqualTo("before");
+        assertThat(cache.get("stats", "other", () -> "x")).isEqualTo("x");
+
+        cache.invalidate();
+
+        assertThat(cache.get("stats", "k", () -> "after")).isEqualTo("after");
+        assertThat(registry.get("reports.cache.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedComputation_isNotCached() {
+        assertThatThrownBy(() -> cache.get("stats", "k", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("stats", "k", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void expiredResult_isRecomputed() {
+        ReportCache shortLived = new ReportCache(registry, Duration.ofNanos(1), 100, Duration.ofMinutes(1));
+        assertThat(shortLived.get("stats", "k", () -> "first")).isEqualTo("first");
+        assertThat(shortLived.get("stats", "k", () -> "second")).isEqualTo("second");
+    }
+
+    private double requests(String result) {
+        return registry.get("reports.cache.requests").tag("report", "stats").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
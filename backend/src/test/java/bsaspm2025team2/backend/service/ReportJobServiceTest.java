@@ -0,0 +1,121 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Position;
+import bsaspm2025team2.backend.repository.PositionRepository;
+import bsaspm2025team2.backend.storage.FileStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportJobServiceTest {
+
+    @TempDir
+    Path storageDir;
+
+    private final PositionRepository positionRepository = mock(PositionRepository.class);
+    private final CandidateExportService exportService = mock(CandidateExportService.class);
+
+    private ReportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void identicalRequestsShareOneJob_andResultIsDownloadable() throws Exception {
+        service = new ReportJobService(positionRepository, exportService,
+                new FileStorageService(storageDir.toString()), 2, 10, Duration.ofHours(1));
+        when(positionRepository.findAllById(any())).thenReturn(List.of(position(1L), position(2L)));
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(exportService.exportRanked(any(), any(), eq(CandidateExportService.Format.CSV), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            OutputStream out = inv.getArgument(3);
+            out.write("position_id,rank\n1,1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        ReportJobService.Status first = service.submit(params(List.of(2L, 1L), " Java "));
+        ReportJobService.Status second = service.submit(params(List.of(1L, 2L, 2L), "java"));
+        assertThat(second.id()).isEqualTo(first.id());
+
+        assertThatThrownBy(() -> service.result(first.id()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("409");
+
+        release.countDown();
+        ReportJobService.Status done = awaitFinished(first.id());
+
+        assertThat(done.state()).isEqualTo(ReportJobService.State.COMPLETED);
+        assertThat(done.rows()).isEqualTo(1);
+        verify(exportService, times(1)).exportRanked(any(), any(), any(), any());
+
+        Path file = service.result(first.id()).file();
+        assertThat(file).startsWith(storageDir.resolve("reports"));
+        assertThat(Files.readString(file)).isEqualTo("position_id,rank\n1,1\n");
+
+        // a finished job is not reused
+        ReportJobService.Status third = service.submit(params(List.of(1L, 2L), "java"));
+        assertThat(third.id()).isNotEqualTo(first.id());
+        assertThat(awaitFinished(third.id()).state()).isEqualTo(ReportJobService.State.COMPLETED);
+    }
+
+    @Test
+    void failedExport_leavesNoFile() throws Exception {
+        service = new ReportJobService(positionRepository, exportService,
+                new FileStorageService(storageDir.toString()), 1, 1, Duration.ofHours(1));
+        when(positionRepository.findAllById(any())).thenReturn(List.of(position(1L)));
+        when(exportService.exportRanked(any(), any(), any(), any())).thenAnswer(inv -> {
+            OutputStream out = inv.getArgument(3);
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IllegalStateException("db down");
+        });
+
+        ReportJobService.Status job = service.submit(params(List.of(1L), null));
+        ReportJobService.Status done = awaitFinished(job.id());
+
+        assertThat(done.state()).isEqualTo(ReportJobService.State.FAILED);
+        assertThat(done.error()).contains("db down");
+        try (var files = Files.list(storageDir.resolve("reports"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private ReportJobService.Status awaitFinished(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        ReportJobService.Status s = service.status(id);
+        while ((s.state() == ReportJobService.State.QUEUED || s.state() == ReportJobService.State.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            s = service.status(id);
+        }
+        return s;
+    }
+
+    private static ReportJobService.Params params(List<Long> positionIds, String q) {
+        return new ReportJobService.Params(positionIds, CandidateExportService.Format.CSV, q, null, null, null);
+    }
+
+    private static Position position(Long id) {
+        Position p = new Position("Backend " + id, "java, spring", 70, 30);
+        ReflectionTestUtils.setField(p, "id", id);
+        return p;
+    }
+}
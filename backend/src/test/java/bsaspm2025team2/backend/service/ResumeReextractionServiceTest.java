@@ -0,0 +1,124 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Document;
+import bsaspm2025team2.backend.extraction.CandidateFieldExtractionService;
+import bsaspm2025team2.backend.extraction.PdfExtractionResult;
+import bsaspm2025team2.backend.extraction.PdfParsingExecutor;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.DocumentRepository;
+import bsaspm2025team2.backend.storage.DocumentTextStore;
+import bsaspm2025team2.backend.storage.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ResumeReextractionServiceTest {
+
+    private static final String TEXT = """
+            John Smith
+            john.smith@mail.com
+            +1 555 123 4567
+            Skills: Java, Spring, SQL
+            5 years of experience
+            """;
+
+    private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final DocumentTextStore documentTextStore = mock(DocumentTextStore.class);
+    private final FileStorageService storage = mock(FileStorageService.class);
+    private final PdfParsingExecutor pdfParsingExecutor = mock(PdfParsingExecutor.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final CandidateSkillIndexer candidateSkillIndexer = mock(CandidateSkillIndexer.class);
+
+    private final ResumeReextractionService service = new ResumeReextractionService(
+            candidateRepository,
+            documentRepository,
+            documentTextStore,
+            storage,
+            pdfParsingExecutor,
+            new CandidateFieldExtractionService(),
+            candidateSkillIndexer,
+            transactionManager
+    );
+
+    private Candidate candidate;
+    private Document document;
+
+    @BeforeEach
+    void setUp() {
+        candidate = new Candidate(CandidateStatus.NEW, Instant.now());
+        ReflectionTestUtils.setField(candidate, "id", 1L);
+        document = new Document(candidate, Instant.now(), "cv.pdf", 10, "application/pdf", "key.pdf");
+        ReflectionTestUtils.setField(document, "id", 5L);
+
+        when(candidateRepository.existsById(1L)).thenReturn(true);
+        when(candidateRepository.findById(1L)).thenReturn(Optional.of(candidate));
+        when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(documentRepository.findFirstByCandidateIdOrderByUploadDateDescIdDesc(1L)).thenReturn(Optional.of(document));
+    }
+
+    @Test
+    void usesStoredText_withoutParsingPdf() throws Exception {
+        when(documentTextStore.load(5L)).thenReturn(Optional.of(TEXT));
+
+        Candidate result = service.reextract(1L);
+
+        assertThat(result.getEmail()).isEqualTo("john.smith@mail.com");
+        assertThat(result.getFullName()).isEqualTo("John Smith");
+        verifyNoInteractions(pdfParsingExecutor);
+    }
+
+    @Test
+    void missingText_isParsedOnceAndStored() throws Exception {
+        PdfExtractionResult pdf = new PdfExtractionResult(TEXT, 1, 1, PdfExtractionResult.Limit.NONE);
+        when(documentTextStore.load(5L)).thenReturn(Optional.empty());
+        when(storage.resolve("key.pdf")).thenReturn(Path.of("key.pdf"));
+        when(pdfParsingExecutor.extract(Path.of("key.pdf"))).thenReturn(pdf);
+
+        service.reextract(1L);
+
+        verify(documentTextStore).save(5L, pdf);
+        // parsed before the transaction that updates the candidate
+        InOrder order = inOrder(pdfParsingExecutor, transactionManager, candidateRepository);
+        order.verify(pdfParsingExecutor).extract(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(candidateRepository).save(candidate);
+    }
+
+    @Test
+    void confirmedCandidate_onlyEmptyFieldsAreFilled() {
+        candidate.setDraft(false);
+        candidate.setEmail("edited@hr.com");
+        when(documentTextStore.load(5L)).thenReturn(Optional.of(TEXT));
+
+        Candidate result = service.reextract(1L);
+
+        assertThat(result.getEmail()).isEqualTo("edited@hr.com");
+        assertThat(result.getFullName()).isEqualTo("John Smith");
+    }
+
+    @Test
+    void unchangedFields_areNotSavedOrReindexed() {
+        when(documentTextStore.load(5L)).thenReturn(Optional.of(TEXT));
+        service.reextract(1L);
+        clearInvocations(candidateRepository, candidateSkillIndexer);
+
+        Candidate result = service.reextract(1L);
+
+        assertThat(result.getEmail()).isEqualTo("john.smith@mail.com");
+        verify(candidateRepository, never()).save(any());
+        verifyNoInteractions(candidateSkillIndexer);
+    }
+}
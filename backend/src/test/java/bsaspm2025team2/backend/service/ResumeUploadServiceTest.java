@@ -0,0 +1,169 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.Document;
+import bsaspm2025team2.backend.extraction.CandidateFieldExtractionService;
+import bsaspm2025team2.backend.extraction.PdfExtractionResult;
+import bsaspm2025team2.backend.extraction.PdfParsingExecutor;
+import bsaspm2025team2.backend.metrics.UploadMetrics;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.DocumentRepository;
+import bsaspm2025team2.backend.repository.UploadRollupRepository;
+import bsaspm2025team2.backend.storage.DocumentTextStore;
+import bsaspm2025team2.backend.storage.FileStorageService;
+import bsaspm2025team2.backend.validation.PdfValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ResumeUploadServiceTest {
+
+    private final PdfValidationService validation = mock(PdfValidationService.class);
+    private final FileStorageService storage = mock(FileStorageService.class);
+    private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final PdfParsingExecutor pdfParsingExecutor = mock(PdfParsingExecutor.class);
+    private final DocumentTextStore documentTextStore = mock(DocumentTextStore.class);
+    private final CandidateSkillIndexer candidateSkillIndexer = mock(CandidateSkillIndexer.class);
+    private final UploadIdempotencyService idempotency = mock(UploadIdempotencyService.class);
+    private final UploadRollupRepository uploadRollups = mock(UploadRollupRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ResumeUploadService service = new ResumeUploadService(
+            validation,
+            storage,
+            candidateRepository,
+            documentRepository,
+            pdfParsingExecutor,
+            new CandidateFieldExtractionService(),
+            new UploadMetrics(registry),
+            documentTextStore,
+            candidateSkillIndexer,
+            mock(CandidateStatusCounts.class),
+            uploadRollups,
+            idempotency,
+            event -> { }
+    );
+
+    @Test
+    void extractedText_isStoredForDocument() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[10]);
+        stubPersistence();
+        PdfExtractionResult pdf = new PdfExtractionResult("John Smith\njohn@mail.com", 1, 1, PdfExtractionResult.Limit.NONE);
+        when(pdfParsingExecutor.extract(any())).thenReturn(pdf);
+
+        service.uploadResume(file);
+
+        verify(documentTextStore).save(11L, pdf);
+    }
+
+    @Test
+    void uploadRollup_isRecordedAfterTheParse() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[10]);
+        stubPersistence();
+        when(pdfParsingExecutor.extract(any())).thenReturn(
+                new PdfExtractionResult("John Smith", 1, 1, PdfExtractionResult.Limit.NONE));
+
+        service.uploadResume(file);
+
+        // the day row lock is taken by the last statement, not held through the parse
+        InOrder order = inOrder(pdfParsingExecutor, uploadRollups);
+        order.verify(pdfParsingExecutor).extract(any());
+        order.verify(uploadRollups).recordUpload(any(), eq(10L));
+    }
+
+    @Test
+    void candidate_isTouchedAgainAfterTheParse() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[10]);
+        stubPersistence();
+        Instant[] parsedAt = new Instant[1];
+        when(pdfParsingExecutor.extract(any())).thenAnswer(inv -> {
+            Thread.sleep(5);
+            parsedAt[0] = Instant.now();
+            // nothing extracted: no field changes after the insert
+            throw new IOException("broken pdf");
+        });
+        ArgumentCaptor<Candidate> saved = ArgumentCaptor.forClass(Candidate.class);
+
+        service.uploadResume(file);
+
+        verify(candidateRepository).save(saved.capture());
+        assertThat(saved.getValue().getUpdatedAt()).isAfterOrEqualTo(parsedAt[0].truncatedTo(ChronoUnit.MICROS));
+    }
+
+    @Test
+    void extractionFailure_isCountedAndDoesNotFailUpload() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[1234]);
+        stubPersistence();
+        when(pdfParsingExecutor.extract(any())).thenThrow(new IOException("broken pdf"));
+
+        Long id = service.uploadResume(file);
+
+        assertThat(id).isEqualTo(7L);
+        assertThat(registry.get("resume.upload.extraction.failures")
+                .tag("stage", "extract_text")
+                .tag("exception", "IOException")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("resume.upload.stored.bytes").counter().count()).isEqualTo(1234.0);
+        assertThat(registry.get("resume.upload.stage").tag("stage", "validate").timer().count()).isEqualTo(1);
+        assertThat(registry.get("resume.upload.stage").tag("stage", "extract_text")
+                .tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(registry.get("resume.upload").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void idempotencyKey_ofCommittedUpload_returnsItsCandidateWithoutStoring() {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[10]);
+        when(idempotency.claim(eq("retry-1"), anyString()))
+                .thenReturn(new UploadIdempotencyService.Claim("retry-1", null, 7L));
+
+        ResumeUploadService.Upload upload = service.uploadResume(file, " retry-1 ");
+
+        assertThat(upload).isEqualTo(new ResumeUploadService.Upload(7L, true));
+        verifyNoInteractions(storage, candidateRepository, documentRepository);
+    }
+
+    @Test
+    void idempotencyKey_isBoundToTheNewCandidate() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[10]);
+        stubPersistence();
+        when(pdfParsingExecutor.extract(any())).thenThrow(new IOException("broken pdf"));
+        UploadIdempotencyService.Claim claim = new UploadIdempotencyService.Claim("retry-1", "token", null);
+        when(idempotency.claim(any(), any())).thenReturn(claim);
+
+        ResumeUploadService.Upload upload = service.uploadResume(file, "retry-1");
+
+        assertThat(upload).isEqualTo(new ResumeUploadService.Upload(7L, false));
+        verify(idempotency).claim(eq("retry-1"), eq(UploadIdempotencyService.fingerprint(file)));
+        verify(idempotency).completed(claim, 7L);
+    }
+
+    private void stubPersistence() {
+        when(storage.savePdf(any(), anyString())).thenReturn("key.pdf");
+        when(storage.resolve("key.pdf")).thenReturn(Path.of("key.pdf"));
+        when(candidateRepository.save(any(Candidate.class))).thenAnswer(inv -> {
+            Candidate c = inv.getArgument(0);
+            ReflectionTestUtils.setField(c, "id", 7L);
+            return c;
+        });
+        when(documentRepository.save(any(Document.class))).thenAnswer(inv -> {
+            Document d = inv.getArgument(0);
+            ReflectionTestUtils.setField(d, "id", 11L);
+            return d;
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.domain.Skill;
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.CandidateSkillRepository;
+import bsaspm2025team2.backend.repository.SkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ScoreHistogramService.class, CandidateSkillRepository.class, CandidateSkillIndexer.class,
+        ScoreService.class, SkillDictionary.class})
+class ScoreHistogramServiceTest {
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    CandidateSkillIndexer indexer;
+
+    @Autowired
+    ScoreHistogramService histogramService;
+
+    @Autowired
+    SkillRepository skillRepository;
+
+    @Autowired
+    SkillDictionary skillDictionary;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("java", "sql", "docker", "kubernetes", "python")) {
+            skillRepository.save(new Skill(name, null));
+        }
+        skillRepository.flush();
+        skillDictionary.reload();
+
+        indexer.indexAll(List.of(
+                save("Anna", CandidateStatus.NEW, 5, "java, sql, docker"),
+                save("Bob", CandidateStatus.IN_REVIEW, 2, "java"),
+                save("Carl", CandidateStatus.NEW, 7, "python"),
+                save("Dora", CandidateStatus.NEW, 1, "java sql docker kubernetes")));
+    }
+
+    @Test
+    void countsCandidatesPerTenPointBucket() {
+        // java sql docker kubernetes: Anna 75, Bob 25, Carl 0, Dora 100
+        long[] buckets = histogramService.histogram(filter(null, null, null, null));
+
+        assertThat(buckets).hasSize(10);
+        assertThat(buckets[0]).isEqualTo(1);
+        assertThat(buckets[2]).isEqualTo(1);
+        assertThat(buckets[7]).isEqualTo(1);
+        assertThat(buckets[9]).isEqualTo(1);
+        assertThat(sum(buckets)).isEqualTo(4);
+    }
+
+    @Test
+    void appliesListFilters() {
+        assertThat(sum(histogramService.histogram(filter(null, CandidateStatus.NEW, null, null)))).isEqualTo(3);
+        assertThat(sum(histogramService.histogram(filter(null, null, 3, null)))).isEqualTo(2);
+        assertThat(sum(histogramService.histogram(filter("DOR", null, null, null)))).isEqualTo(1);
+
+        long[] atLeast50 = histogramService.histogram(filter(null, null, null, 50));
+        assertThat(atLeast50[7] + atLeast50[9]).isEqualTo(2);
+        assertThat(sum(atLeast50)).isEqualTo(2);
+    }
+
+    private static CandidateExportService.Filter filter(String q, CandidateStatus status, Integer minYears, Integer minScore) {
+        return new CandidateExportService.Filter(q, status, minYears, "java sql docker kubernetes", minScore);
+    }
+
+    private static long sum(long[] buckets) {
+        long total = 0;
+        for (long b : buckets) total += b;
+        return total;
+    }
+
+    private Candidate save(String name, CandidateStatus status, int years, String skills) {
+        Candidate c = new Candidate(status, Instant.parse("2026-01-01T00:00:00Z"));
+        c.setFullName(name);
+        c.setSkills(skills);
+        c.setYearsOfExperience(years);
+        return candidateRepository.saveAndFlush(c);
+    }
+}
@@ -1,8 +1,15 @@
 package bsaspm2025team2.backend.service;
 
+import bsaspm2025team2.backend.extraction.SkillDictionary;
+import bsaspm2025team2.backend.extraction.SkillMatcher;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class ScoreServiceTest {
 
@@ -28,6 +35,20 @@ class ScoreServiceTest {
         assertThat(score).isEqualTo(100);
     }
 
+    @Test
+    void scoreMatrixMatchesPairwiseScores() {
+        List<String> candidates = List.of("JAVA, SQL", "python", "", "java spring sql docker");
+        List<String> positions = List.of("java spring sql docker", "java", "");
+
+        int[][] matrix = scoreService.scoreMatrix(candidates, positions);
+
+        for (int p = 0; p < positions.size(); p++) {
+            for (int c = 0; c < candidates.size(); c++) {
+                assertThat(matrix[p][c]).isEqualTo(scoreService.score(candidates.get(c), positions.get(p)));
+            }
+        }
+    }
+
     @Test
     void requiredCountZeroGivesScoreZero() {
         assertThat(scoreService.score("java sql", null)).isEqualTo(0);
@@ -48,4 +69,34 @@ class ScoreServiceTest {
         int score = scoreService.score("javascript", "java");
         assertThat(score).isEqualTo(0);
     }
+
+    @Test
+    void aliasesOfOneSkillMatchEachOther() {
+        SkillDictionary dictionary = mock(SkillDictionary.class);
+        when(dictionary.current()).thenReturn(new SkillMatcher(List.of(
+                new SkillMatcher.Entry(1, "postgresql", List.of("postgres")),
+                new SkillMatcher.Entry(2, "java", List.of())
+        )));
+        ScoreService withAliases = new ScoreService(dictionary);
+
+        assertThat(withAliases.score("Postgres, Java", "postgresql java")).isEqualTo(100);
+        assertThat(withAliases.score("postgres", "postgresql java")).isEqualTo(50);
+    }
+
+    @Test
+    void multiWordSkillsMatchAsPhrases() {
+        // built-in "spring boot" is one required skill, "spring" another
+        assertThat(scoreService.score("Spring Boot, Java", "spring boot")).isEqualTo(100);
+        assertThat(scoreService.score("spring-boot", "Spring Boot")).isEqualTo(100);
+        assertThat(scoreService.score("spring boot", "spring, java")).isEqualTo(0);
+        // not adjacent: two separate tokens
+        assertThat(scoreService.score("Spring, Boot", "spring boot")).isEqualTo(0);
+        assertThat(scoreService.score("Spring, Boot", "spring")).isEqualTo(100);
+    }
+
+    @Test
+    void scoreOfResolvedKeysCountsRequiredMatches() {
+        assertThat(ScoreService.score(Set.of(1L, "go"), Set.of(1L, 2L, "go", "rust"))).isEqualTo(50);
+        assertThat(ScoreService.score(Set.of(1L, 2L, 3L, 4L, 5L), Set.of(1L))).isEqualTo(100);
+    }
 }
@@ -0,0 +1,165 @@
+package bsaspm2025team2.backend.service;
+
+import bsaspm2025team2.backend.domain.Candidate;
+import bsaspm2025team2.backend.domain.CandidateStatus;
+import bsaspm2025team2.backend.repository.CandidateRepository;
+import bsaspm2025team2.backend.repository.UploadIdempotencyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// claims commit in transactions of their own, so every test runs its own transactions and cleans up after
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UploadIdempotencyService.class, UploadIdempotencyRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UploadIdempotencyServiceTest {
+
+    @Autowired
+    UploadIdempotencyService idempotency;
+
+    @Autowired
+    UploadIdempotencyRepository repository;
+
+    @Autowired
+    CandidateRepository candidateRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM upload_idempotency_keys");
+        candidateRepository.deleteAll();
+    }
+
+    @Test
+    void keyIsClaimedOnce_thenReplaysTheCandidate() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long candidateId = tx.execute(status -> {
+            UploadIdempotencyService.Claim claim = idempotency.claim("k1", "aaa");
+            assertThat(claim.replayed()).isFalse();
+            Long id = newCandidate();
+            idempotency.completed(claim, id);
+            return id;
+        });
+
+        UploadIdempotencyService.Claim retry = tx.execute(status -> idempotency.claim("k1", "aaa"));
+        assertThat(retry).isEqualTo(new UploadIdempotencyService.Claim("k1", null, candidateId));
+        assertThatThrownBy(() -> tx.execute(status -> idempotency.claim("k1", "bbb")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("422");
+    }
+
+    @Test
+    void concurrentRetry_getsConflictAtOnce_whileTheUploadRuns() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService uploader = Executors.newSingleThreadExecutor();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch parsed = new CountDownLatch(1);
+        try {
+            // like an upload: claim, then a long parse inside the upload transaction, then complete
+            Future<Long> upload = uploader.submit(() -> tx.execute(status -> {
+                UploadIdempotencyService.Claim claim = idempotency.claim("k2", "aaa");
+                claimed.countDown();
+                await(parsed);
+                Long id = newCandidate();
+                idempotency.completed(claim, id);
+                return id;
+            }));
+            await(claimed);
+
+            // not blocked by the running upload
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+                    assertThatThrownBy(() -> tx.execute(status -> idempotency.claim("k2", "aaa")))
+                            .isInstanceOf(ResponseStatusException.class)
+                            .hasMessageContaining("409")
+                            .hasMessageContaining("in progress"));
+
+            parsed.countDown();
+            Long candidateId = upload.get(5, TimeUnit.SECONDS);
+            assertThat(tx.execute(status -> idempotency.claim("k2", "aaa")).candidateId()).isEqualTo(candidateId);
+        } finally {
+            parsed.countDown();
+            uploader.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedUpload_releasesTheClaim() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            idempotency.claim("k3", "aaa");
+            status.setRollbackOnly();
+        });
+
+        assertThat(repository.find("k3")).isEmpty();
+        assertThat(tx.execute(status -> idempotency.claim("k3", "aaa")).replayed()).isFalse();
+    }
+
+    @Test
+    void abandonedClaim_isTakenOverAfterClaimTimeout() {
+        repository.insert("k4", "aaa", "dead-upload", Instant.now().minus(Duration.ofHours(1)));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        UploadIdempotencyService.Claim claim = tx.execute(status -> idempotency.claim("k4", "aaa"));
+
+        assertThat(claim.replayed()).isFalse();
+        assertThat(repository.find("k4")).get()
+                .extracting(UploadIdempotencyRepository.Entry::claimToken)
+                .isEqualTo(claim.token());
+        // the abandoned upload can no longer complete
+        assertThat(repository.complete("k4", "dead-upload", null)).isFalse();
+    }
+
+    @Test
+    void expiredKeyIsClaimedAgain() {
+        repository.insert("k5", "aaa", "old-upload", Instant.now().minusSeconds(2 * 24 * 3600));
+
+        UploadIdempotencyService.Claim claim = new TransactionTemplate(transactionManager)
+                .execute(status -> idempotency.claim("k5", "bbb"));
+
+        assertThat(claim.replayed()).isFalse();
+        assertThat(repository.find("k5")).get()
+                .extracting(UploadIdempotencyRepository.Entry::fingerprint)
+                .isEqualTo("bbb");
+    }
+
+    private Long newCandidate() {
+        return candidateRepository.saveAndFlush(new Candidate(CandidateStatus.NEW, Instant.now())).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
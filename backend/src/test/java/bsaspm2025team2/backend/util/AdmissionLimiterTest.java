@@ -0,0 +1,83 @@
+package bsaspm2025team2.backend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionLimiterTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void waitingRequest_isAdmittedWhenAPermitIsReleased() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(1, 100, 1);
+        AdmissionLimiter.Permit running = limiter.acquire(10, 0, TimeUnit.MILLISECONDS);
+
+        Future<AdmissionLimiter.Permit> waiter = callers.submit(() -> limiter.acquire(20, 5, TimeUnit.SECONDS));
+        waitForWaiting(limiter, 1);
+        assertThat(waiter.isDone()).isFalse();
+
+        limiter.release(running);
+
+        AdmissionLimiter.Permit admitted = waiter.get(2, TimeUnit.SECONDS);
+        assertThat(admitted.admitted()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.inFlightBytes()).isEqualTo(20);
+        assertThat(limiter.waiting()).isZero();
+    }
+
+    @Test
+    void fullQueue_isRejectedRightAway_andWaitersTimeOut() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(1, 100, 1);
+        AdmissionLimiter.Permit running = limiter.acquire(10, 0, TimeUnit.MILLISECONDS);
+
+        Future<AdmissionLimiter.Permit> waiter = callers.submit(() -> limiter.acquire(10, 1, TimeUnit.SECONDS));
+        waitForWaiting(limiter, 1);
+
+        long started = System.nanoTime();
+        AdmissionLimiter.Permit rejected = limiter.acquire(10, 5, TimeUnit.SECONDS);
+        assertThat(rejected.rejection()).isEqualTo(AdmissionLimiter.Rejection.QUEUE_FULL);
+        assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        // nothing released within its wait
+        assertThat(waiter.get(3, TimeUnit.SECONDS).rejection()).isEqualTo(AdmissionLimiter.Rejection.CONCURRENCY);
+        assertThat(limiter.waiting()).isZero();
+
+        limiter.release(running);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void oversizeRequest_isAdmittedWhenIdle_andHoldsTheWholeBudget() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(2, 100, 0);
+
+        AdmissionLimiter.Permit oversize = limiter.acquire(500, 0, TimeUnit.MILLISECONDS);
+        assertThat(oversize.admitted()).isTrue();
+        assertThat(limiter.inFlightBytes()).isEqualTo(100);
+
+        assertThat(limiter.acquire(1, 0, TimeUnit.MILLISECONDS).rejection())
+                .isEqualTo(AdmissionLimiter.Rejection.MEMORY);
+
+        limiter.release(oversize);
+        assertThat(limiter.acquire(1, 0, TimeUnit.MILLISECONDS).admitted()).isTrue();
+    }
+
+    private static void waitForWaiting(AdmissionLimiter limiter, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (limiter.waiting() < waiting && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(limiter.waiting()).isEqualTo(waiting);
+    }
+}